@@ -0,0 +1,30 @@
+#!/bin/sh
+#
+# 比较动态服务的启动耗时：每次启动重新生成 / 从 jar 归档加载 / 使用动态 CDS 归档（JDK 13+）
+#
+# 用法：mvn package && ./cds-startup.sh [服务数量]
+#
+set -e
+
+COUNT=${1:-500}
+JAR=target/benchmarks.jar
+WORK=target/cds
+MAIN=org.apache.cxf.endpoint.benchmark.StartupBenchmark
+
+rm -rf "$WORK" && mkdir -p "$WORK"
+
+echo "== 1. 每次启动重新生成"
+java -cp "$JAR" $MAIN "$COUNT"
+
+echo "== 2. 训练运行：生成的类保存到 jar 归档"
+java -Dcxf.endpoint.archive="$WORK/endpoints.jar" -cp "$JAR" $MAIN "$COUNT"
+
+echo "== 3. 从 jar 归档加载，退出时写入动态 CDS 归档"
+java -Dcxf.endpoint.archive="$WORK/endpoints.jar" -XX:ArchiveClassesAtExit="$WORK/endpoints.jsa" \
+	-cp "$JAR" $MAIN "$COUNT"
+
+echo "== 4. 使用动态 CDS 归档启动"
+java -Dcxf.endpoint.archive="$WORK/endpoints.jar" -XX:SharedArchiveFile="$WORK/endpoints.jsa" \
+	-Xlog:class+load=info:file="$WORK/class-load.log" -cp "$JAR" $MAIN "$COUNT"
+
+echo "从 CDS 归档加载的服务类：$(grep -c 'EndpointApi\$.*shared objects file' "$WORK/class-load.log" || true)"
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+/**
+ * 加载方式的比较：隐藏类、每个类独立的类加载器（WRAPPER）与注入到已有类加载器（INJECTION）。
+ * 除定义耗时外，辅助计数器 <code>metaspaceKB</code> 给出每轮迭代结束时 Metaspace 的增长；
+ * 每种方式在独立的 JVM 中运行，避免相互影响。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ClassLoadingBenchmark {
+
+	@Param({ "HIDDEN", "WRAPPER", "INJECTION" })
+	public String mode;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Metaspace {
+
+		public long metaspaceKB;
+
+		private long used;
+
+		@Setup(Level.Iteration)
+		public void before() {
+			System.gc();
+			used = used();
+			metaspaceKB = 0;
+		}
+
+		@TearDown(Level.Iteration)
+		public void after() {
+			System.gc();
+			metaspaceKB = (used() - used) / 1024;
+		}
+
+		private static long used() {
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+				if ("Metaspace".equals(pool.getName())) {
+					return pool.getUsage().getUsed();
+				}
+			}
+			return 0;
+		}
+
+	}
+
+	@Benchmark
+	public Class<?> define(Metaspace metaspace) throws Exception {
+		EndpointApiBuilder<EndpointApi> builder = Engine.BYTEBUDDY_INVOCATION_HANDLER.builder(Engine.nextName());
+		if ("HIDDEN".equals(mode)) {
+			builder.hiddenClass();
+		} else if ("INJECTION".equals(mode)) {
+			builder.classLoading(ClassLoadingStrategy.Default.INJECTION);
+		}
+		return builder.toClass();
+	}
+
+}
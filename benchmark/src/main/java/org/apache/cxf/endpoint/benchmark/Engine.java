@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.dispatch.OperationHandler;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.EndpointApiImplBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+
+/**
+ * 参与比较的生成方式，生成的类都包含一个带 @WebService、@WebMethod 注解的 <code>String sayHello(String)</code> 方法
+ */
+public enum Engine {
+
+	/** ByteBuddy 构建器，默认的 InvocationHandler 分发 */
+	BYTEBUDDY_INVOCATION_HANDLER,
+	/** ByteBuddy 构建器，直接分发 */
+	BYTEBUDDY_DIRECT,
+	/** ByteBuddy 构建器，元数据分发 */
+	BYTEBUDDY_OPERATION_HANDLER,
+	/** Javassist 构建器（EndpointApiImplBuilder），InvocationHandler 分发 */
+	JAVASSIST,
+	/** 手写的类，不经过生成的基线：make 读取编译好的字节码，define 在新的类加载器中重新定义 */
+	HAND_WRITTEN;
+
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+
+	static final InvocationHandler INVOCATION_HANDLER = (proxy, method, args) -> args[0];
+	static final OperationHandler OPERATION_HANDLER = (endpoint, operation, args) -> args[0];
+	static final GreetingHandler GREETING_HANDLER = new GreetingHandler();
+
+	/**
+	 * @return 新的唯一名称，避免命中已生成类的缓存
+	 */
+	static String nextName() {
+		return "Greeting" + SEQUENCE.incrementAndGet();
+	}
+
+	EndpointApiBuilder<EndpointApi> builder(String uid) {
+		EndpointApiBuilder<EndpointApi> builder = new EndpointApiBuilder<EndpointApi>();
+		if (this == BYTEBUDDY_DIRECT) {
+			builder.dispatchTo(GreetingHandler.class);
+		} else if (this == BYTEBUDDY_OPERATION_HANDLER) {
+			builder.dispatchToOperationHandler();
+		}
+		builder.webService("greeting", "http://ws.cxf.com")
+				.bind(uid, "{}")
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+		builder.setClassCache(null);
+		builder.setDiskCache(null);
+		return builder;
+	}
+
+	static EndpointApiImplBuilder javassistBuilder(String uid) throws Exception {
+		return new EndpointApiImplBuilder(Engine.class.getPackage().getName() + "." + uid)
+				.webService(new SoapService("greeting", "http://ws.cxf.com"))
+				.bind(uid, "{}")
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+	}
+
+	/**
+	 * 生成字节码，不加载
+	 */
+	public byte[] make(String name) throws Exception {
+		switch (this) {
+		case JAVASSIST:
+			EndpointApiImplBuilder javassist = javassistBuilder(name);
+			try {
+				return javassist.build().toBytecode();
+			} finally {
+				javassist.release();
+			}
+		case HAND_WRITTEN:
+			return handWritten();
+		default:
+			return builder(name).build().getBytes();
+		}
+	}
+
+	/**
+	 * 生成并定义类
+	 */
+	public Class<?> define(String name) throws Exception {
+		switch (this) {
+		case JAVASSIST:
+			EndpointApiImplBuilder javassist = javassistBuilder(name);
+			try {
+				return javassist.toClass();
+			} finally {
+				javassist.release();
+			}
+		case HAND_WRITTEN:
+			// 子类优先，否则会直接返回已加载的 HandWrittenEndpoint
+			return new ByteArrayClassLoader.ChildFirst(Engine.class.getClassLoader(),
+					Collections.singletonMap(HandWrittenEndpoint.class.getName(), handWritten()))
+					.loadClass(HandWrittenEndpoint.class.getName());
+		default:
+			return builder(name).toClass();
+		}
+	}
+
+	public Object newInstance(Class<?> type) throws Exception {
+		switch (this) {
+		case BYTEBUDDY_DIRECT:
+		case HAND_WRITTEN:
+			return type.getConstructor(GreetingHandler.class).newInstance(GREETING_HANDLER);
+		case BYTEBUDDY_OPERATION_HANDLER:
+			return type.getConstructor(OperationHandler.class).newInstance(OPERATION_HANDLER);
+		default:
+			return type.getConstructor(InvocationHandler.class).newInstance(INVOCATION_HANDLER);
+		}
+	}
+
+	private static byte[] handWritten() throws IOException {
+		try (InputStream in = HandWrittenEndpoint.class
+				.getResourceAsStream(HandWrittenEndpoint.class.getSimpleName() + ".class")) {
+			return in.readAllBytes();
+		}
+	}
+
+	/**
+	 * @return 类型为 (Object, String)Object 的 sayHello 方法句柄，各生成方式的调用路径一致
+	 */
+	public static MethodHandle sayHello(Class<?> type) throws Exception {
+		return MethodHandles.publicLookup()
+				.findVirtual(type, "sayHello", MethodType.methodType(String.class, String.class))
+				.asType(MethodType.methodType(Object.class, Object.class, String.class));
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 首次调用开销：新定义的类的实例化、方法句柄解析与第一次调用（含类的链接与初始化）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200)
+@Measurement(iterations = 500)
+@Fork(2)
+public class FirstCallBenchmark {
+
+	@Param({ "BYTEBUDDY_INVOCATION_HANDLER", "BYTEBUDDY_DIRECT", "BYTEBUDDY_OPERATION_HANDLER", "JAVASSIST",
+			"HAND_WRITTEN" })
+	public Engine engine;
+
+	private Class<?> type;
+
+	@Setup(Level.Invocation)
+	public void define() throws Exception {
+		type = engine.define(Engine.nextName());
+	}
+
+	@Benchmark
+	public Object firstCall() throws Throwable {
+		Object endpoint = engine.newInstance(type);
+		MethodHandle sayHello = Engine.sayHello(type);
+		return (Object) sayHello.invokeExact(endpoint, "hello");
+	}
+
+}
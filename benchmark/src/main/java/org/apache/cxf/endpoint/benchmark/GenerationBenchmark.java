@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 生成开销：make 为构建器填充与字节码生成，define 另外包含类的加载与定义。每次调用都生成新的定义，不命中缓存。
+ * HAND_WRITTEN 不经过生成，只读取或定义编译好的字节码，作为基线。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class GenerationBenchmark {
+
+	@Param({ "BYTEBUDDY_INVOCATION_HANDLER", "BYTEBUDDY_DIRECT", "BYTEBUDDY_OPERATION_HANDLER", "JAVASSIST",
+			"HAND_WRITTEN" })
+	public Engine engine;
+
+	@Benchmark
+	public byte[] make() throws Exception {
+		return engine.make(Engine.nextName());
+	}
+
+	@Benchmark
+	public Class<?> define() throws Exception {
+		return engine.define(Engine.nextName());
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.benchmark;
+
+import jakarta.jws.WebMethod;
+import jakarta.jws.WebService;
+
+import org.apache.cxf.endpoint.EndpointApi;
+
+/**
+ * 手写的服务类，作为调用开销的基线
+ */
+@WebService(name = "greeting", targetNamespace = "http://ws.cxf.com")
+public class HandWrittenEndpoint extends EndpointApi {
+
+	private final GreetingHandler dispatcher;
+
+	public HandWrittenEndpoint(GreetingHandler dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	@WebMethod(operationName = "sayHello")
+	public String sayHello(String text) throws Exception {
+		return dispatcher.sayHello(text);
+	}
+
+}
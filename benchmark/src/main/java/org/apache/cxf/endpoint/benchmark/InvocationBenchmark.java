@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 稳定状态下经由生成方法的调用吞吐；配合 <code>-prof gc</code> 查看每次调用的内存分配
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InvocationBenchmark {
+
+	@Param({ "BYTEBUDDY_INVOCATION_HANDLER", "BYTEBUDDY_DIRECT", "BYTEBUDDY_OPERATION_HANDLER", "JAVASSIST",
+			"HAND_WRITTEN" })
+	public Engine engine;
+
+	private Object endpoint;
+	private MethodHandle sayHello;
+	private String text = "hello";
+
+	@Setup
+	public void setup() throws Exception {
+		Class<?> type = engine.define(Engine.nextName());
+		endpoint = engine.newInstance(type);
+		sayHello = Engine.sayHello(type);
+	}
+
+	@Benchmark
+	public Object invoke() throws Throwable {
+		return (Object) sayHello.invokeExact(endpoint, text);
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.apache.cxf.endpoint.cache.EndpointApiArchive;
+
+/**
+ * 启动开销：在新的 JVM 中准备一批服务（生成或从归档加载、实例化并第一次调用），输出耗时。
+ * <p>JMH 的单次测量无法覆盖 JVM 启动与 CDS 归档，由 <code>cds-startup.sh</code> 在不同的 JVM 参数下分别运行：</p>
+ * <pre>
+ * java -cp target/benchmarks.jar org.apache.cxf.endpoint.benchmark.StartupBenchmark [服务数量]
+ * </pre>
+ */
+public class StartupBenchmark {
+
+	public static void main(String[] args) throws Throwable {
+
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+		long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		long loaded = classLoading.getTotalLoadedClassCount();
+
+		long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			// 固定的 uid：每次启动的定义相同，类名与字节码也相同
+			Class<?> type = Engine.BYTEBUDDY_DIRECT.builder("startup-" + i).toClass();
+			MethodHandle sayHello = Engine.sayHello(type);
+			Object result = (Object) sayHello.invokeExact(Engine.BYTEBUDDY_DIRECT.newInstance(type), "hello");
+			if (result == null) {
+				throw new IllegalStateException();
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+
+		EndpointApiArchive archive = EndpointApiArchive.getDefault();
+		System.out.printf("endpoints=%d, jvmUptimeBeforeMs=%d, endpointsMs=%.1f, classesLoaded=%d, archive=%s%n", count,
+				uptime, elapsed / 1e6, classLoading.getTotalLoadedClassCount() - loaded,
+				archive == null ? "-" : archive.getFile() + " (" + archive.size() + ")");
+
+	}
+
+}
@@ -0,0 +1,596 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.Builder;
+import org.apache.cxf.endpoint.aot.PrecompiledEndpoints;
+import org.apache.cxf.endpoint.cache.EndpointApiArchive;
+import org.apache.cxf.endpoint.cache.EndpointApiClassCache;
+import org.apache.cxf.endpoint.cache.EndpointApiDiskCache;
+import org.apache.cxf.endpoint.cache.EndpointApiFingerprint;
+import org.apache.cxf.endpoint.dispatch.DelegateDispatch;
+import org.apache.cxf.endpoint.dispatch.EndpointDispatch;
+import org.apache.cxf.endpoint.dispatch.InvocationHandlerDispatch;
+import org.apache.cxf.endpoint.dispatch.OperationDescriptor;
+import org.apache.cxf.endpoint.jfr.EndpointGenerationEvent;
+import org.apache.cxf.endpoint.metrics.EndpointMetrics;
+import org.apache.cxf.endpoint.metrics.OperationRecorder;
+import org.apache.cxf.endpoint.metrics.OperationTimingAdvice;
+import org.apache.cxf.endpoint.naming.DigestNamingStrategy;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.DynamicType.Builder.MethodDefinition;
+import net.bytebuddy.dynamic.DynamicType.Unloaded;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+import net.bytebuddy.utility.RandomString;
+
+/**
+ * jaxws、jaxrs 动态类构建器的公共部分：命名策略、结构指纹以及类的加载与实例化
+ */
+public abstract class AbstractEndpointApiBuilder<T extends EndpointApi> implements Builder<Unloaded<T>> {
+
+	// 共用的生成上下文：预先配置的 ByteBuddy 与类型描述缓存
+	protected final EndpointApiContext context = EndpointApiContext.getDefault();
+	// 构建动态类
+	protected DynamicType.Builder<? extends EndpointApi> builder = null;
+	protected RandomString randomString = new RandomString(8);
+	// 按结构指纹命名时使用，生成字节码前确定最终的类名
+	protected DigestNamingStrategy digestNaming = null;
+	// 结构指纹：记录构建过程中的全部定义，用于已生成类的缓存
+	protected final EndpointApiFingerprint fingerprint = new EndpointApiFingerprint();
+	protected EndpointApiClassCache classCache = EndpointApiClassCache.getDefault();
+	// 字节码的磁盘缓存，默认未启用
+	protected EndpointApiDiskCache diskCache = EndpointApiDiskCache.getDefault();
+	// 生成类的 jar 归档，可被 CDS 收录，默认未启用
+	protected EndpointApiArchive archive = EndpointApiArchive.getDefault();
+	// 是否优先使用构建期预编译的类
+	protected boolean precompiled = true;
+	// 新生成的类的加载方式，默认每个类使用独立的类加载器
+	protected ClassLoadingStrategy<ClassLoader> classLoadingStrategy = ClassLoadingStrategy.Default.WRAPPER;
+	// 方法分发方式，默认交给 InvocationHandler 处理
+	protected EndpointDispatch dispatch = InvocationHandlerDispatch.INSTANCE;
+	// 委托分发的目标对象，toInstance() 时作为处理器传入
+	protected Object delegate = null;
+	// 已定义的方法数量，同时作为下一个方法的序号
+	protected int operationCount = 0;
+	// 已定义方法的元数据，按方法序号排列
+	protected final List<OperationDescriptor> operations = new ArrayList<OperationDescriptor>();
+	// 类上绑定的数据，方法未绑定数据时使用
+	protected String boundUid = null;
+	protected String boundJson = null;
+	// 模板模式：类上绑定的数据只注入到实例中，不属于生成类的定义
+	protected boolean template = false;
+	// 方法耗时统计，默认关闭
+	protected boolean timing = false;
+	// 定义阶段的 JFR 事件：从创建构建器到第一次 toClass，写入后置为 null
+	protected EndpointGenerationEvent definitionEvent = EndpointGenerationEvent.start(EndpointGenerationEvent.DEFINITION);
+
+	/**
+	 * @param prefix
+	 * @param randomName
+	 */
+	protected AbstractEndpointApiBuilder(final String prefix, final boolean randomName) {
+
+		builder = subclass(context.getByteBuddy().with(new NamingStrategy.AbstractBase() {
+			@Override
+			protected String name(TypeDescription typeDescription) {
+				return prefix + typeDescription.getSimpleName() + (randomName ? ("$" + randomString.nextString()) : "");
+			}
+
+		}));
+
+		// 随机后缀不属于定义的一部分
+		fingerprint.append("naming", prefix, randomName);
+	}
+
+	/**
+	 * @param name The fully qualified name of the generated class in a binary format.
+	 */
+	protected AbstractEndpointApiBuilder(final String name) {
+		builder = subclass(context.getByteBuddy()).name(name);
+		fingerprint.append("name", name);
+	}
+
+	/**
+	 * 自定义命名策略；为 {@link DigestNamingStrategy} 时类名由定义的结构指纹决定
+	 * @param namingStrategy ： The naming strategy to apply when creating a new auxiliary type.
+	 */
+	protected AbstractEndpointApiBuilder(final NamingStrategy namingStrategy) {
+		builder = subclass(context.getByteBuddy().with(namingStrategy));
+		if (namingStrategy instanceof DigestNamingStrategy) {
+			digestNaming = (DigestNamingStrategy) namingStrategy;
+			fingerprint.append("naming", namingStrategy.getClass(), digestNaming.getPrefix());
+		} else {
+			fingerprint.append("naming", namingStrategy.getClass());
+		}
+	}
+
+	/**
+	 * 以缓存的 EndpointApi 类型描述创建子类构建器
+	 */
+	@SuppressWarnings("unchecked")
+	protected DynamicType.Builder<? extends EndpointApi> subclass(final ByteBuddy byteBuddy) {
+		return (DynamicType.Builder<? extends EndpointApi>) byteBuddy.subclass(context.describe(EndpointApi.class));
+	}
+
+	/**
+	 * @return 共用的生成上下文
+	 */
+	public EndpointApiContext getContext() {
+		return context;
+	}
+
+	/**
+	 * @return 当前定义的结构指纹
+	 */
+	public EndpointApiFingerprint getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * @return 处理器类型，即生成类构造器接收的参数类型
+	 */
+	public Class<?> getHandlerType() {
+		return dispatch.getHandlerType();
+	}
+
+	/**
+	 * 设置已生成类的缓存，为 null 时每次 toClass() 都重新生成
+	 */
+	public void setClassCache(final EndpointApiClassCache classCache) {
+		this.classCache = classCache;
+	}
+
+	/**
+	 * 设置字节码的磁盘缓存，为 null 时不使用磁盘缓存
+	 */
+	public void setDiskCache(final EndpointApiDiskCache diskCache) {
+		this.diskCache = diskCache;
+	}
+
+	/**
+	 * 设置生成类的 jar 归档，为 null 时不使用归档
+	 * @see EndpointApiArchive
+	 */
+	public void setArchive(final EndpointApiArchive archive) {
+		this.archive = archive;
+	}
+
+	/**
+	 * 设置是否查找构建期预编译的类；预编译的类由应用类加载器加载，无法卸载
+	 * @see PrecompiledEndpoints
+	 */
+	public void setPrecompiled(final boolean precompiled) {
+		this.precompiled = precompiled;
+	}
+
+	public ClassLoadingStrategy<ClassLoader> getClassLoadingStrategy() {
+		return classLoadingStrategy;
+	}
+
+	/**
+	 * 设置新生成的类的加载方式，如 {@link org.apache.cxf.endpoint.loading.HiddenClassLoadingStrategy}；
+	 * 加载方式不同的类不共用缓存，非默认的加载方式不使用磁盘缓存
+	 * @param classLoadingStrategy ：类加载方式
+	 */
+	public void setClassLoadingStrategy(final ClassLoadingStrategy<ClassLoader> classLoadingStrategy) {
+		if (classLoadingStrategy != ClassLoadingStrategy.Default.WRAPPER) {
+			fingerprint.append("classLoading", classLoadingStrategy.getClass());
+		}
+		this.classLoadingStrategy = classLoadingStrategy;
+	}
+
+	/**
+	 * 设置方法分发方式，必须在定义方法之前调用
+	 * @param dispatch ：分发方式
+	 */
+	protected void setDispatch(final EndpointDispatch dispatch) {
+		if (operationCount > 0) {
+			throw new IllegalStateException("The dispatch must be set before any method is defined.");
+		}
+		if (this.dispatch != InvocationHandlerDispatch.INSTANCE) {
+			throw new IllegalStateException("The dispatch has already been set.");
+		}
+		fingerprint.append("dispatch", dispatch.getClass(), dispatch.getHandlerType());
+		this.dispatch = dispatch;
+		this.builder = dispatch.prepare(builder);
+	}
+
+	/**
+	 * 委托分发，必须在定义方法之前调用：生成的方法直接调用目标对象上签名相同的方法
+	 * @param targetType 	：目标对象的公开类型，生成类的字段与构造器使用该类型
+	 * @param target 		：目标对象
+	 * @see DelegateDispatch
+	 */
+	protected void setDelegate(final Class<?> targetType, final Object target) {
+		if (!targetType.isInstance(target)) {
+			throw new IllegalArgumentException("Target " + target.getClass().getName() + " is not an instance of "
+					+ targetType.getName() + ".");
+		}
+		setDispatch(new DelegateDispatch(targetType));
+		this.delegate = target;
+	}
+
+	/**
+	 * 记录类上绑定的数据，作为未绑定数据的方法的默认值
+	 */
+	protected void setBound(final String uid, final String json) {
+		this.boundUid = uid;
+		this.boundJson = json;
+	}
+
+	/**
+	 * 启用模板模式，必须在绑定数据之前调用：类上绑定的数据不再写入 <code>@WebBound</code> 注解与结构指纹，
+	 * 只在 toInstance 时注入到实例中（见 {@link EndpointApi#getBound()}），结构相同的租户共用一个生成类。
+	 * <p>方法上绑定的数据仍属于生成类的定义。启用计时时各租户的调用计入同一组统计，见 {@link #newRecorders()}。</p>
+	 */
+	protected void setTemplate() {
+		if (boundUid != null || boundJson != null) {
+			throw new IllegalStateException("The template mode must be enabled before the bound data is set.");
+		}
+		if (!template) {
+			fingerprint.append("template");
+			template = true;
+		}
+	}
+
+	public boolean isTemplate() {
+		return template;
+	}
+
+	/**
+	 * 启用方法耗时统计，必须在定义方法之前调用：计时代码以 Advice 内联到每个生成的方法中，
+	 * 结果写入 {@link EndpointMetrics#getDefault()}
+	 * @see OperationTimingAdvice
+	 */
+	protected void setTiming() {
+		if (operationCount > 0) {
+			throw new IllegalStateException("The timing must be enabled before any method is defined.");
+		}
+		if (!timing) {
+			fingerprint.append("timing");
+			timing = true;
+			builder = builder.defineField(OperationTimingAdvice.RECORDERS_FIELD,
+					context.describe(OperationRecorder[].class), Visibility.PUBLIC, Ownership.STATIC);
+		}
+	}
+
+	public boolean isTiming() {
+		return timing;
+	}
+
+	/**
+	 * @return 类上绑定的数据，创建实例时注入；未绑定时为 {@link EndpointBound#EMPTY}
+	 */
+	public EndpointBound getBound() {
+		return EndpointBound.of(boundUid, boundJson);
+	}
+
+	/**
+	 * @return 已定义方法的元数据，方法未绑定数据时已合并类上的绑定数据；模板模式下不合并，
+	 * 生成类由多个租户共用，类上的绑定数据从实例上读取
+	 */
+	public List<OperationDescriptor> getOperations() {
+		List<OperationDescriptor> resolved = new ArrayList<OperationDescriptor>(operations.size());
+		for (OperationDescriptor operation : operations) {
+			resolved.add(template ? operation : operation.inherit(boundUid, boundJson));
+		}
+		return Collections.unmodifiableList(resolved);
+	}
+
+	/**
+	 * 定义一个公开方法，方法体由当前的分发方式生成
+	 * @param name 					：方法名称
+	 * @param returnType 			：方法返回类型
+	 * @param parameterTypes 		：参数类型
+	 * @param parameterNames 		：参数名称
+	 * @param parameterAnnotations 	：参数注解
+	 * @param methodAnnotations 	：方法注解
+	 * @param operation 			：方法元数据，序号须为 operationCount
+	 */
+	protected void defineMethod(final String name, final Class<?> returnType, final Class<?>[] parameterTypes,
+			final String[] parameterNames, final AnnotationDescription[][] parameterAnnotations,
+			final List<AnnotationDescription> methodAnnotations, final OperationDescriptor operation) {
+
+		if (operation.getIndex() != operationCount) {
+			throw new IllegalArgumentException("Operation index " + operation.getIndex() + " does not match method "
+					+ name + " (" + operationCount + ").");
+		}
+		operations.add(operation);
+		// 方法元数据常量，类加载后由 LoadedTypeInitializer 赋值
+		builder = builder.defineField(OperationDescriptor.fieldName(operationCount),
+				context.describe(OperationDescriptor.class), Visibility.PUBLIC, Ownership.STATIC);
+
+		// 类型描述取自共用的上下文，相同的参数类型只解析一次
+		MethodDefinition.ParameterDefinition<? extends EndpointApi> definition = builder.defineMethod(name,
+				context.describe(returnType != null ? returnType : void.class), Visibility.PUBLIC);
+		// 有参方法
+		for (int i = 0; i < parameterTypes.length; i++) {
+			definition = definition.withParameter(context.describe(parameterTypes[i]), parameterName(parameterNames[i], i))
+					.annotateParameter(parameterAnnotations[i]);
+		}
+
+		Implementation implementation = dispatch.operation(operationCount, name,
+				returnType != null ? returnType : void.class, parameterTypes);
+		if (timing) {
+			implementation = OperationTimingAdvice.wrap(operationCount, implementation);
+		}
+		operationCount++;
+
+		builder = definition.throwing(context.describe(Exception.class))
+				.intercept(implementation)
+				.annotateMethod(methodAnnotations);
+	}
+
+	/**
+	 * 参数的外部名称（如 HTTP Header 名称）不一定是合法的 Java 标识符，这里只用于字节码中的参数名
+	 */
+	protected static String parameterName(final String name, final int index) {
+		if (StringUtils.isBlank(name)) {
+			return "arg" + index;
+		}
+		StringBuilder identifier = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			identifier.append(Character.isJavaIdentifierPart(ch) ? ch : '_');
+		}
+		if (!Character.isJavaIdentifierStart(identifier.charAt(0))) {
+			identifier.insert(0, '_');
+		}
+		return identifier.toString();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Unloaded<T> build() {
+		DynamicType.Builder<? extends EndpointApi> builder = this.builder;
+		if (digestNaming != null) {
+			builder = builder.name(digestNaming.name(fingerprint.digest()));
+		}
+		for (OperationDescriptor operation : getOperations()) {
+			builder = builder.initializer(new LoadedTypeInitializer.ForStaticField(
+					OperationDescriptor.fieldName(operation.getIndex()), operation));
+		}
+		OperationRecorder[] recorders = newRecorders();
+		if (recorders != null) {
+			builder = builder.initializer(new LoadedTypeInitializer.ForStaticField(OperationTimingAdvice.RECORDERS_FIELD,
+					recorders));
+		}
+		EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.MAKE);
+		Unloaded<T> unloaded = (Unloaded<T>) builder.make();
+		event.commit(unloaded.getTypeDescription().getName(), fingerprint.digest(), unloaded.getBytes().length, null);
+		if (recorders != null) {
+			EndpointMetrics.getDefault().register(unloaded.getTypeDescription().getName(), recorders);
+		}
+		return unloaded;
+	}
+
+	/**
+	 * 统计挂在生成类的静态字段上，由该类的全部实例共享。模板模式下类上绑定的数据不属于类的定义，
+	 * 共用同一个生成类的租户因此共用一组统计，其 uid 只来自方法上绑定的数据（未绑定时为空串）；
+	 * 需要按租户区分统计时不要与模板模式同时使用。
+	 * @return 每个生成的类使用独立的统计，以方法名称与绑定数据的 uid 标识；未启用计时时返回 null
+	 */
+	protected OperationRecorder[] newRecorders() {
+		if (!timing) {
+			return null;
+		}
+		List<OperationDescriptor> operations = getOperations();
+		OperationRecorder[] recorders = new OperationRecorder[operations.size()];
+		for (OperationDescriptor operation : operations) {
+			recorders[operation.getIndex()] = new OperationRecorder(operation.getName(), operation.getUid());
+		}
+		return recorders;
+	}
+
+	/**
+	 * 生成并加载动态类；定义指纹相同的类只会生成一次
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @return
+	 */
+	public Class<?> toClass() {
+		EndpointGenerationEvent definition = definitionEvent;
+		if (definition != null) {
+			definition.end();
+		}
+		Class<?> type = classCache == null ? load() : classCache.get(fingerprint.digest(), digest -> load());
+		if (definition != null) {
+			definition.commit(type.getName(), fingerprint.digest(), 0, null);
+			definitionEvent = null;
+		}
+		return type;
+	}
+
+	protected Class<?> load() {
+		// 优先使用构建期预编译的类
+		Class<?> precompiled = loadPrecompiled();
+		if (precompiled != null) {
+			return precompiled;
+		}
+		// 其次使用 jar 归档中的类，可由 CDS 直接提供
+		Class<?> archived = loadArchived();
+		if (archived != null) {
+			return archived;
+		}
+		// 再次使用上次启动时保存在磁盘上的字节码
+		Class<?> stored = loadStored();
+		if (stored != null) {
+			return stored;
+		}
+		Unloaded<T> unloaded = build();
+		if (usesDiskCache()) {
+			diskCache.write(fingerprint.digest(), unloaded);
+		}
+		if (usesArchive()) {
+			archive.add(fingerprint.digest(), unloaded);
+		}
+		// 通过类加载器加载该动态类
+		EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.LOAD);
+		Class<?> loaded = unloaded.load(getClass().getClassLoader(), classLoadingStrategy).getLoaded();
+		event.commit(loaded.getName(), fingerprint.digest(), unloaded.getBytes().length, "generated");
+		return loaded;
+	}
+
+	/**
+	 * @return 磁盘缓存中的类，不存在时返回 null
+	 * @see EndpointApiDiskCache
+	 */
+	protected Class<?> loadStored() {
+		if (!usesDiskCache()) {
+			return null;
+		}
+		EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.LOAD);
+		Class<?> stored = diskCache.load(fingerprint.digest(), getClass().getClassLoader());
+		if (stored != null) {
+			initialize(stored);
+			event.commit(stored.getName(), fingerprint.digest(), 0, "disk");
+		}
+		return stored;
+	}
+
+	/**
+	 * @return jar 归档中的类，不存在时返回 null
+	 * @see EndpointApiArchive
+	 */
+	protected Class<?> loadArchived() {
+		if (!usesArchive()) {
+			return null;
+		}
+		EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.LOAD);
+		Class<?> archived = archive.load(fingerprint.digest(), getClass().getClassLoader());
+		if (archived != null) {
+			initialize(archived);
+			event.commit(archived.getName(), fingerprint.digest(), 0, "archive");
+		}
+		return archived;
+	}
+
+	/**
+	 * @return 构建期预编译的类，不存在时返回 null
+	 * @see PrecompiledEndpoints
+	 */
+	protected Class<?> loadPrecompiled() {
+		if (!precompiled) {
+			return null;
+		}
+		EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.LOAD);
+		Class<?> precompiled = PrecompiledEndpoints.lookup(fingerprint.digest(), getClass().getClassLoader());
+		if (precompiled != null) {
+			initialize(precompiled);
+			event.commit(precompiled.getName(), fingerprint.digest(), 0, "precompiled");
+		}
+		return precompiled;
+	}
+
+	/**
+	 * 磁盘缓存中的类总是通过独立的类加载器加载，仅用于默认的加载方式
+	 */
+	protected boolean usesDiskCache() {
+		return diskCache != null && classLoadingStrategy == ClassLoadingStrategy.Default.WRAPPER;
+	}
+
+	/**
+	 * 归档中的类通过共享的类加载器加载，仅用于默认的加载方式
+	 */
+	protected boolean usesArchive() {
+		return archive != null && classLoadingStrategy == ClassLoadingStrategy.Default.WRAPPER;
+	}
+
+	/**
+	 * 为未经 LoadedTypeInitializer 初始化的类（如预编译的类）设置方法元数据常量
+	 * @param type ：与当前定义一致的动态类
+	 */
+	protected void initialize(final Class<?> type) {
+		for (OperationDescriptor operation : getOperations()) {
+			try {
+				Field field = type.getField(OperationDescriptor.fieldName(operation.getIndex()));
+				field.set(null, operation);
+			} catch (NoSuchFieldException | IllegalAccessException e) {
+				throw new IllegalStateException("Unable to initialize " + type.getName(), e);
+			}
+		}
+		OperationRecorder[] recorders = newRecorders();
+		if (recorders != null) {
+			try {
+				type.getField(OperationTimingAdvice.RECORDERS_FIELD).set(null, recorders);
+			} catch (NoSuchFieldException | IllegalAccessException e) {
+				throw new IllegalStateException("Unable to initialize " + type.getName(), e);
+			}
+			EndpointMetrics.getDefault().register(type.getName(), recorders);
+		}
+	}
+
+	/**
+	 * @return 生成类的实例工厂，每个类只创建一次，可反复调用以低开销创建实例（如按租户或按请求作用域）
+	 * @see EndpointFactory
+	 */
+	public EndpointFactory toFactory() {
+		return EndpointFactory.of(toClass(), dispatch.getHandlerType());
+	}
+
+	/**
+	 * @return 委托给 delegateTo 目标对象的实例
+	 * @throws IllegalStateException 未设置委托目标
+	 */
+	public Object toInstance() throws InstantiationException, IllegalAccessException, IllegalArgumentException,
+			InvocationTargetException, NoSuchMethodException, SecurityException {
+		if (delegate == null) {
+			throw new IllegalStateException("No delegate target is set, use toInstance(handler) instead.");
+		}
+		return toInstance(delegate);
+	}
+
+	/**
+	 * @param handler ：处理器，类型须与分发方式的处理器类型一致，默认为 InvocationHandler
+	 * @return 注入了类上绑定数据的实例
+	 */
+	public Object toInstance(final Object handler) throws InstantiationException, IllegalAccessException,
+			IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+		EndpointFactory factory = toFactory();
+		EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.INSTANTIATE);
+		Object instance = factory.newInstance(handler, getBound());
+		event.commit(instance.getClass().getName(), fingerprint.digest(), 0, null);
+		return instance;
+	}
+
+	/**
+	 * 创建实例并注入绑定数据，用于已生成的模板类，如 {@link org.apache.cxf.endpoint.catalog.EndpointPublisher} 中按租户创建实例
+	 * @param type 			：生成的类
+	 * @param handlerType 	：处理器类型，见 {@link #getHandlerType()}
+	 * @param handler 		：处理器
+	 * @param bound 		：实例绑定的数据
+	 */
+	public static EndpointApi newInstance(final Class<?> type, final Class<?> handlerType, final Object handler,
+			final EndpointBound bound) {
+		return EndpointFactory.of(type, handlerType).newInstance(handler, bound);
+	}
+
+}
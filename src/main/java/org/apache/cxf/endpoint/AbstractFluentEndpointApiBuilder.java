@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import java.lang.invoke.MethodHandles;
+
+import org.apache.cxf.endpoint.dispatch.DelegateDispatch;
+import org.apache.cxf.endpoint.dispatch.DirectDispatch;
+import org.apache.cxf.endpoint.dispatch.EndpointDispatch;
+import org.apache.cxf.endpoint.dispatch.OperationHandler;
+import org.apache.cxf.endpoint.dispatch.OperationHandlerDispatch;
+import org.apache.cxf.endpoint.loading.HiddenClassLoadingStrategy;
+
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+/**
+ * jaxws、jaxrs 构建器共用的链式设置：分发方式、类的加载方式、模板模式与计时；
+ * 返回类型为具体的构建器，子类只保留各自协议的注解与方法定义
+ * @param <B> ：具体的构建器类型
+ */
+public abstract class AbstractFluentEndpointApiBuilder<T extends EndpointApi, B extends AbstractFluentEndpointApiBuilder<T, B>>
+		extends AbstractEndpointApiBuilder<T> {
+
+	/**
+	 * @param prefix
+	 * @param randomName
+	 */
+	protected AbstractFluentEndpointApiBuilder(final String prefix, final boolean randomName) {
+		super(prefix, randomName);
+	}
+
+	/**
+	 * @param name The fully qualified name of the generated class in a binary format.
+	 */
+	protected AbstractFluentEndpointApiBuilder(final String name) {
+		super(name);
+	}
+
+	/**
+	 * @param namingStrategy ： The naming strategy to apply when creating a new auxiliary type.
+	 */
+	protected AbstractFluentEndpointApiBuilder(final NamingStrategy namingStrategy) {
+		super(namingStrategy);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected B self() {
+		return (B) this;
+	}
+
+	/**
+	 * @return 生成的类所在包的 Lookup，隐藏类定义在该包中
+	 */
+	protected abstract MethodHandles.Lookup lookup();
+
+	/**
+	 * 设置方法分发方式，须在 newMethod 之前调用
+	 * @param dispatch ：分发方式
+	 * @return
+	 */
+	public B dispatch(final EndpointDispatch dispatch) {
+		setDispatch(dispatch);
+		return self();
+	}
+
+	/**
+	 * 直接分发：生成的方法直接调用处理器上的同名方法，处理器通过 toInstance(handler) 传入
+	 * @param handlerType ：处理器类型
+	 * @return
+	 * @see DirectDispatch
+	 */
+	public B dispatchTo(final Class<?> handlerType) {
+		return dispatch(new DirectDispatch(handlerType));
+	}
+
+	/**
+	 * 委托分发：生成的方法直接调用目标对象上签名相同的方法，不经过 InvocationHandler，实例通过 toInstance() 创建
+	 * @param target ：目标对象，如 Spring Bean
+	 * @return
+	 * @see DelegateDispatch
+	 */
+	public B delegateTo(final Object target) {
+		return delegateTo(DelegateDispatch.publicType(target), target);
+	}
+
+	/**
+	 * 委托分发，目标类不是公开类或为代理类时可指定其公开接口
+	 * @param targetType 	：目标对象的公开类型
+	 * @param target 		：目标对象
+	 * @return
+	 */
+	public B delegateTo(final Class<?> targetType, final Object target) {
+		setDelegate(targetType, target);
+		return self();
+	}
+
+	/**
+	 * 元数据分发：生成的方法把构建期计算好的方法元数据交给 {@link OperationHandler}，处理器通过 toInstance(handler) 传入
+	 * @return
+	 * @see OperationHandlerDispatch
+	 */
+	public B dispatchToOperationHandler() {
+		return dispatch(OperationHandlerDispatch.INSTANCE);
+	}
+
+	/**
+	 * 设置新生成的类的加载方式
+	 * @param classLoadingStrategy ：类加载方式，默认为 ClassLoadingStrategy.Default.WRAPPER
+	 * @return
+	 */
+	public B classLoading(final ClassLoadingStrategy<ClassLoader> classLoadingStrategy) {
+		setClassLoadingStrategy(classLoadingStrategy);
+		return self();
+	}
+
+	/**
+	 * 模板模式，须在 bind 之前调用：结构相同、只有类绑定数据不同的服务共用一个生成类，
+	 * 绑定数据在 toInstance 时注入到实例中，处理器通过 {@link EndpointApi#getBound()} 读取
+	 * @return
+	 */
+	public B template() {
+		setTemplate();
+		return self();
+	}
+
+	/**
+	 * 统计每个方法的调用次数与耗时，须在 newMethod 之前调用；计时代码内联到生成的方法中，
+	 * 结果见 {@link org.apache.cxf.endpoint.metrics.EndpointMetrics#getDefault()}；与 {@link #template()} 同时使用时各租户共用一组统计
+	 * @return
+	 */
+	public B timing() {
+		setTiming();
+		return self();
+	}
+
+	/**
+	 * 以 {@link #lookup()} 所在包中的隐藏类定义生成的类，仅适用于构建器默认的命名策略（类名以该包名开头）；
+	 * 不支持隐藏类的 JDK 上退回到注入
+	 * @return
+	 * @see HiddenClassLoadingStrategy
+	 */
+	public B hiddenClass() {
+		return classLoading(HiddenClassLoadingStrategy.of(lookup()));
+	}
+
+}
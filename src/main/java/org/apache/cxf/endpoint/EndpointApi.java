@@ -19,7 +19,11 @@ import java.lang.reflect.InvocationHandler;
 
 public abstract class EndpointApi {
 
-	private InvocationHandler handler;
+	public static final String HANDLER_FIELD = "handler";
+
+	protected InvocationHandler handler;
+	// 实例绑定的数据，由构建器在创建实例时注入
+	private EndpointBound bound = EndpointBound.EMPTY;
 	
 	public EndpointApi() {
 	}
@@ -31,6 +35,17 @@ public abstract class EndpointApi {
 	public InvocationHandler getHandler() {
 		return handler;
 	}
+
+	/**
+	 * @return 实例绑定的数据；模板模式下各租户的数据只能从实例上读取
+	 */
+	public EndpointBound getBound() {
+		return bound;
+	}
+
+	void setBound(final EndpointBound bound) {
+		this.bound = bound != null ? bound : EndpointBound.EMPTY;
+	}
 	
 	
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.apache.cxf.endpoint.cache.EndpointApiClassCache;
+import org.apache.cxf.endpoint.cache.EndpointApiDiskCache;
+import org.apache.cxf.endpoint.jfr.EndpointGenerationEvent;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType.Unloaded;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
+
+/**
+ * 批量构建动态类：先生成全部字节码，再一次性注入到同一个类加载器中。
+ * <p>逐个调用 toClass() 时每个动态类都有自己的类加载器，注册大量服务时会占用过多 Metaspace 并拖慢类的解析。</p>
+ * <p>批量加载总是使用共享的类加载器，忽略构建器设置的类加载方式。</p>
+ * <pre>
+ * List&lt;Class&lt;?&gt;&gt; classes = new EndpointApiBatch().add(builder1).add(builder2).toClasses();
+ * </pre>
+ */
+public class EndpointApiBatch {
+
+	private final ClassLoader parent;
+	private final List<AbstractEndpointApiBuilder<?>> builders = new ArrayList<AbstractEndpointApiBuilder<?>>();
+	// 生成字节码使用的线程池，为 null 时在调用线程中顺序生成
+	private ForkJoinPool pool = null;
+
+	public EndpointApiBatch() {
+		this(EndpointApiBatch.class.getClassLoader());
+	}
+
+	/**
+	 * @param parent ：共享类加载器的父加载器，须能访问处理器类型
+	 */
+	public EndpointApiBatch(final ClassLoader parent) {
+		this.parent = parent;
+	}
+
+	public EndpointApiBatch add(final AbstractEndpointApiBuilder<?> builder) {
+		builders.add(builder);
+		return this;
+	}
+
+	public EndpointApiBatch addAll(final List<? extends AbstractEndpointApiBuilder<?>> builders) {
+		this.builders.addAll(builders);
+		return this;
+	}
+
+	/**
+	 * 在线程池中并行生成字节码，类的加载仍按 add 的顺序在调用线程中完成
+	 * @param pool ：线程池，为 null 时顺序生成
+	 * @return
+	 */
+	public EndpointApiBatch parallel(final ForkJoinPool pool) {
+		this.pool = pool;
+		return this;
+	}
+
+	public int size() {
+		return builders.size();
+	}
+
+	/**
+	 * 生成并加载全部动态类；已缓存、已预编译、已归档或磁盘缓存中的定义直接复用，同一批次中定义相同的构建器只生成一次。
+	 * 加载完成后各构建器的 toClass() 直接返回批量加载的类。
+	 * @return 与 add 顺序一致的类
+	 */
+	public List<Class<?>> toClasses() {
+
+		// 1、生成字节码：每个未缓存的指纹只生成一次
+		Map<String, AbstractEndpointApiBuilder<?>> pending = new LinkedHashMap<String, AbstractEndpointApiBuilder<?>>();
+		Map<String, AbstractEndpointApiBuilder<?>> lookup = new HashMap<String, AbstractEndpointApiBuilder<?>>();
+		Map<String, Class<?>> resolved = new HashMap<String, Class<?>>();
+		for (AbstractEndpointApiBuilder<?> builder : builders) {
+			String digest = builder.getFingerprint().digest();
+			if (resolved.containsKey(digest) || pending.containsKey(digest)) {
+				continue;
+			}
+			Class<?> cached = builder.classCache != null ? builder.classCache.getIfPresent(digest) : null;
+			if (cached == null) {
+				cached = builder.loadPrecompiled();
+			}
+			if (cached == null) {
+				cached = builder.loadArchived();
+			}
+			if (cached != null) {
+				resolved.put(digest, cached);
+			} else {
+				pending.put(digest, builder);
+				lookup.put(digest, builder);
+			}
+		}
+		// 磁盘缓存中的字节码无需重新生成
+		Map<String, Map<String, byte[]>> stored = new LinkedHashMap<String, Map<String, byte[]>>();
+		for (Iterator<Map.Entry<String, AbstractEndpointApiBuilder<?>>> it = pending.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, AbstractEndpointApiBuilder<?>> entry = it.next();
+			EndpointApiDiskCache diskCache = entry.getValue().diskCache;
+			Map<String, byte[]> types = entry.getValue().usesDiskCache() ? diskCache.read(entry.getKey()) : null;
+			if (types != null) {
+				stored.put(entry.getKey(), types);
+				it.remove();
+			}
+		}
+		Map<String, Unloaded<?>> unloaded = make(pending);
+
+		// 2、一次性注入到同一个类加载器
+		if (!stored.isEmpty() || !unloaded.isEmpty()) {
+			Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+			for (Map<String, byte[]> entry : stored.values()) {
+				for (Map.Entry<String, byte[]> type : entry.entrySet()) {
+					define(types, type.getKey(), type.getValue());
+				}
+			}
+			for (Unloaded<?> entry : unloaded.values()) {
+				for (Map.Entry<TypeDescription, byte[]> type : entry.getAllTypes().entrySet()) {
+					define(types, type.getKey().getName(), type.getValue());
+				}
+			}
+			ByteArrayClassLoader loader = new ByteArrayClassLoader(parent, types);
+			for (Map.Entry<String, Map<String, byte[]>> entry : stored.entrySet()) {
+				EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.LOAD);
+				String name = entry.getValue().keySet().iterator().next();
+				Class<?> type = loadClass(loader, name);
+				lookup.get(entry.getKey()).initialize(type);
+				resolved.put(entry.getKey(), type);
+				event.commit(type.getName(), entry.getKey(), entry.getValue().get(name).length, "disk");
+			}
+			for (Map.Entry<String, Unloaded<?>> entry : unloaded.entrySet()) {
+				EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.LOAD);
+				for (Map.Entry<TypeDescription, LoadedTypeInitializer> initializer : entry.getValue()
+						.getLoadedTypeInitializers().entrySet()) {
+					initializer.getValue().onLoad(loadClass(loader, initializer.getKey().getName()));
+				}
+				Class<?> type = loadClass(loader, entry.getValue().getTypeDescription().getName());
+				resolved.put(entry.getKey(), type);
+				event.commit(type.getName(), entry.getKey(), entry.getValue().getBytes().length, "generated");
+				AbstractEndpointApiBuilder<?> builder = lookup.get(entry.getKey());
+				if (builder.usesDiskCache()) {
+					builder.diskCache.write(entry.getKey(), entry.getValue());
+				}
+				if (builder.usesArchive()) {
+					builder.archive.add(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+
+		// 3、登记到各构建器的缓存，并发场景下以先登记的类为准
+		List<Class<?>> classes = new ArrayList<Class<?>>(builders.size());
+		for (AbstractEndpointApiBuilder<?> builder : builders) {
+			String digest = builder.getFingerprint().digest();
+			Class<?> type = resolved.get(digest);
+			EndpointApiClassCache classCache = builder.classCache;
+			classes.add(classCache != null ? classCache.putIfAbsent(digest, type) : type);
+		}
+		return Collections.unmodifiableList(classes);
+	}
+
+	private static void define(final Map<String, byte[]> types, final String name, final byte[] bytes) {
+		if (types.put(name, bytes) != null) {
+			throw new IllegalStateException("Duplicate endpoint class name in batch: " + name);
+		}
+	}
+
+	private static Class<?> loadClass(final ClassLoader loader, final String name) {
+		try {
+			return loader.loadClass(name);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	protected Map<String, Unloaded<?>> make(final Map<String, AbstractEndpointApiBuilder<?>> pending) {
+		Map<String, Unloaded<?>> unloaded = new LinkedHashMap<String, Unloaded<?>>();
+		if (pool == null || pending.size() < 2) {
+			for (Map.Entry<String, AbstractEndpointApiBuilder<?>> entry : pending.entrySet()) {
+				unloaded.put(entry.getKey(), entry.getValue().build());
+			}
+			return unloaded;
+		}
+		// 有序流：结果顺序与提交顺序一致，保证后续加载顺序确定
+		List<AbstractEndpointApiBuilder<?>> builders = new ArrayList<AbstractEndpointApiBuilder<?>>(pending.values());
+		List<Unloaded<?>> types = pool.submit(() -> builders.parallelStream()
+				.<Unloaded<?>>map(AbstractEndpointApiBuilder::build)
+				.collect(Collectors.toList())).join();
+		int i = 0;
+		for (String digest : pending.keySet()) {
+			unloaded.put(digest, types.get(i++));
+		}
+		return unloaded;
+	}
+
+}
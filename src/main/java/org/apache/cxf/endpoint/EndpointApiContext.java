@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.MethodGraph;
+import net.bytebuddy.dynamic.scaffold.TypeValidation;
+import net.bytebuddy.implementation.Implementation;
+
+/**
+ * 全部构建器共用的生成上下文，创建后不可修改：
+ * <ul>
+ * <li>预先配置的 ByteBuddy：固定的类文件版本 {@link #CLASS_FILE_VERSION}（与运行的 JVM 无关，预编译的类在更新的 JVM 上仍然命中）、关闭类型校验（定义由构建器生成，JVM 加载时仍会校验）、
+ * 按 JVM 规则编译方法图（生成类只继承 EndpointApi，无需解析泛型桥接方法）、固定的实现上下文后缀；</li>
+ * <li>按 Class 缓存的类型描述：ForLoadedType 的方法、注解等成员在第一次访问后缓存在描述中，
+ * 数千个服务共用相同的参数类型时只解析一次。构建器只使用已加载的类型，不按名称解析类型。</li>
+ * </ul>
+ */
+public class EndpointApiContext {
+
+	/**
+	 * 生成的类使用的类文件版本，与工程的编译目标一致
+	 */
+	public static final ClassFileVersion CLASS_FILE_VERSION = ClassFileVersion.JAVA_V11;
+
+	private static final EndpointApiContext DEFAULT = new EndpointApiContext();
+
+	private final ByteBuddy byteBuddy;
+	private final ClassValue<TypeDescription> descriptions = new ClassValue<TypeDescription>() {
+		@Override
+		protected TypeDescription computeValue(Class<?> type) {
+			return TypeDescription.ForLoadedType.of(type);
+		}
+	};
+
+	public EndpointApiContext() {
+		this(new ByteBuddy(CLASS_FILE_VERSION)
+				.with(TypeValidation.DISABLED)
+				.with(MethodGraph.Compiler.Default.forJVMHierarchy())
+				// 固定实现上下文的后缀（如缓存字段的名称），同一定义总是生成相同的字节码
+				.with(new Implementation.Context.Default.Factory.WithFixedSuffix("endpoint")));
+	}
+
+	public EndpointApiContext(final ByteBuddy byteBuddy) {
+		this.byteBuddy = byteBuddy;
+	}
+
+	public static EndpointApiContext getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @return 共用的 ByteBuddy，ByteBuddy 不可变，with(...) 返回新的实例
+	 */
+	public ByteBuddy getByteBuddy() {
+		return byteBuddy;
+	}
+
+	/**
+	 * @param type ：已加载的类型
+	 * @return 缓存的类型描述
+	 */
+	public TypeDescription describe(final Class<?> type) {
+		return descriptions.get(type);
+	}
+
+	/**
+	 * @param types ：已加载的类型
+	 * @return 缓存的类型描述
+	 */
+	public TypeDescription[] describe(final Class<?>[] types) {
+		TypeDescription[] descriptions = new TypeDescription[types.length];
+		for (int i = 0; i < types.length; i++) {
+			descriptions[i] = describe(types[i]);
+		}
+		return descriptions;
+	}
+
+}
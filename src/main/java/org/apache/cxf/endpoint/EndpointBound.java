@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import java.util.Map;
+
+import org.apache.cxf.endpoint.utils.JsonUtils;
+
+/**
+ * 服务实例绑定的数据（uid 与 JSON），创建实例时注入到 {@link EndpointApi} 中。
+ * <p>模板模式下同一结构的服务共用一个生成类，各租户的数据只保存在实例上，不再写入类上的 <code>@WebBound</code> 注解。</p>
+ */
+public final class EndpointBound {
+
+	public static final EndpointBound EMPTY = new EndpointBound("", "{}");
+
+	private final String uid;
+	private final String json;
+	private final Map<String, Object> data;
+
+	private EndpointBound(final String uid, final String json) {
+		this.uid = uid;
+		this.json = json;
+		this.data = JsonUtils.parseObject(json);
+	}
+
+	/**
+	 * @param uid 	：绑定数据的标识
+	 * @param json 	：绑定的 JSON 数据，在此解析一次
+	 * @return
+	 */
+	public static EndpointBound of(final String uid, final String json) {
+		if (uid == null && json == null) {
+			return EMPTY;
+		}
+		return new EndpointBound(uid != null ? uid : "", json != null && !json.trim().isEmpty() ? json : "{}");
+	}
+
+	public String getUid() {
+		return uid;
+	}
+
+	public String getJson() {
+		return json;
+	}
+
+	/**
+	 * @return 解析后的绑定数据，不可修改
+	 */
+	public Map<String, Object> getData() {
+		return data;
+	}
+
+	@Override
+	public String toString() {
+		return "EndpointBound[" + uid + "]";
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * 生成类的实例工厂：每个生成类只创建一次，之后直接调用构造器创建实例，不经过反射查找构造器。
+ * <p>前 {@value #GENERATE_THRESHOLD} 次通过构造器的 MethodHandle 创建实例，只创建少量实例的类不必再生成工厂类；
+ * 之后换用 ByteBuddy 生成的工厂类（方法体为 <code>return new Endpoint(handler);</code>），工厂类加载到生成类的类加载器之下，
+ * 与生成类一起回收。隐藏类无法被其它类按名称引用，始终使用 MethodHandle。</p>
+ * <pre>
+ * EndpointFactory factory = builder.toFactory();
+ * EndpointApi endpoint = factory.newInstance(handler, EndpointBound.of(uid, json));
+ * </pre>
+ */
+public final class EndpointFactory {
+
+	/**
+	 * 生成的工厂类实现的接口
+	 */
+	public interface Instantiator {
+
+		Object newInstance(Object handler);
+
+	}
+
+	public static final int GENERATE_THRESHOLD = 16;
+
+	private static final Logger LOG = LoggerFactory.getLogger(EndpointFactory.class);
+
+	private static final ClassValue<ConcurrentMap<Class<?>, EndpointFactory>> FACTORIES = new ClassValue<ConcurrentMap<Class<?>, EndpointFactory>>() {
+		@Override
+		protected ConcurrentMap<Class<?>, EndpointFactory> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<Class<?>, EndpointFactory>(2);
+		}
+	};
+
+	private final Class<?> endpointClass;
+	private final Class<?> handlerType;
+	private final Constructor<?> constructor;
+	private volatile Instantiator instantiator;
+	// 已创建的实例数量，达到阈值后生成工厂类
+	private final AtomicInteger count = new AtomicInteger();
+
+	private EndpointFactory(final Class<?> endpointClass, final Class<?> handlerType) {
+		this.endpointClass = endpointClass;
+		this.handlerType = handlerType;
+		try {
+			this.constructor = endpointClass.getConstructor(handlerType);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("No constructor " + endpointClass.getName() + "("
+					+ handlerType.getName() + ") found.", e);
+		}
+		this.instantiator = handles(constructor);
+	}
+
+	/**
+	 * @param endpointClass ：生成的类
+	 * @param handlerType 	：构造器接收的处理器类型
+	 * @return 该类的工厂，同一个类与处理器类型只创建一次
+	 */
+	public static EndpointFactory of(final Class<?> endpointClass, final Class<?> handlerType) {
+		ConcurrentMap<Class<?>, EndpointFactory> factories = FACTORIES.get(endpointClass);
+		EndpointFactory factory = factories.get(handlerType);
+		if (factory == null) {
+			factory = new EndpointFactory(endpointClass, handlerType);
+			EndpointFactory existing = factories.putIfAbsent(handlerType, factory);
+			if (existing != null) {
+				factory = existing;
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * @param handler ：处理器
+	 * @return 新的实例，绑定数据为空
+	 */
+	public EndpointApi newInstance(final Object handler) {
+		if (count.get() < GENERATE_THRESHOLD && count.incrementAndGet() == GENERATE_THRESHOLD) {
+			instantiator = generate(endpointClass, constructor, instantiator);
+		}
+		return (EndpointApi) instantiator.newInstance(handler);
+	}
+
+	/**
+	 * @return 是否已使用生成的工厂类
+	 */
+	public boolean isGenerated() {
+		return !(instantiator instanceof MethodHandleInstantiator);
+	}
+
+	/**
+	 * @param handler 	：处理器
+	 * @param bound 	：实例绑定的数据，在实例返回之前注入
+	 * @return 新的实例
+	 */
+	public EndpointApi newInstance(final Object handler, final EndpointBound bound) {
+		EndpointApi endpoint = newInstance(handler);
+		endpoint.setBound(bound);
+		return endpoint;
+	}
+
+	public Class<?> getEndpointClass() {
+		return endpointClass;
+	}
+
+	public Class<?> getHandlerType() {
+		return handlerType;
+	}
+
+	private static Instantiator generate(final Class<?> endpointClass, final Constructor<?> constructor,
+			final Instantiator fallback) {
+		// 隐藏类的名称带有 '/'，无法在其它类中引用
+		if (endpointClass.getName().indexOf('/') >= 0) {
+			return fallback;
+		}
+		try {
+			return EndpointApiContext.getDefault().getByteBuddy()
+					.subclass(Instantiator.class)
+					.name(endpointClass.getName() + "$Factory")
+					.method(ElementMatchers.named("newInstance"))
+					.intercept(MethodCall.construct(constructor).withArgument(0)
+							.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
+					.make()
+					.load(endpointClass.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+					.getLoaded()
+					.getConstructor()
+					.newInstance();
+		} catch (ReflectiveOperationException | RuntimeException | NoClassDefFoundError e) {
+			// 生成失败时继续使用 MethodHandle，如生成类的类加载器看不到 Instantiator；每个类只生成一次，只记录一次
+			LOG.warn("Failed to generate the factory class for {}, instances are created through the constructor handle.",
+					endpointClass.getName(), e);
+			return fallback;
+		}
+	}
+
+	private static Instantiator handles(final Constructor<?> constructor) {
+		try {
+			return new MethodHandleInstantiator(MethodHandles.publicLookup().unreflectConstructor(constructor)
+					.asType(MethodType.methodType(Object.class, Object.class)));
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	private static final class MethodHandleInstantiator implements Instantiator {
+
+		private final MethodHandle handle;
+
+		MethodHandleInstantiator(final MethodHandle handle) {
+			this.handle = handle;
+		}
+
+		@Override
+		public Object newInstance(final Object handler) {
+			try {
+				return (Object) handle.invokeExact(handler);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
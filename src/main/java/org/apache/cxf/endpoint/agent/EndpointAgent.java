@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.agent;
+
+import static net.bytebuddy.matcher.ElementMatchers.namedOneOf;
+
+import java.lang.instrument.Instrumentation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+
+/**
+ * 代理模式：在类加载时直接为已有的服务类添加构建器所生成的注解，再由 CXF 按普通的注解类发布，
+ * 不再生成单独的 {@link org.apache.cxf.endpoint.EndpointApi} 子类并经 InvocationHandler 转发，
+ * 每个服务少一个类与一次分发，业务方法可被 JIT 直接内联。
+ * <p>类以修饰（decorate）方式处理，只添加注解，方法体与类结构保持不变，因此也可以对已加载的类重新转换。</p>
+ * <pre>
+ * java -javaagent:cxf-endpoint.jar -jar app.jar	// 增强定义由 EndpointEnrichmentProvider 提供
+ * EndpointAgent.install(instrumentation, enrichments);	// 或在程序中安装
+ * </pre>
+ */
+public class EndpointAgent {
+
+	/**
+	 * 以 <code>-javaagent</code> 启动时调用，增强定义通过 {@link ServiceLoader} 从 {@link EndpointEnrichmentProvider} 读取
+	 */
+	public static void premain(final String arguments, final Instrumentation instrumentation) {
+		install(instrumentation, loadEnrichments());
+	}
+
+	/**
+	 * 运行时附加时调用，已加载的类会被重新转换
+	 */
+	public static void agentmain(final String arguments, final Instrumentation instrumentation) {
+		install(instrumentation, loadEnrichments());
+	}
+
+	/**
+	 * @param instrumentation 	：JVM 提供的 Instrumentation
+	 * @param enrichments 		：增强定义，每个类只能有一个
+	 * @return 已安装的转换器，可用于卸载
+	 */
+	public static ResettableClassFileTransformer install(final Instrumentation instrumentation,
+			final Collection<? extends EndpointEnrichment> enrichments) {
+
+		Map<String, EndpointEnrichment> byName = new LinkedHashMap<String, EndpointEnrichment>();
+		for (EndpointEnrichment enrichment : enrichments) {
+			if (byName.put(enrichment.getTypeName(), enrichment) != null) {
+				throw new IllegalArgumentException("Duplicate enrichment for " + enrichment.getTypeName());
+			}
+		}
+
+		return new AgentBuilder.Default()
+				.disableClassFormatChanges()
+				.with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+				.with(AgentBuilder.TypeStrategy.Default.DECORATE)
+				.type(namedOneOf(byName.keySet().toArray(new String[0])))
+				.transform((builder, type, classLoader, module, protectionDomain) -> byName.get(type.getName())
+						.enrich(builder, type))
+				.installOn(instrumentation);
+	}
+
+	protected static List<EndpointEnrichment> loadEnrichments() {
+		List<EndpointEnrichment> enrichments = new ArrayList<EndpointEnrichment>();
+		for (EndpointEnrichmentProvider provider : ServiceLoader.load(EndpointEnrichmentProvider.class)) {
+			enrichments.addAll(provider.getEnrichments());
+		}
+		return enrichments;
+	}
+
+}
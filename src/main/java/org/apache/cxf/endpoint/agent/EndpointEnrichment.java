@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.agent;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+/**
+ * 对已有服务类的增强：在类加载时添加与构建器相同的 <code>@WebService</code>、<code>@Path</code>、<code>@WebBound</code> 等注解，
+ * 只修改注解，不改变方法体
+ * @see EndpointAgent
+ */
+public interface EndpointEnrichment {
+
+	/**
+	 * @return 被增强的类的全名
+	 */
+	String getTypeName();
+
+	/**
+	 * @param builder 	：以修饰方式打开的类构建器，只能添加注解与 ASM 访问器
+	 * @param type 		：被增强的类
+	 * @return
+	 */
+	<T> DynamicType.Builder<T> enrich(DynamicType.Builder<T> builder, TypeDescription type);
+
+}
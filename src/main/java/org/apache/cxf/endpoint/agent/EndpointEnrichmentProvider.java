@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.agent;
+
+import java.util.Collection;
+
+/**
+ * 以 <code>-javaagent</code> 启动时的增强定义来源，可通过
+ * <code>META-INF/services/org.apache.cxf.endpoint.agent.EndpointEnrichmentProvider</code> 注册
+ * @see EndpointAgent#premain(String, java.lang.instrument.Instrumentation)
+ */
+public interface EndpointEnrichmentProvider {
+
+	Collection<EndpointEnrichment> getEnrichments();
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.agent;
+
+import static net.bytebuddy.matcher.ElementMatchers.annotationType;
+import static net.bytebuddy.matcher.ElementMatchers.declaresAnnotation;
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.cxf.endpoint.annotation.WebBound;
+import org.apache.cxf.endpoint.jaxrs.definition.RestBound;
+import org.apache.cxf.endpoint.jaxrs.definition.RestMethod;
+import org.apache.cxf.endpoint.jaxrs.definition.RestProduce;
+import org.apache.cxf.endpoint.utils.JaxrsEndpointApiUtils;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import net.bytebuddy.asm.MemberAttributeExtension;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+/**
+ * 把已有的类增强为 jaxrs 资源：添加 <code>@Path</code>、<code>@Produces</code>、<code>@WebBound</code>，
+ * 并为指定的公开方法添加 HTTP 方法、<code>@Path</code>、<code>@Produces</code>、<code>@Consumes</code> 注解；
+ * 类或方法上已有的同类注解保持不变
+ */
+public class RestEndpointEnrichment implements EndpointEnrichment {
+
+	private final String typeName;
+	private final RestProduce produce;
+	private RestBound bound;
+	private final List<RestMethod> methods = new ArrayList<RestMethod>();
+	private final List<RestBound> methodBounds = new ArrayList<RestBound>();
+
+	/**
+	 * @param typeName 	：被增强的类的全名
+	 * @param produce 	：类上 <code>@Path</code> 与 <code>@Produces</code> 的属性
+	 */
+	public RestEndpointEnrichment(final String typeName, final RestProduce produce) {
+		this.typeName = typeName;
+		this.produce = produce;
+	}
+
+	public RestEndpointEnrichment bind(final RestBound bound) {
+		this.bound = bound;
+		return this;
+	}
+
+	/**
+	 * @param method ：方法注解的属性，{@link RestMethod#getName()} 为类中公开方法的名称
+	 * @return
+	 */
+	public RestEndpointEnrichment method(final RestMethod method) {
+		return method(method, null);
+	}
+
+	/**
+	 * @param method 	：方法注解的属性，{@link RestMethod#getName()} 为类中公开方法的名称
+	 * @param bound 	：方法绑定的数据，可为 null
+	 * @return
+	 */
+	public RestEndpointEnrichment method(final RestMethod method, final RestBound bound) {
+		methods.add(method);
+		methodBounds.add(bound);
+		return this;
+	}
+
+	@Override
+	public String getTypeName() {
+		return typeName;
+	}
+
+	@Override
+	public <T> DynamicType.Builder<T> enrich(final DynamicType.Builder<T> builder, final TypeDescription type) {
+		DynamicType.Builder<T> enriched = builder;
+		if (!type.getDeclaredAnnotations().isAnnotationPresent(Path.class)) {
+			enriched = enriched.annotateType(JaxrsEndpointApiUtils.annotPath(produce.getPath()));
+		}
+		if (!type.getDeclaredAnnotations().isAnnotationPresent(Produces.class)) {
+			String[] mediaTypes = ArrayUtils.isNotEmpty(produce.getMediaTypes()) ? produce.getMediaTypes()
+					: new String[] { "*/*" };
+			enriched = enriched.annotateType(JaxrsEndpointApiUtils.annotProduces(mediaTypes));
+		}
+		if (bound != null && !type.getDeclaredAnnotations().isAnnotationPresent(WebBound.class)) {
+			enriched = enriched.annotateType(JaxrsEndpointApiUtils.annotWebBound(bound));
+		}
+		for (int i = 0; i < methods.size(); i++) {
+			RestMethod method = methods.get(i);
+			List<AnnotationDescription> annotations = new ArrayList<AnnotationDescription>();
+			annotations.add(JaxrsEndpointApiUtils.annotHttpMethod(method));
+			if (StringUtils.isNotBlank(method.getPath())) {
+				annotations.add(JaxrsEndpointApiUtils.annotMethodPath(method.getPath()));
+			}
+			annotations.add(JaxrsEndpointApiUtils.annotMethodProduces(method.getMediaTypes()));
+			if (ArrayUtils.isNotEmpty(method.getConsumes())) {
+				annotations.add(JaxrsEndpointApiUtils.annotConsumes(method.getConsumes()));
+			}
+			if (methodBounds.get(i) != null) {
+				annotations.add(JaxrsEndpointApiUtils.annotWebBound(methodBounds.get(i)));
+			}
+			// 已声明 HTTP 方法或 @Path 的方法保持不变
+			enriched = enriched.visit(new MemberAttributeExtension.ForMethod()
+					.annotateMethod(annotations)
+					.on(named(method.getName()).and(isPublic())
+							.and(not(declaresAnnotation(annotationType(isAnnotatedWith(HttpMethod.class)))))
+							.and(not(isAnnotatedWith(Path.class)))));
+		}
+		return enriched;
+	}
+
+}
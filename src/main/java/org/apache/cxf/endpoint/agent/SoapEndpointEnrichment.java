@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.agent;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cxf.endpoint.annotation.WebBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
+import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+import org.apache.cxf.endpoint.utils.JaxwsEndpointApiUtils;
+
+import jakarta.jws.WebMethod;
+import jakarta.jws.WebService;
+import net.bytebuddy.asm.MemberAttributeExtension;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+/**
+ * 把已有的类增强为 jaxws 服务：添加 <code>@WebService</code>、<code>@WebBound</code>，并为指定的公开方法添加 <code>@WebMethod</code>；
+ * 类或方法上已有的同类注解保持不变
+ */
+public class SoapEndpointEnrichment implements EndpointEnrichment {
+
+	private final String typeName;
+	private final SoapService service;
+	private SoapBound bound;
+	private final Map<String, List<AnnotationDescription>> methods = new LinkedHashMap<String, List<AnnotationDescription>>();
+
+	/**
+	 * @param typeName 	：被增强的类的全名
+	 * @param service 	：<code>@WebService</code> 的属性
+	 */
+	public SoapEndpointEnrichment(final String typeName, final SoapService service) {
+		this.typeName = typeName;
+		this.service = service;
+	}
+
+	public SoapEndpointEnrichment bind(final SoapBound bound) {
+		this.bound = bound;
+		return this;
+	}
+
+	/**
+	 * @param name 		：类中公开方法的名称，同名的重载方法都会被增强
+	 * @param method 	：<code>@WebMethod</code> 的属性
+	 * @return
+	 */
+	public SoapEndpointEnrichment method(final String name, final SoapMethod method) {
+		return method(name, method, null);
+	}
+
+	/**
+	 * @param name 		：类中公开方法的名称，同名的重载方法都会被增强
+	 * @param method 	：<code>@WebMethod</code> 的属性
+	 * @param bound 	：方法绑定的数据，可为 null
+	 * @return
+	 */
+	public SoapEndpointEnrichment method(final String name, final SoapMethod method, final SoapBound bound) {
+		List<AnnotationDescription> annotations = new ArrayList<AnnotationDescription>(2);
+		annotations.add(JaxwsEndpointApiUtils.annotWebMethod(method));
+		if (bound != null) {
+			annotations.add(JaxwsEndpointApiUtils.annotWebBound(bound));
+		}
+		methods.put(name, annotations);
+		return this;
+	}
+
+	@Override
+	public String getTypeName() {
+		return typeName;
+	}
+
+	@Override
+	public <T> DynamicType.Builder<T> enrich(final DynamicType.Builder<T> builder, final TypeDescription type) {
+		DynamicType.Builder<T> enriched = builder;
+		if (!type.getDeclaredAnnotations().isAnnotationPresent(WebService.class)) {
+			enriched = JaxwsEndpointApiUtils.annotWebService(enriched, service.getName(), service.getTargetNamespace(),
+					service.getServiceName(), service.getPortName(), service.getWsdlLocation(),
+					service.getEndpointInterface());
+		}
+		if (bound != null && !type.getDeclaredAnnotations().isAnnotationPresent(WebBound.class)) {
+			enriched = enriched.annotateType(JaxwsEndpointApiUtils.annotWebBound(bound));
+		}
+		for (Map.Entry<String, List<AnnotationDescription>> entry : methods.entrySet()) {
+			enriched = enriched.visit(new MemberAttributeExtension.ForMethod()
+					.annotateMethod(entry.getValue())
+					.on(named(entry.getKey()).and(isPublic()).and(not(isAnnotatedWith(WebMethod.class)))));
+		}
+		return enriched;
+	}
+
+}
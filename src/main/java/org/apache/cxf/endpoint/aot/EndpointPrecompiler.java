@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.aot;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
+import org.apache.cxf.endpoint.AbstractEndpointApiBuilder;
+import org.apache.cxf.endpoint.catalog.EndpointCatalog;
+import org.apache.cxf.endpoint.catalog.EndpointCatalogProvider;
+import org.apache.cxf.endpoint.catalog.EndpointDefinition;
+
+import net.bytebuddy.dynamic.DynamicType;
+
+/**
+ * 构建期预编译：读取服务目录，用现有的构建器生成动态类并写入 classes 目录，同时更新 {@link PrecompiledEndpoints#INDEX_RESOURCE} 索引。
+ * <p>须在使用方工程的类路径上运行（其中包含 EndpointCatalogProvider 的实现），例如在使用方的 pom.xml 中以
+ * exec-maven-plugin 在 process-classes 阶段执行，配置见 README；本工程的 aot profile 只用于本工程自身。</p>
+ * 参数：输出目录 [EndpointCatalogProvider 类名 ...]，未指定类名时通过 ServiceLoader 查找。
+ */
+public class EndpointPrecompiler {
+
+	private final File outputDirectory;
+
+	public EndpointPrecompiler(final File outputDirectory) {
+		this.outputDirectory = outputDirectory;
+	}
+
+	/**
+	 * 生成目录中的全部动态类
+	 * @param catalog ：服务目录
+	 * @return 本次写入的 定义指纹 -> 类名
+	 */
+	public Map<String, String> precompile(final EndpointCatalog catalog) throws IOException {
+		Map<String, String> compiled = new TreeMap<String, String>();
+		for (EndpointDefinition definition : catalog.getDefinitions()) {
+			AbstractEndpointApiBuilder<?> builder = definition.newBuilder();
+			String digest = builder.getFingerprint().digest();
+			if (compiled.containsKey(digest)) {
+				continue;
+			}
+			DynamicType.Unloaded<?> unloaded = builder.build();
+			unloaded.saveIn(outputDirectory);
+			compiled.put(digest, unloaded.getTypeDescription().getName());
+		}
+		writeIndex(compiled);
+		return compiled;
+	}
+
+	/**
+	 * 与已有索引合并后按索引键排序写入，保证多次构建的输出一致
+	 * @param compiled ：定义指纹 -> 类名
+	 */
+	protected void writeIndex(final Map<String, String> compiled) throws IOException {
+		File indexFile = new File(outputDirectory, PrecompiledEndpoints.INDEX_RESOURCE);
+		Map<String, String> index = new TreeMap<String, String>();
+		if (indexFile.isFile()) {
+			Properties existing = new Properties();
+			try (InputStream input = new FileInputStream(indexFile)) {
+				existing.load(input);
+			}
+			for (String key : existing.stringPropertyNames()) {
+				index.put(key, existing.getProperty(key));
+			}
+		}
+		for (Map.Entry<String, String> entry : compiled.entrySet()) {
+			index.put(PrecompiledEndpoints.key(entry.getKey()), entry.getValue());
+		}
+		Files.createDirectories(indexFile.getParentFile().toPath());
+		try (Writer writer = new OutputStreamWriter(Files.newOutputStream(indexFile.toPath()), StandardCharsets.ISO_8859_1)) {
+			for (Map.Entry<String, String> entry : index.entrySet()) {
+				writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+			}
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		if (args.length < 1) {
+			System.err.println("Usage: EndpointPrecompiler <outputDirectory> [EndpointCatalogProvider ...]");
+			System.exit(1);
+		}
+
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		List<EndpointCatalogProvider> providers = new ArrayList<EndpointCatalogProvider>();
+		for (int i = 1; i < args.length; i++) {
+			for (String className : args[i].split(",")) {
+				if (!className.trim().isEmpty()) {
+					providers.add((EndpointCatalogProvider) Class.forName(className.trim(), true, loader)
+							.getDeclaredConstructor().newInstance());
+				}
+			}
+		}
+		if (providers.isEmpty()) {
+			for (EndpointCatalogProvider provider : ServiceLoader.load(EndpointCatalogProvider.class, loader)) {
+				providers.add(provider);
+			}
+		}
+		if (providers.isEmpty()) {
+			System.err.println("No EndpointCatalogProvider found, nothing to precompile.");
+			return;
+		}
+
+		EndpointPrecompiler precompiler = new EndpointPrecompiler(new File(args[0]));
+		for (EndpointCatalogProvider provider : providers) {
+			Map<String, String> compiled = precompiler.precompile(provider.getCatalog());
+			System.out.println("Precompiled " + compiled.size() + " endpoint(s) from " + provider.getClass().getName());
+		}
+	}
+
+}
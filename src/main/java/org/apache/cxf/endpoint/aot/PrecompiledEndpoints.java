@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.aot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+
+import org.apache.cxf.endpoint.EndpointApiContext;
+import org.apache.cxf.endpoint.cache.EndpointApiFingerprint;
+
+import net.bytebuddy.ByteBuddy;
+
+/**
+ * 构建期预编译的动态类索引：{@link EndpointPrecompiler} 把生成的类写入 classes 目录，
+ * 并在 {@link #INDEX_RESOURCE} 中记录 索引键 = 类名；运行时指纹命中索引时直接加载预编译的类，跳过字节码生成。
+ * <p>索引键混入了 ByteBuddy 版本以及生成的类所用的类文件版本 {@link EndpointApiContext#CLASS_FILE_VERSION}，
+ * 升级 ByteBuddy 或改变类文件版本后旧的预编译类不再命中；与运行的 JVM 无关，在构建用的 JDK 上预编译、在更新的 JDK 上运行仍然命中。</p>
+ * <p>可通过系统属性 <code>-Dcxf.endpoint.precompiled=false</code> 关闭。</p>
+ */
+public class PrecompiledEndpoints {
+
+	public static final String INDEX_RESOURCE = "META-INF/cxf-endpoint/precompiled.index";
+	public static final String ENABLED_PROPERTY = "cxf.endpoint.precompiled";
+
+	private static final String SALT = ByteBuddy.class.getPackage().getImplementationVersion() + ":"
+			+ EndpointApiContext.CLASS_FILE_VERSION.getJavaVersion();
+
+	private static final Map<ClassLoader, Properties> INDEXES = Collections
+			.synchronizedMap(new WeakHashMap<ClassLoader, Properties>());
+
+	/**
+	 * 查找预编译的类
+	 * @param digest ：定义指纹摘要
+	 * @param loader ：类加载器
+	 * @return 预编译的类，不存在时返回 null
+	 */
+	public static Class<?> lookup(final String digest, final ClassLoader loader) {
+		if (loader == null || !isEnabled()) {
+			return null;
+		}
+		String className = index(loader).getProperty(key(digest));
+		if (className == null) {
+			return null;
+		}
+		try {
+			return Class.forName(className, true, loader);
+		} catch (ClassNotFoundException | LinkageError e) {
+			// 索引与 classes 目录不一致或类文件无法链接时退回运行时生成
+			return null;
+		}
+	}
+
+	/**
+	 * @param digest ：定义指纹摘要
+	 * @return 索引中使用的键
+	 */
+	public static String key(final String digest) {
+		return EndpointApiFingerprint.sha256(SALT + "\n" + digest);
+	}
+
+	public static boolean isEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+	}
+
+	/**
+	 * 读取类加载器可见的全部索引，结果按类加载器缓存
+	 */
+	protected static Properties index(final ClassLoader loader) {
+		Properties index = INDEXES.get(loader);
+		if (index == null) {
+			index = load(loader);
+			INDEXES.put(loader, index);
+		}
+		return index;
+	}
+
+	public static Properties load(final ClassLoader loader) {
+		Properties index = new Properties();
+		try {
+			Enumeration<URL> resources = loader.getResources(INDEX_RESOURCE);
+			while (resources.hasMoreElements()) {
+				try (InputStream input = resources.nextElement().openStream()) {
+					index.load(input);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read " + INDEX_RESOURCE, e);
+		}
+		return index;
+	}
+
+	/**
+	 * 清除已缓存的索引，类路径变化后重新读取
+	 */
+	public static void reset() {
+		INDEXES.clear();
+	}
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+
+/**
+ * 动态类的 jar 归档：把运行时生成的类保存为一个内容确定的 jar，下次启动时通过
+ * {@link EndpointApiArchiveClassLoader} 从 jar 中加载。
+ * <p>从字节数组定义的类没有来源位置，无法被 CDS 归档；从 jar 加载的类可以被
+ * <code>-XX:ArchiveClassesAtExit</code> 写入动态 CDS 归档，此后启动时跳过类的解析与校验。</p>
+ * <p>类名由定义指纹决定，同一定义生成的字节码相同；jar 中的条目按名称排序并使用固定的时间戳，
+ * 相同的定义集合总是得到相同的 jar，各节点可以共用同一个 CDS 归档。</p>
+ * <p>可通过系统属性 <code>-Dcxf.endpoint.archive=/path/endpoints.jar</code> 启用默认的归档，进程退出时保存。</p>
+ */
+public class EndpointApiArchive {
+
+	public static final String FILE_PROPERTY = "cxf.endpoint.archive";
+	public static final String INDEX_ENTRY = "META-INF/cxf-endpoint/archive.index";
+	// 固定的条目时间，按本地时间写入，不受时区影响
+	private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+
+	private static volatile EndpointApiArchive defaultArchive;
+
+	private final Path file;
+	// 定义指纹 -> 主类名
+	private Map<String, String> index;
+	// 本次启动中新生成、尚未保存的类：定义指纹 -> (类名 -> 字节码)
+	private final Map<String, Map<String, byte[]>> pending = new TreeMap<String, Map<String, byte[]>>();
+	private final Map<ClassLoader, EndpointApiArchiveClassLoader> loaders = new WeakHashMap<ClassLoader, EndpointApiArchiveClassLoader>();
+
+	public EndpointApiArchive(final File file) {
+		this.file = file.toPath();
+	}
+
+	/**
+	 * @return 通过系统属性 {@value #FILE_PROPERTY} 配置的归档，未配置时返回 null
+	 */
+	public static EndpointApiArchive getDefault() {
+		String file = System.getProperty(FILE_PROPERTY);
+		if (file == null || file.trim().isEmpty()) {
+			return null;
+		}
+		EndpointApiArchive archive = defaultArchive;
+		if (archive == null || !archive.file.equals(new File(file).toPath())) {
+			synchronized (EndpointApiArchive.class) {
+				archive = defaultArchive;
+				if (archive == null || !archive.file.equals(new File(file).toPath())) {
+					EndpointApiArchive created = new EndpointApiArchive(new File(file));
+					Runtime.getRuntime().addShutdownHook(new Thread(created::saveQuietly, "endpoint-archive"));
+					archive = defaultArchive = created;
+				}
+			}
+		}
+		return archive;
+	}
+
+	/**
+	 * 从归档中加载主类；同一父加载器下的归档类共用一个类加载器
+	 * @param fingerprint 	：定义指纹摘要
+	 * @param parent 		：父类加载器
+	 * @return 未经初始化的主类，不存在时返回 null
+	 */
+	public Class<?> load(final String fingerprint, final ClassLoader parent) {
+		EndpointApiArchiveClassLoader loader;
+		String className;
+		synchronized (this) {
+			className = index().get(fingerprint);
+			if (className == null) {
+				return null;
+			}
+			loader = loaders.get(parent);
+			if (loader == null) {
+				loader = new EndpointApiArchiveClassLoader(url(), parent);
+				loaders.put(parent, loader);
+			}
+		}
+		try {
+			return loader.loadClass(className);
+		} catch (ClassNotFoundException | LinkageError e) {
+			// 归档与索引不一致时退回运行时生成
+			return null;
+		}
+	}
+
+	/**
+	 * 记录新生成的类，调用 {@link #save()} 后写入归档
+	 * @param fingerprint 	：定义指纹摘要
+	 * @param unloaded 		：生成的动态类
+	 */
+	public void add(final String fingerprint, final DynamicType.Unloaded<?> unloaded) {
+		Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+		types.put(unloaded.getTypeDescription().getName(), unloaded.getBytes());
+		for (Map.Entry<TypeDescription, byte[]> entry : unloaded.getAuxiliaryTypes().entrySet()) {
+			types.put(entry.getKey().getName(), entry.getValue());
+		}
+		add(fingerprint, types);
+	}
+
+	public synchronized void add(final String fingerprint, final Map<String, byte[]> types) {
+		if (!index().containsKey(fingerprint)) {
+			pending.put(fingerprint, types);
+		}
+	}
+
+	/**
+	 * 合并已有的归档与新生成的类，写入新的 jar；先写入临时文件再原子替换
+	 * @return 新增的定义数量
+	 */
+	public synchronized int save() throws IOException {
+		if (pending.isEmpty()) {
+			return 0;
+		}
+		Map<String, String> merged = new TreeMap<String, String>(index());
+		Map<String, byte[]> entries = new TreeMap<String, byte[]>(readEntries());
+		for (Map.Entry<String, Map<String, byte[]>> entry : pending.entrySet()) {
+			merged.put(entry.getKey(), entry.getValue().keySet().iterator().next());
+			for (Map.Entry<String, byte[]> type : entry.getValue().entrySet()) {
+				entries.put(type.getKey().replace('.', '/') + ".class", type.getValue());
+			}
+		}
+		StringBuilder text = new StringBuilder();
+		for (Map.Entry<String, String> entry : merged.entrySet()) {
+			text.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+		}
+		entries.put(INDEX_ENTRY, text.toString().getBytes(StandardCharsets.UTF_8));
+
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, "archive", ".tmp");
+		try {
+			try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(temp))) {
+				for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+					JarEntry jarEntry = new JarEntry(entry.getKey());
+					jarEntry.setTimeLocal(ENTRY_TIME);
+					output.putNextEntry(jarEntry);
+					output.write(entry.getValue());
+					output.closeEntry();
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		int added = pending.size();
+		pending.clear();
+		// 已创建的类加载器仍使用旧的 jar，新增的类在下次启动时从归档加载
+		index = Collections.unmodifiableMap(merged);
+		return added;
+	}
+
+	/**
+	 * @return 归档中的定义数量，不含未保存的类
+	 */
+	public synchronized int size() {
+		return index().size();
+	}
+
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	private void saveQuietly() {
+		try {
+			save();
+		} catch (IOException e) {
+			// 归档保存失败不影响进程退出
+		}
+	}
+
+	private Map<String, String> index() {
+		if (index == null) {
+			index = Collections.unmodifiableMap(readIndex());
+		}
+		return index;
+	}
+
+	private Map<String, String> readIndex() {
+		Map<String, String> entries = new TreeMap<String, String>();
+		if (!Files.isRegularFile(file)) {
+			return entries;
+		}
+		try (JarFile jar = new JarFile(file.toFile())) {
+			JarEntry entry = jar.getJarEntry(INDEX_ENTRY);
+			if (entry == null) {
+				return entries;
+			}
+			try (InputStream input = jar.getInputStream(entry)) {
+				for (String line : new String(readAll(input), StandardCharsets.UTF_8).split("\n")) {
+					int separator = line.indexOf('=');
+					if (separator > 0) {
+						entries.put(line.substring(0, separator), line.substring(separator + 1).trim());
+					}
+				}
+			}
+		} catch (IOException e) {
+			// 损坏的归档视为空，保存时整体重写
+			entries.clear();
+		}
+		return entries;
+	}
+
+	private Map<String, byte[]> readEntries() {
+		Map<String, byte[]> entries = new TreeMap<String, byte[]>();
+		if (!Files.isRegularFile(file) || index().isEmpty()) {
+			return entries;
+		}
+		try (JarFile jar = new JarFile(file.toFile())) {
+			Enumeration<JarEntry> it = jar.entries();
+			while (it.hasMoreElements()) {
+				JarEntry entry = it.nextElement();
+				if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+					try (InputStream input = jar.getInputStream(entry)) {
+						entries.put(entry.getName(), readAll(input));
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read endpoint archive " + file, e);
+		}
+		return entries;
+	}
+
+	private URL url() {
+		try {
+			return file.toUri().toURL();
+		} catch (MalformedURLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] readAll(final InputStream input) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		byte[] chunk = new byte[8192];
+		int read;
+		while ((read = input.read(chunk)) != -1) {
+			buffer.write(chunk, 0, read);
+		}
+		return buffer.toByteArray();
+	}
+
+}
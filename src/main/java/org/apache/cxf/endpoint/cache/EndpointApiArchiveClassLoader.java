@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.cache;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * 从 {@link EndpointApiArchive} 的 jar 中加载动态类。
+ * <p>类带有 jar 的来源位置，可以被动态 CDS 归档（<code>-XX:ArchiveClassesAtExit</code>）收录；
+ * 使用 CDS 归档启动时，JVM 直接从归档中取得已解析、已校验的类。</p>
+ */
+public class EndpointApiArchiveClassLoader extends URLClassLoader {
+
+	static {
+		registerAsParallelCapable();
+	}
+
+	public EndpointApiArchiveClassLoader(final URL archive, final ClassLoader parent) {
+		super(new URL[] { archive }, parent);
+	}
+
+}
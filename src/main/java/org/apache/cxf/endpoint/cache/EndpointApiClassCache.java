@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 已生成动态类的缓存，以 {@link EndpointApiFingerprint#digest()} 为键；
+ * 相同定义的重复构建直接返回已加载的 Class，不再重新生成字节码
+ * <p>每个键保存一个 {@link CompletableFuture}：生成在映射之外执行，
+ * 不会占用 ConcurrentHashMap 的桶锁阻塞其它指纹；同一指纹的并发调用等待同一个结果。</p>
+ */
+public class EndpointApiClassCache {
+
+	private static final EndpointApiClassCache DEFAULT = new EndpointApiClassCache();
+
+	private final ConcurrentMap<String, CompletableFuture<Class<?>>> classes = new ConcurrentHashMap<>();
+
+	/**
+	 * @return 构建器默认使用的全局缓存
+	 */
+	public static EndpointApiClassCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * 获取指纹对应的类，不存在时调用 generator 生成；同一指纹的并发调用只会生成一次，
+	 * 生成失败时不缓存结果，下一次调用重新生成
+	 * @param fingerprint ：定义指纹摘要
+	 * @param generator   ：类生成逻辑
+	 * @return
+	 */
+	public Class<?> get(final String fingerprint, final Function<String, Class<?>> generator) {
+		CompletableFuture<Class<?>> future = classes.get(fingerprint);
+		if (future == null) {
+			CompletableFuture<Class<?>> created = new CompletableFuture<>();
+			future = classes.putIfAbsent(fingerprint, created);
+			if (future == null) {
+				try {
+					Class<?> type = generator.apply(fingerprint);
+					created.complete(type);
+					return type;
+				} catch (RuntimeException | Error e) {
+					classes.remove(fingerprint, created);
+					created.completeExceptionally(e);
+					throw e;
+				}
+			}
+		}
+		return join(future);
+	}
+
+	/**
+	 * @return 已生成完成的类；不存在或仍在生成中时返回 null
+	 */
+	public Class<?> getIfPresent(final String fingerprint) {
+		return getNow(classes.get(fingerprint));
+	}
+
+	public void put(final String fingerprint, final Class<?> type) {
+		classes.put(fingerprint, CompletableFuture.completedFuture(type));
+	}
+
+	/**
+	 * @return 已存在的类，不存在时保存 type 并返回 type
+	 */
+	public Class<?> putIfAbsent(final String fingerprint, final Class<?> type) {
+		CompletableFuture<Class<?>> existing = classes.putIfAbsent(fingerprint, CompletableFuture.completedFuture(type));
+		return existing != null ? join(existing) : type;
+	}
+
+	public Class<?> remove(final String fingerprint) {
+		return getNow(classes.remove(fingerprint));
+	}
+
+	public void clear() {
+		classes.clear();
+	}
+
+	public int size() {
+		return classes.size();
+	}
+
+	private static Class<?> getNow(final CompletableFuture<Class<?>> future) {
+		if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+			return null;
+		}
+		return future.join();
+	}
+
+	private static Class<?> join(final CompletableFuture<Class<?>> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			// 抛出生成线程的原始异常
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+
+/**
+ * 动态类字节码的磁盘缓存：以定义指纹为键保存生成的字节码，重启后定义未变化的服务直接加载，不再重新生成。
+ * <p>缓存键混入了缓存格式、ByteBuddy 版本以及 JVM 版本，升级后旧的缓存自然失效，可通过 {@link #evictUnused()}、
+ * {@link #evictOlderThan(long)} 清理。</p>
+ * <p>可通过系统属性 <code>-Dcxf.endpoint.cache.dir=/path</code> 启用默认的磁盘缓存。</p>
+ * <p>多个节点可以共享同一目录读写缓存，但 {@link #evictUnused()} 只适用于由一个节点独占的目录，
+ * 共享目录应由各节点按需调用 {@link #evictOlderThan(long)}。</p>
+ */
+public class EndpointApiDiskCache {
+
+	public static final String DIRECTORY_PROPERTY = "cxf.endpoint.cache.dir";
+	private static final String SUFFIX = ".endpoint";
+	private static final int MAGIC = 0xEA91CAC4;
+	private static final int FORMAT = 1;
+
+	private static volatile EndpointApiDiskCache defaultCache;
+
+	private final Path directory;
+	private final String salt;
+	// 本次启动中读取或写入过的缓存文件
+	private final Set<Path> used = ConcurrentHashMap.newKeySet();
+
+	public EndpointApiDiskCache(final File directory) {
+		this.directory = directory.toPath();
+		this.salt = FORMAT + ":" + ByteBuddy.class.getPackage().getImplementationVersion() + ":"
+				+ ClassFileVersion.ofThisVm().getJavaVersion();
+	}
+
+	/**
+	 * @return 通过系统属性 {@value #DIRECTORY_PROPERTY} 配置的磁盘缓存，未配置时返回 null
+	 */
+	public static EndpointApiDiskCache getDefault() {
+		String directory = System.getProperty(DIRECTORY_PROPERTY);
+		if (directory == null || directory.trim().isEmpty()) {
+			return null;
+		}
+		EndpointApiDiskCache cache = defaultCache;
+		if (cache == null || !cache.directory.equals(new File(directory).toPath())) {
+			synchronized (EndpointApiDiskCache.class) {
+				cache = defaultCache;
+				if (cache == null || !cache.directory.equals(new File(directory).toPath())) {
+					cache = defaultCache = new EndpointApiDiskCache(new File(directory));
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * 读取缓存的字节码，内容损坏或格式不符的缓存文件会被删除；文件暂时无法读取时只返回 null
+	 * @param fingerprint ：定义指纹摘要
+	 * @return 类名 -> 字节码，第一个为主类；不存在时返回 null
+	 */
+	public Map<String, byte[]> read(final String fingerprint) {
+		Path file = path(fingerprint);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		Map<String, byte[]> types;
+		try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+			types = read(input, fingerprint);
+		} catch (EOFException | UTFDataFormatException e) {
+			// 文件不完整
+			types = null;
+		} catch (IOException e) {
+			return null;
+		}
+		if (types == null) {
+			delete(file);
+			return null;
+		}
+		used.add(file);
+		try {
+			touch(file);
+		} catch (IOException e) {
+			// 只读或共享的目录可能无法更新修改时间，不影响缓存的使用
+		}
+		return Collections.unmodifiableMap(types);
+	}
+
+	/**
+	 * @return 类名 -> 字节码，内容与格式不符时返回 null
+	 */
+	private Map<String, byte[]> read(final DataInputStream input, final String fingerprint) throws IOException {
+		if (input.readInt() != MAGIC || !fingerprint.equals(input.readUTF())) {
+			return null;
+		}
+		int count = input.readInt();
+		if (count < 0) {
+			return null;
+		}
+		Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+		for (int i = 0; i < count; i++) {
+			String name = input.readUTF();
+			int length = input.readInt();
+			if (length < 0) {
+				return null;
+			}
+			byte[] bytes = new byte[length];
+			input.readFully(bytes);
+			types.put(name, bytes);
+		}
+		return types;
+	}
+
+	/**
+	 * 更新缓存文件的修改时间，作为 {@link #evictOlderThan(long)} 的依据
+	 */
+	protected void touch(final Path file) throws IOException {
+		Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+	}
+
+	/**
+	 * 从缓存中加载主类
+	 * @param fingerprint 	：定义指纹摘要
+	 * @param parent 		：父类加载器
+	 * @return 未经初始化的主类，不存在时返回 null
+	 */
+	public Class<?> load(final String fingerprint, final ClassLoader parent) {
+		Map<String, byte[]> types = read(fingerprint);
+		if (types == null) {
+			return null;
+		}
+		try {
+			return new ByteArrayClassLoader(parent, types).loadClass(types.keySet().iterator().next());
+		} catch (ClassNotFoundException | LinkageError e) {
+			delete(path(fingerprint));
+			return null;
+		}
+	}
+
+	/**
+	 * 保存生成的字节码；先写入临时文件再原子替换，多个进程共享目录时不会读到不完整的文件
+	 * @param fingerprint 	：定义指纹摘要
+	 * @param unloaded 		：生成的动态类
+	 */
+	public void write(final String fingerprint, final DynamicType.Unloaded<?> unloaded) {
+		Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+		types.put(unloaded.getTypeDescription().getName(), unloaded.getBytes());
+		for (Map.Entry<TypeDescription, byte[]> entry : unloaded.getAuxiliaryTypes().entrySet()) {
+			types.put(entry.getKey().getName(), entry.getValue());
+		}
+		write(fingerprint, types);
+	}
+
+	public void write(final String fingerprint, final Map<String, byte[]> types) {
+		Path file = path(fingerprint);
+		Path temp = null;
+		try {
+			Files.createDirectories(directory);
+			temp = Files.createTempFile(directory, "entry", ".tmp");
+			try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temp))) {
+				output.writeInt(MAGIC);
+				output.writeUTF(fingerprint);
+				output.writeInt(types.size());
+				for (Map.Entry<String, byte[]> entry : types.entrySet()) {
+					output.writeUTF(entry.getKey());
+					output.writeInt(entry.getValue().length);
+					output.write(entry.getValue());
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			used.add(file);
+		} catch (IOException e) {
+			// 缓存写入失败不影响服务的生成
+			if (temp != null) {
+				delete(temp);
+			}
+		}
+	}
+
+	public void remove(final String fingerprint) {
+		delete(path(fingerprint));
+	}
+
+	/**
+	 * 删除本次启动中未被使用的缓存，通常在全部服务注册完成后调用。
+	 * <p>只适用于由当前节点独占的目录：其他节点写入或正在使用的缓存在本节点看来同样“未被使用”，也会被删除。
+	 * 多个节点共享目录时改用 {@link #evictOlderThan(long)}。</p>
+	 * @return 删除的文件数量
+	 */
+	public int evictUnused() {
+		return evict(Long.MAX_VALUE, true);
+	}
+
+	/**
+	 * 删除超过指定时间未被使用的缓存
+	 * @param maxIdleMillis ：最长空闲时间（毫秒）
+	 * @return 删除的文件数量
+	 */
+	public int evictOlderThan(final long maxIdleMillis) {
+		return evict(maxIdleMillis, false);
+	}
+
+	protected int evict(final long maxIdleMillis, final boolean unusedOnly) {
+		if (!Files.isDirectory(directory)) {
+			return 0;
+		}
+		long now = System.currentTimeMillis();
+		int evicted = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+			for (Path file : files) {
+				boolean stale = unusedOnly ? !used.contains(file)
+						: now - Files.getLastModifiedTime(file).toMillis() > maxIdleMillis;
+				if (stale && delete(file)) {
+					evicted++;
+				}
+			}
+		} catch (IOException e) {
+			// 忽略清理失败
+		}
+		return evicted;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	protected Path path(final String fingerprint) {
+		return directory.resolve(EndpointApiFingerprint.sha256(salt + "\n" + fingerprint) + SUFFIX);
+	}
+
+	private boolean delete(final Path file) {
+		used.remove(file);
+		try {
+			return Files.deleteIfExists(file);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+}
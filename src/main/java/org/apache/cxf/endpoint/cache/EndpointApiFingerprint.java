@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.cache;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 动态类的结构指纹：按调用顺序记录构建器收到的全部定义信息（注解、方法签名、绑定数据），
+ * 相同的定义会得到相同的规范文本与摘要，可作为已生成类的缓存键
+ */
+public class EndpointApiFingerprint {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * 规范化的定义文本，每个定义元素占一行
+	 */
+	private final StringBuilder canonical = new StringBuilder();
+	/**
+	 * 摘要缓存，定义发生变化时清空
+	 */
+	private String digest;
+
+	/**
+	 * 追加一个定义元素
+	 * @param element ：元素名称，如 webService、method、param
+	 * @param values  ：元素的属性值
+	 * @return
+	 */
+	public synchronized EndpointApiFingerprint append(final String element, final Object... values) {
+		canonical.append(element).append('(');
+		if (values != null) {
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) {
+					canonical.append(',');
+				}
+				appendValue(values[i]);
+			}
+		}
+		canonical.append(')').append('\n');
+		digest = null;
+		return this;
+	}
+
+	private void appendValue(final Object value) {
+		if (value == null) {
+			canonical.append("null");
+		} else if (value instanceof Class) {
+			canonical.append(((Class<?>) value).getName());
+		} else if (value instanceof Enum) {
+			Enum<?> constant = (Enum<?>) value;
+			canonical.append(constant.getDeclaringClass().getName()).append('.').append(constant.name());
+		} else if (value.getClass().isArray()) {
+			canonical.append('[');
+			int length = Array.getLength(value);
+			for (int i = 0; i < length; i++) {
+				if (i > 0) {
+					canonical.append(',');
+				}
+				appendValue(Array.get(value, i));
+			}
+			canonical.append(']');
+		} else if (value instanceof CharSequence) {
+			// 字符串加引号并转义，避免 "a,b" 与 "a","b" 产生相同的文本
+			canonical.append('"');
+			CharSequence text = (CharSequence) value;
+			for (int i = 0; i < text.length(); i++) {
+				char ch = text.charAt(i);
+				if (ch == '"' || ch == '\\') {
+					canonical.append('\\');
+				}
+				canonical.append(ch);
+			}
+			canonical.append('"');
+		} else {
+			canonical.append(value);
+		}
+	}
+
+	/**
+	 * @return 规范文本的 SHA-256 摘要（十六进制小写）
+	 */
+	public synchronized String digest() {
+		if (digest == null) {
+			digest = sha256(canonical.toString());
+		}
+		return digest;
+	}
+
+	/**
+	 * @return 已追加的定义元素是否为空
+	 */
+	public synchronized boolean isEmpty() {
+		return canonical.length() == 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return canonical.toString();
+	}
+
+	public static String sha256(final String text) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] bytes = messageDigest.digest(text.getBytes(StandardCharsets.UTF_8));
+			char[] chars = new char[bytes.length * 2];
+			for (int i = 0; i < bytes.length; i++) {
+				chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+				chars[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+			}
+			return new String(chars);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+		}
+	}
+
+}
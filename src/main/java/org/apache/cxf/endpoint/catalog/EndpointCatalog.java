@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 服务目录：按登记顺序保存服务定义，生成后的加载与发布也按此顺序进行
+ */
+public class EndpointCatalog {
+
+	private final List<EndpointDefinition> definitions = new ArrayList<EndpointDefinition>();
+	private final Set<String> ids = new HashSet<String>();
+
+	public EndpointCatalog add(final EndpointDefinition definition) {
+		if (!ids.add(definition.getId())) {
+			throw new IllegalArgumentException("Duplicate endpoint id: " + definition.getId());
+		}
+		definitions.add(definition);
+		return this;
+	}
+
+	public List<EndpointDefinition> getDefinitions() {
+		return Collections.unmodifiableList(definitions);
+	}
+
+	public int size() {
+		return definitions.size();
+	}
+
+}
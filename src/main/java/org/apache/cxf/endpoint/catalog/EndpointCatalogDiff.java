@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cxf.endpoint.AbstractEndpointApiBuilder;
+import org.apache.cxf.endpoint.EndpointBound;
+
+/**
+ * 两个版本服务目录的差异：按服务标识对比构建器的结构指纹与绑定数据，只有新增或发生变化的服务需要重新生成，
+ * 未变化的服务保留已生成的类及其已经预热的 JIT 代码。
+ * <p>JVM 不支持为已加载的类增删方法，因此比较的粒度为服务类：一个方法的变化会重新生成该服务所在的类，
+ * 但不会影响目录中的其他服务。</p>
+ * <pre>
+ * EndpointCatalogDiff diff = EndpointCatalogDiff.compare(previous, current);
+ * registry.update(diff, definition -&gt; handler);
+ * </pre>
+ */
+public final class EndpointCatalogDiff {
+
+	private final List<EndpointDefinition> added = new ArrayList<EndpointDefinition>();
+	private final List<EndpointDefinition> changed = new ArrayList<EndpointDefinition>();
+	private final List<EndpointDefinition> unchanged = new ArrayList<EndpointDefinition>();
+	private final List<EndpointDefinition> removed = new ArrayList<EndpointDefinition>();
+	// 比较时已填充的构建器，重新生成时直接使用
+	private final Map<String, AbstractEndpointApiBuilder<?>> builders = new HashMap<String, AbstractEndpointApiBuilder<?>>();
+
+	private EndpointCatalogDiff() {
+	}
+
+	/**
+	 * 比较两个版本的服务目录，只填充构建器，不生成字节码
+	 * @param previous 	：当前已发布的目录，可为 null
+	 * @param current 	：新的目录
+	 * @return
+	 */
+	public static EndpointCatalogDiff compare(final EndpointCatalog previous, final EndpointCatalog current) {
+
+		EndpointCatalogDiff diff = new EndpointCatalogDiff();
+		Map<String, EndpointDefinition> remaining = new LinkedHashMap<String, EndpointDefinition>();
+		if (previous != null) {
+			for (EndpointDefinition definition : previous.getDefinitions()) {
+				remaining.put(definition.getId(), definition);
+			}
+		}
+
+		for (EndpointDefinition definition : current.getDefinitions()) {
+			EndpointDefinition before = remaining.remove(definition.getId());
+			AbstractEndpointApiBuilder<?> builder = definition.newBuilder();
+			if (before == null) {
+				diff.added.add(definition);
+				diff.builders.put(definition.getId(), builder);
+			} else if (!key(before.newBuilder()).equals(key(builder))) {
+				diff.changed.add(definition);
+				diff.builders.put(definition.getId(), builder);
+			} else {
+				diff.unchanged.add(definition);
+			}
+		}
+		diff.removed.addAll(remaining.values());
+		return diff;
+	}
+
+	/**
+	 * 结构指纹相同时类可以共用，模板模式下绑定数据不在指纹中，还须比较绑定数据
+	 */
+	private static String key(final AbstractEndpointApiBuilder<?> builder) {
+		EndpointBound bound = builder.getBound();
+		return builder.getFingerprint().digest() + '\n' + bound.getUid() + '\n' + bound.getJson();
+	}
+
+	/**
+	 * @param definition ：新增或发生变化的服务定义
+	 * @return 比较时已填充的构建器，只能使用一次，再次调用时创建新的构建器
+	 */
+	public AbstractEndpointApiBuilder<?> newBuilder(final EndpointDefinition definition) {
+		AbstractEndpointApiBuilder<?> builder;
+		synchronized (builders) {
+			builder = builders.remove(definition.getId());
+		}
+		return builder != null ? builder : definition.newBuilder();
+	}
+
+	public List<EndpointDefinition> getAdded() {
+		return Collections.unmodifiableList(added);
+	}
+
+	public List<EndpointDefinition> getChanged() {
+		return Collections.unmodifiableList(changed);
+	}
+
+	public List<EndpointDefinition> getUnchanged() {
+		return Collections.unmodifiableList(unchanged);
+	}
+
+	/**
+	 * @return 旧目录中存在、新目录中已删除的服务定义
+	 */
+	public List<EndpointDefinition> getRemoved() {
+		return Collections.unmodifiableList(removed);
+	}
+
+	/**
+	 * @return 两个目录是否完全一致
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "EndpointCatalogDiff[added=" + added.size() + ", changed=" + changed.size() + ", removed="
+				+ removed.size() + ", unchanged=" + unchanged.size() + "]";
+	}
+
+}
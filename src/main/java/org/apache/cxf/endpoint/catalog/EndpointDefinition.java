@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.catalog;
+
+import org.apache.cxf.endpoint.AbstractEndpointApiBuilder;
+
+/**
+ * 服务定义：描述一个待生成的动态服务类，可在任意线程中创建对应的构建器
+ */
+public interface EndpointDefinition {
+
+	/**
+	 * @return 服务标识，用于发布及日志
+	 */
+	String getId();
+
+	/**
+	 * 创建并填充构建器，每次调用返回新的构建器
+	 * @return
+	 */
+	AbstractEndpointApiBuilder<?> newBuilder();
+
+}
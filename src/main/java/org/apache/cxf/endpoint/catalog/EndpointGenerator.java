@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.apache.cxf.endpoint.AbstractEndpointApiBuilder;
+import org.apache.cxf.endpoint.EndpointApiBatch;
+import org.apache.cxf.endpoint.jfr.EndpointGenerationEvent;
+
+/**
+ * 启动期的服务生成引擎：
+ * <ol>
+ * <li>在 ForkJoin 线程池中并行创建构建器并生成字节码；</li>
+ * <li>在调用线程中按目录顺序把全部类加载到同一个类加载器；</li>
+ * <li>按目录顺序逐个发布。</li>
+ * </ol>
+ * 字节码的生成占启动时间的大部分，而类的加载与发布保持确定的顺序，便于排查问题。
+ */
+public class EndpointGenerator {
+
+	private final ForkJoinPool pool;
+	private final ClassLoader parent;
+
+	public EndpointGenerator() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public EndpointGenerator(final ForkJoinPool pool) {
+		this(pool, EndpointGenerator.class.getClassLoader());
+	}
+
+	/**
+	 * @param pool 		：生成字节码使用的线程池
+	 * @param parent 	：共享类加载器的父加载器，须能访问处理器类型
+	 */
+	public EndpointGenerator(final ForkJoinPool pool, final ClassLoader parent) {
+		this.pool = pool;
+		this.parent = parent;
+	}
+
+	/**
+	 * 生成并加载目录中的全部服务
+	 * @param catalog ：服务目录
+	 * @return 按目录顺序排列的服务定义与生成的类
+	 */
+	public Map<EndpointDefinition, Class<?>> generate(final EndpointCatalog catalog) {
+
+		List<EndpointDefinition> definitions = catalog.getDefinitions();
+		// 构建器的填充同样耗时，与字节码生成一起并行
+		List<AbstractEndpointApiBuilder<?>> builders = pool.submit(() -> definitions.parallelStream()
+				.<AbstractEndpointApiBuilder<?>>map(EndpointDefinition::newBuilder)
+				.collect(Collectors.toList())).join();
+
+		List<Class<?>> classes = new EndpointApiBatch(parent).parallel(pool).addAll(builders).toClasses();
+
+		Map<EndpointDefinition, Class<?>> generated = new LinkedHashMap<EndpointDefinition, Class<?>>();
+		for (int i = 0; i < definitions.size(); i++) {
+			generated.put(definitions.get(i), classes.get(i));
+		}
+		return Collections.unmodifiableMap(generated);
+	}
+
+	/**
+	 * 生成、加载并按目录顺序发布全部服务
+	 * @param catalog 	：服务目录
+	 * @param publisher ：发布方式
+	 * @return 按目录顺序排列的生成类
+	 * @throws Exception 发布失败时抛出，此前的服务已发布
+	 */
+	public List<Class<?>> publish(final EndpointCatalog catalog, final EndpointPublisher publisher) throws Exception {
+		Map<EndpointDefinition, Class<?>> generated = generate(catalog);
+		List<Class<?>> classes = new ArrayList<Class<?>>(generated.size());
+		for (Map.Entry<EndpointDefinition, Class<?>> entry : generated.entrySet()) {
+			EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.PUBLISH);
+			publisher.publish(entry.getKey(), entry.getValue());
+			event.commit(entry.getValue().getName(), null, 0, null);
+			classes.add(entry.getValue());
+		}
+		return classes;
+	}
+
+}
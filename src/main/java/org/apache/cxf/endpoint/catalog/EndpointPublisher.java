@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.catalog;
+
+/**
+ * 服务发布：由使用方实现，例如通过 CXF 的 JaxWsServerFactoryBean 或 JAXRSServerFactoryBean 发布生成的类
+ */
+public interface EndpointPublisher {
+
+	/**
+	 * 模板模式下多个服务共用一个生成类，应按服务创建实例以注入各自的绑定数据：
+	 * <pre>
+	 * AbstractEndpointApiBuilder.newInstance(endpointClass, handlerType, handler, EndpointBound.of(uid, json));
+	 * </pre>
+	 * @param definition 	：服务定义
+	 * @param endpointClass ：生成的动态类
+	 */
+	void publish(EndpointDefinition definition, Class<?> endpointClass) throws Exception;
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.dispatch.EndpointDispatch;
+import org.apache.cxf.endpoint.jaxrs.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxrs.definition.RestBound;
+import org.apache.cxf.endpoint.jaxrs.definition.RestOperation;
+import org.apache.cxf.endpoint.jaxrs.definition.RestProduce;
+
+/**
+ * jaxrs 服务定义：@Path、@Produces 信息、类绑定数据、分发方式以及方法列表
+ */
+public class RestEndpointDefinition implements EndpointDefinition {
+
+	private final String id;
+	private final RestProduce produce;
+	private RestBound bound;
+	private boolean template;
+	private EndpointDispatch dispatch;
+	private final List<RestOperation> operations = new ArrayList<RestOperation>();
+
+	public RestEndpointDefinition(String id, RestProduce produce) {
+		this.id = id;
+		this.produce = produce;
+	}
+
+	public RestEndpointDefinition bind(RestBound bound) {
+		this.bound = bound;
+		return this;
+	}
+
+	/**
+	 * 模板模式：绑定数据只注入到实例中，结构相同的服务共用一个生成类，
+	 * 发布时通过 {@link org.apache.cxf.endpoint.AbstractEndpointApiBuilder#newInstance} 按服务创建实例
+	 */
+	public RestEndpointDefinition template() {
+		this.template = true;
+		return this;
+	}
+
+	public RestEndpointDefinition dispatch(EndpointDispatch dispatch) {
+		this.dispatch = dispatch;
+		return this;
+	}
+
+	public RestEndpointDefinition operation(RestOperation operation) {
+		this.operations.add(operation);
+		return this;
+	}
+
+	@Override
+	public EndpointApiBuilder<EndpointApi> newBuilder() {
+		EndpointApiBuilder<EndpointApi> builder = new EndpointApiBuilder<EndpointApi>();
+		if (dispatch != null) {
+			builder.dispatch(dispatch);
+		}
+		builder.path(produce.getPath()).produces(produce.getMediaTypes());
+		if (template) {
+			builder.template();
+		}
+		if (bound != null) {
+			builder.bind(bound);
+		}
+		for (RestOperation operation : operations) {
+			builder.newMethod(operation.getRtClass(), operation.getMethod(), operation.getBound(),
+					operation.getParams());
+		}
+		return builder;
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	public RestProduce getProduce() {
+		return produce;
+	}
+
+	public RestBound getBound() {
+		return bound;
+	}
+
+	public boolean isTemplate() {
+		return template;
+	}
+
+	public EndpointDispatch getDispatch() {
+		return dispatch;
+	}
+
+	public List<RestOperation> getOperations() {
+		return Collections.unmodifiableList(operations);
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.dispatch.EndpointDispatch;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapOperation;
+import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+
+/**
+ * jaxws 服务定义：@WebService 信息、类绑定数据、分发方式以及方法列表
+ */
+public class SoapEndpointDefinition implements EndpointDefinition {
+
+	private final String id;
+	private final SoapService service;
+	private SoapBound bound;
+	private boolean template;
+	private EndpointDispatch dispatch;
+	private final List<SoapOperation> operations = new ArrayList<SoapOperation>();
+
+	public SoapEndpointDefinition(String id, SoapService service) {
+		this.id = id;
+		this.service = service;
+	}
+
+	public SoapEndpointDefinition bind(SoapBound bound) {
+		this.bound = bound;
+		return this;
+	}
+
+	/**
+	 * 模板模式：绑定数据只注入到实例中，结构相同的服务共用一个生成类，
+	 * 发布时通过 {@link org.apache.cxf.endpoint.AbstractEndpointApiBuilder#newInstance} 按服务创建实例
+	 */
+	public SoapEndpointDefinition template() {
+		this.template = true;
+		return this;
+	}
+
+	public SoapEndpointDefinition dispatch(EndpointDispatch dispatch) {
+		this.dispatch = dispatch;
+		return this;
+	}
+
+	public SoapEndpointDefinition operation(SoapOperation operation) {
+		this.operations.add(operation);
+		return this;
+	}
+
+	@Override
+	public EndpointApiBuilder<EndpointApi> newBuilder() {
+		EndpointApiBuilder<EndpointApi> builder = new EndpointApiBuilder<EndpointApi>();
+		if (dispatch != null) {
+			builder.dispatch(dispatch);
+		}
+		builder.webService(service);
+		if (template) {
+			builder.template();
+		}
+		if (bound != null) {
+			builder.bind(bound);
+		}
+		for (SoapOperation operation : operations) {
+			builder.newMethod(operation.getResult(), operation.getMethod(), operation.getBound(),
+					operation.getParams());
+		}
+		return builder;
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	public SoapService getService() {
+		return service;
+	}
+
+	public SoapBound getBound() {
+		return bound;
+	}
+
+	public boolean isTemplate() {
+		return template;
+	}
+
+	public EndpointDispatch getDispatch() {
+		return dispatch;
+	}
+
+	public List<SoapOperation> getOperations() {
+		return Collections.unmodifiableList(operations);
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.dispatch;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+/**
+ * 委托分发：生成的方法直接调用目标对象（如 Spring Bean）上签名相同的方法，目标方法在构建期解析一次。
+ * <p>与 {@link DirectDispatch} 的区别在于只匹配签名完全相同的方法，不传入方法序号或方法元数据，适用于没有为动态服务专门编写的已有业务类。</p>
+ */
+public class DelegateDispatch extends DirectDispatch {
+
+	/**
+	 * @param targetType ：目标对象的公开类型，可以是目标类实现的公开接口
+	 */
+	public DelegateDispatch(final Class<?> targetType) {
+		super(targetType);
+	}
+
+	@Override
+	public Implementation operation(int index, String name, Class<?> returnType, Class<?>[] parameterTypes) {
+		Method method = findMethod(name, parameterTypes);
+		if (method == null) {
+			throw new IllegalStateException("No method " + name + Arrays.toString(parameterTypes) + " found on target "
+					+ getHandlerType().getName() + ".");
+		}
+		return MethodCall.invoke(method).onField(DISPATCHER_FIELD).withAllArguments()
+				.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+	}
+
+	/**
+	 * @param target ：目标对象
+	 * @return 目标对象最近的公开类型，目标类本身不是公开类时（如匿名类）向上查找父类
+	 */
+	public static Class<?> publicType(final Object target) {
+		Class<?> type = target.getClass();
+		while (type != null && !Modifier.isPublic(type.getModifiers())) {
+			type = type.getSuperclass();
+		}
+		return type != null ? type : Object.class;
+	}
+
+}
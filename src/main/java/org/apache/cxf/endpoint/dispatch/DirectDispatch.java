@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.dispatch;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import org.apache.cxf.endpoint.EndpointApi;
+
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+/**
+ * 直接分发：生成的方法体直接调用处理器上的同名方法，不经过反射、不创建参数数组、基本类型不装箱。
+ * <p>处理器方法的参数可以是以下两种形式之一：</p>
+ * <pre>
+ * String sayHello(int operation, String text);	// 第一个参数接收方法序号
+ * String sayHello(OperationDescriptor operation, String text);	// 第一个参数接收方法元数据
+ * String sayHello(String text);
+ * </pre>
+ */
+public class DirectDispatch implements EndpointDispatch {
+
+	public static final String DISPATCHER_FIELD = "dispatcher";
+
+	private final Class<?> handlerType;
+
+	public DirectDispatch(final Class<?> handlerType) {
+		if (!Modifier.isPublic(handlerType.getModifiers())) {
+			throw new IllegalArgumentException("Handler type " + handlerType.getName() + " must be public.");
+		}
+		this.handlerType = handlerType;
+	}
+
+	@Override
+	public Class<?> getHandlerType() {
+		return handlerType;
+	}
+
+	@Override
+	public <T> DynamicType.Builder<T> prepare(DynamicType.Builder<T> builder) {
+		// 定义处理器字段以及接收处理器的构造器
+		return builder.defineField(DISPATCHER_FIELD, handlerType, Visibility.PRIVATE, FieldManifestation.FINAL)
+				.defineConstructor(Visibility.PUBLIC)
+				.withParameters(handlerType)
+				.intercept(MethodCall.invoke(superConstructor())
+						.andThen(FieldAccessor.ofField(DISPATCHER_FIELD).setsArgumentAt(0)));
+	}
+
+	@Override
+	public Implementation operation(int index, String name, Class<?> returnType, Class<?>[] parameterTypes) {
+
+		Method indexed = findMethod(name, prepend(int.class, parameterTypes));
+		Method described = indexed == null ? findMethod(name, prepend(OperationDescriptor.class, parameterTypes)) : null;
+		Method method = indexed != null ? indexed : described != null ? described : findMethod(name, parameterTypes);
+		if (method == null) {
+			throw new IllegalStateException("No method " + name + Arrays.toString(parameterTypes) + " found on handler "
+					+ handlerType.getName() + ".");
+		}
+
+		MethodCall call = MethodCall.invoke(method).onField(DISPATCHER_FIELD);
+		if (indexed != null) {
+			call = call.with(index);
+		} else if (described != null) {
+			call = call.withField(OperationDescriptor.fieldName(index));
+		}
+		return call.withAllArguments().withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+	}
+
+	protected Method findMethod(final String name, final Class<?>[] parameterTypes) {
+		try {
+			return handlerType.getMethod(name, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	protected static Class<?>[] prepend(final Class<?> first, final Class<?>[] types) {
+		Class<?>[] result = new Class<?>[types.length + 1];
+		result[0] = first;
+		System.arraycopy(types, 0, result, 1, types.length);
+		return result;
+	}
+
+	protected static Constructor<?> superConstructor() {
+		try {
+			return EndpointApi.class.getDeclaredConstructor();
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.dispatch;
+
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.Implementation;
+
+/**
+ * 动态方法的分发方式：决定生成的方法体如何把调用交给处理器
+ */
+public interface EndpointDispatch {
+
+	/**
+	 * @return 处理器类型，即生成类构造器接收的参数类型
+	 */
+	Class<?> getHandlerType();
+
+	/**
+	 * 在定义方法之前为动态类添加分发所需的字段与构造器
+	 * @param builder ：动态类构建器
+	 * @return
+	 */
+	<T> DynamicType.Builder<T> prepare(DynamicType.Builder<T> builder);
+
+	/**
+	 * 生成某个方法的方法体
+	 * @param index 			：方法序号，按定义顺序从 0 开始
+	 * @param name 				：方法名称
+	 * @param returnType 		：方法返回类型
+	 * @param parameterTypes 	：参数类型
+	 * @return
+	 */
+	Implementation operation(int index, String name, Class<?> returnType, Class<?>[] parameterTypes);
+
+}
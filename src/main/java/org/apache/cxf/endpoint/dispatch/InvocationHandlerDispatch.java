@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.dispatch;
+
+import java.lang.reflect.InvocationHandler;
+
+import org.apache.cxf.endpoint.EndpointApi;
+
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+
+/**
+ * 默认的分发方式：所有方法都交给 {@link EndpointApi} 中的 InvocationHandler 处理
+ */
+public class InvocationHandlerDispatch implements EndpointDispatch {
+
+	public static final InvocationHandlerDispatch INSTANCE = new InvocationHandlerDispatch();
+
+	@Override
+	public Class<?> getHandlerType() {
+		return InvocationHandler.class;
+	}
+
+	@Override
+	public <T> DynamicType.Builder<T> prepare(DynamicType.Builder<T> builder) {
+		// EndpointApi(InvocationHandler) 构造器由父类提供
+		return builder;
+	}
+
+	@Override
+	public Implementation operation(int index, String name, Class<?> returnType, Class<?>[] parameterTypes) {
+		return InvocationHandlerAdapter.toField(EndpointApi.HANDLER_FIELD);
+	}
+
+}
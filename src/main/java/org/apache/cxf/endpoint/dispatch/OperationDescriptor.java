@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.dispatch;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cxf.endpoint.utils.JsonUtils;
+
+/**
+ * 动态方法的元数据：在构建期一次性计算，保存在生成类的静态常量 <code>OPERATION$序号</code> 中，
+ * 调用时直接交给处理器，处理器无需再通过反射读取 <code>@WebBound</code> 等注解或重复解析绑定的 JSON。
+ */
+public final class OperationDescriptor {
+
+	public static final String FIELD_PREFIX = "OPERATION$";
+
+	// 方法序号，按定义顺序从 0 开始
+	private final int index;
+	// 方法名称
+	private final String name;
+	// SOAP 的 action 或 HTTP 方法（GET、POST ...）
+	private final String action;
+	// REST 方法的 @Path，SOAP 方法为空
+	private final String path;
+	private final List<String> produces;
+	private final List<String> consumes;
+	// 绑定数据：方法上的 @WebBound 优先，其次为类上的 @WebBound
+	private final String uid;
+	private final String json;
+	private final Map<String, Object> bound;
+	private final boolean methodBound;
+	private final List<Parameter> parameters;
+	private final Result result;
+
+	public OperationDescriptor(int index, String name, String action, String path, String[] produces,
+			String[] consumes, String uid, String json, List<Parameter> parameters, Result result) {
+		this(index, name, action, path, asList(produces), asList(consumes), uid, json, JsonUtils.parseObject(json),
+				json != null, parameters, result);
+	}
+
+	private OperationDescriptor(int index, String name, String action, String path, List<String> produces,
+			List<String> consumes, String uid, String json, Map<String, Object> bound, boolean methodBound,
+			List<Parameter> parameters, Result result) {
+		this.index = index;
+		this.name = name;
+		this.action = action != null ? action : "";
+		this.path = path != null ? path : "";
+		this.produces = produces;
+		this.consumes = consumes;
+		this.uid = uid != null ? uid : "";
+		this.json = json != null ? json : "";
+		this.bound = bound;
+		this.methodBound = methodBound;
+		this.parameters = Collections.unmodifiableList(parameters);
+		this.result = result;
+	}
+
+	/**
+	 * 方法本身没有绑定数据时，使用类上的绑定数据
+	 * @param uid 	：类绑定的 uid
+	 * @param json 	：类绑定的 JSON
+	 * @return 新的描述，方法已有绑定数据时返回自身
+	 */
+	public OperationDescriptor inherit(String uid, String json) {
+		if (methodBound || json == null) {
+			return this;
+		}
+		return new OperationDescriptor(index, name, action, path, produces, consumes, uid, json,
+				JsonUtils.parseObject(json), false, parameters, result);
+	}
+
+	public static String fieldName(int index) {
+		return FIELD_PREFIX + index;
+	}
+
+	private static List<String> asList(String[] values) {
+		return values != null ? Collections.unmodifiableList(Arrays.asList(values.clone()))
+				: Collections.<String>emptyList();
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getAction() {
+		return action;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public List<String> getProduces() {
+		return produces;
+	}
+
+	public List<String> getConsumes() {
+		return consumes;
+	}
+
+	public String getUid() {
+		return uid;
+	}
+
+	public String getJson() {
+		return json;
+	}
+
+	/**
+	 * @return 解析后的绑定数据，不可修改
+	 */
+	public Map<String, Object> getBound() {
+		return bound;
+	}
+
+	public List<Parameter> getParameters() {
+		return parameters;
+	}
+
+	public Parameter getParameter(int index) {
+		return parameters.get(index);
+	}
+
+	public Result getResult() {
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "OperationDescriptor[" + index + ":" + name + (uid.isEmpty() ? "" : ", uid=" + uid) + "]";
+	}
+
+	/**
+	 * 参数元数据，对应 SoapParam 或 RestParam
+	 */
+	public static final class Parameter {
+
+		private final Class<?> type;
+		private final String name;
+		// SOAP 为 WebParam.Mode，REST 为参数来源（QUERY、PATH、HEADER ...）
+		private final String source;
+		private final String partName;
+		private final String targetNamespace;
+		private final boolean header;
+		private final String defaultValue;
+
+		public Parameter(Class<?> type, String name, String source, String partName, String targetNamespace,
+				boolean header, String defaultValue) {
+			this.type = type;
+			this.name = name;
+			this.source = source;
+			this.partName = partName;
+			this.targetNamespace = targetNamespace;
+			this.header = header;
+			this.defaultValue = defaultValue;
+		}
+
+		public Class<?> getType() {
+			return type;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getSource() {
+			return source;
+		}
+
+		public String getPartName() {
+			return partName;
+		}
+
+		public String getTargetNamespace() {
+			return targetNamespace;
+		}
+
+		public boolean isHeader() {
+			return header;
+		}
+
+		public String getDefaultValue() {
+			return defaultValue;
+		}
+
+	}
+
+	/**
+	 * 返回结果元数据，对应 SoapResult 或 REST 方法的返回类型
+	 */
+	public static final class Result {
+
+		private final Class<?> type;
+		private final String name;
+		private final String partName;
+		private final String targetNamespace;
+		private final boolean header;
+
+		public Result(Class<?> type, String name, String partName, String targetNamespace, boolean header) {
+			this.type = type != null ? type : void.class;
+			this.name = name;
+			this.partName = partName;
+			this.targetNamespace = targetNamespace;
+			this.header = header;
+		}
+
+		public Class<?> getType() {
+			return type;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getPartName() {
+			return partName;
+		}
+
+		public String getTargetNamespace() {
+			return targetNamespace;
+		}
+
+		public boolean isHeader() {
+			return header;
+		}
+
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.dispatch;
+
+import org.apache.cxf.endpoint.EndpointApi;
+
+/**
+ * 处理器：接收构建期计算好的方法元数据，无需在调用时反射读取注解
+ * @see OperationHandlerDispatch
+ */
+public interface OperationHandler {
+
+	/**
+	 * @param endpoint 	：被调用的动态类实例
+	 * @param operation ：被调用方法的元数据
+	 * @param args 		：调用参数
+	 * @return 方法返回值，void 方法忽略
+	 */
+	Object invoke(EndpointApi endpoint, OperationDescriptor operation, Object[] args) throws Exception;
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.dispatch;
+
+import java.lang.reflect.Method;
+
+import org.apache.cxf.endpoint.EndpointApi;
+
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+/**
+ * 元数据分发：生成的方法体调用 {@link OperationHandler#invoke(EndpointApi, OperationDescriptor, Object[])}，
+ * 方法元数据直接从生成类的静态常量读取。
+ */
+public class OperationHandlerDispatch extends DirectDispatch {
+
+	public static final OperationHandlerDispatch INSTANCE = new OperationHandlerDispatch();
+
+	public OperationHandlerDispatch() {
+		super(OperationHandler.class);
+	}
+
+	@Override
+	public Implementation operation(int index, String name, Class<?> returnType, Class<?>[] parameterTypes) {
+		return MethodCall.invoke(invokeMethod()).onField(DISPATCHER_FIELD)
+				.withThis()
+				.withField(OperationDescriptor.fieldName(index))
+				.withArgumentArray()
+				.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+	}
+
+	protected static Method invokeMethod() {
+		try {
+			return OperationHandler.class.getMethod("invoke", EndpointApi.class,
+					OperationDescriptor.class, Object[].class);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -1,25 +1,28 @@
 package org.apache.cxf.endpoint.jaxrs;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.builder.Builder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.cxf.endpoint.AbstractFluentEndpointApiBuilder;
 import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.dispatch.OperationDescriptor;
 import org.apache.cxf.endpoint.jaxrs.definition.HttpMethodEnum;
+import org.apache.cxf.endpoint.jaxrs.definition.HttpParamEnum;
 import org.apache.cxf.endpoint.jaxrs.definition.RestBound;
 import org.apache.cxf.endpoint.jaxrs.definition.RestMethod;
 import org.apache.cxf.endpoint.jaxrs.definition.RestParam;
+import org.apache.cxf.endpoint.naming.DigestNamingStrategy;
 import org.apache.cxf.endpoint.utils.JaxrsEndpointApiUtils;
 
-import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.NamingStrategy;
-import net.bytebuddy.description.type.TypeDescription;
-import net.bytebuddy.dynamic.DynamicType.Unloaded;
-import net.bytebuddy.utility.RandomString;
+import net.bytebuddy.description.annotation.AnnotationDescription;
 
 /**
- * 
+ *
  * 动态构建rs接口
  * <p>http://www.cnblogs.com/sunfie/p/5154246.html</p>
  * <p>http://blog.csdn.net/youaremoon/article/details/50766972</p>
@@ -27,23 +30,16 @@ import net.bytebuddy.utility.RandomString;
  * <p>https://my.oschina.net/GameKing/blog/794580</p>
  * <p>http://wsmajunfeng.iteye.com/blog/1912983</p>
  */
-public class EndpointApiBuilder<T extends EndpointApi> implements Builder<Unloaded<T>> {
+public class EndpointApiBuilder<T extends EndpointApi> extends AbstractFluentEndpointApiBuilder<T, EndpointApiBuilder<T>> {
 
-	// 构建动态类
-	protected net.bytebuddy.dynamic.DynamicType.Builder<? extends EndpointApi> builder = null;
-	protected RandomString randomString = new RandomString(8);
 	protected static final String PREFIX = "org.apache.cxf.endpoint.jaxrs.";
 
+	/**
+	 * 按定义的结构指纹命名生成的类，相同的定义在每次启动时得到相同的类名
+	 * @see DigestNamingStrategy
+	 */
 	public EndpointApiBuilder() {
-
-		builder = new ByteBuddy().with(new NamingStrategy.AbstractBase() {
-			@Override
-			protected String name(TypeDescription typeDescription) {
-				return PREFIX + typeDescription.getSimpleName() + "$" + randomString.nextString();
-			}
-
-		}).subclass(EndpointApi.class);
-
+		super(new DigestNamingStrategy(PREFIX));
 	}
 
 	/**
@@ -51,22 +47,14 @@ public class EndpointApiBuilder<T extends EndpointApi> implements Builder<Unload
 	 * @param randomName
 	 */
 	public EndpointApiBuilder(String prefix, boolean randomName) {
-
-		builder = new ByteBuddy().with(new NamingStrategy.AbstractBase() {
-			@Override
-			protected String name(TypeDescription typeDescription) {
-				return prefix + typeDescription.getSimpleName() + (randomName ? ("$" + randomString.nextString()) : "");
-			}
-
-		}).subclass(EndpointApi.class);
-
+		super(prefix, randomName);
 	}
 
 	/**
 	 * @param name The fully qualified name of the generated class in a binary format.
 	 */
 	public EndpointApiBuilder(String name) {
-		builder = new ByteBuddy().subclass(EndpointApi.class).name(name);
+		super(name);
 	}
 
 	/**
@@ -74,9 +62,17 @@ public class EndpointApiBuilder<T extends EndpointApi> implements Builder<Unload
 	 * @param namingStrategy ： The naming strategy to apply when creating a new auxiliary type.
 	 */
 	public EndpointApiBuilder(final NamingStrategy namingStrategy) {
-		builder = new ByteBuddy().with(namingStrategy).subclass(EndpointApi.class);
+		super(namingStrategy);
 	}
-	
+
+	/**
+	 * 隐藏类定义在 {@value #PREFIX} 包中，见 {@link #hiddenClass()}
+	 */
+	@Override
+	protected MethodHandles.Lookup lookup() {
+		return MethodHandles.lookup();
+	}
+
 	/**
 	 * 添加类注解 @Path
 	 * @param path : Defines a URI template for the resource class or method, must not include matrix parameters.
@@ -84,224 +80,140 @@ public class EndpointApiBuilder<T extends EndpointApi> implements Builder<Unload
 	 */
 	public EndpointApiBuilder<T> path(final String path) {
 
-		builder.annotateType(JaxrsEndpointApiUtils.annotPath(constPool, path))
-		
-		
+		fingerprint.append("path", path);
+		builder = builder.annotateType(JaxrsEndpointApiUtils.annotPath(path));
+
 		return this;
 	}
-	
+
 	/**
-	 * 添加类注解 @Path
+	 * 添加类注解 @Produces
 	 * @param mediaTypes
 	 * @return
 	 */
-	public EndpointApiCtClassBuilder produces(final String... mediaTypes) {
+	public EndpointApiBuilder<T> produces(final String... mediaTypes) {
 
 		String[] noyNullMediaTypes = ArrayUtils.isNotEmpty(mediaTypes) ? mediaTypes : new String[] { "*/*" };
-		ConstPool constPool = this.ccFile.getConstPool();
-		JavassistUtils.addClassAnnotation(declaring, JaxrsEndpointApiUtils.annotProduces(constPool, noyNullMediaTypes));
-		
+		fingerprint.append("produces", (Object) noyNullMediaTypes);
+		builder = builder.annotateType(JaxrsEndpointApiUtils.annotProduces(noyNullMediaTypes));
+
 		return this;
 	}
-	
+
 	/**
 	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定
 	 */
-	public EndpointApiCtClassBuilder bind(final String uid, final String json) {
+	public EndpointApiBuilder<T> bind(final String uid, final String json) {
 		return bind(new RestBound(uid, json));
 	}
-	
+
 	/**
-	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定
+	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定；模板模式下数据只注入到实例中
 	 */
-	public EndpointApiCtClassBuilder bind(final RestBound bound) {
+	public EndpointApiBuilder<T> bind(final RestBound bound) {
 
-		ConstPool constPool = this.ccFile.getConstPool();
-		JavassistUtils.addClassAnnotation(declaring, JaxrsEndpointApiUtils.annotWebBound(constPool, bound));
-		
-		return this;
-	}
-	
-	/**
-     * Compiles the given source code and creates a field.
-     * Examples of the source code are:
-     * 
-     * <pre>
-     * "public String name;"
-     * "public int k = 3;"</pre>
-     *
-     * <p>Note that the source code ends with <code>';'</code>
-     * (semicolon).
-     *
-     * @param src               the source text.
-     */
-	public <T> EndpointApiCtClassBuilder makeField(final String src) throws CannotCompileException {
-		//创建属性
-        declaring.addField(CtField.make(src, declaring));
-		return this;
-	}
-	
-	public <T> EndpointApiCtClassBuilder newField(final Class<T> fieldClass, final String fieldName, final String fieldValue) throws CannotCompileException, NotFoundException {
-		
-		// 检查字段是否已经定义
-		if(JavassistUtils.hasField(declaring, fieldName)) {
-			return this;
+		if (!isTemplate()) {
+			fingerprint.append("bound", bound.getUid(), bound.getJson());
+			builder = builder.annotateType(JaxrsEndpointApiUtils.annotWebBound(bound));
 		}
-		
-		/** 添加属性字段 */
-		CtField field = new CtField(this.pool.get(fieldClass.getName()), fieldName, declaring);
-        field.setModifiers(Modifier.PROTECTED);
-
-        //新增Field
-        declaring.addField(field, "\"" + fieldValue + "\"");
-        
+		setBound(bound.getUid(), bound.getJson());
+
 		return this;
 	}
-	
-	public <T> EndpointApiCtClassBuilder removeField(final String fieldName) throws NotFoundException {
-		
-		// 检查字段是否已经定义
-		if(!JavassistUtils.hasField(declaring, fieldName)) {
-			return this;
-		}
-		
-		declaring.removeField(declaring.getDeclaredField(fieldName));
-		
+
+	public <F> EndpointApiBuilder<T> newField(final Class<F> fieldClass, final String fieldName, final String fieldValue) {
+		fingerprint.append("field", fieldClass, fieldName, fieldValue);
+		builder = builder.defineField(fieldName, fieldClass, Modifier.PROTECTED).value(fieldValue);
 		return this;
 	}
-	
-	public <T> EndpointApiCtClassBuilder newMethod(final Class<T> rtClass, final HttpMethodEnum method, final String name,final String path, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+
+	public <R> EndpointApiBuilder<T> newMethod(final Class<R> rtClass, final HttpMethodEnum method, final String name,final String path, final RestBound bound, RestParam<?>... params) {
 		return this.newMethod(rtClass , new RestMethod(method, name, path), bound, params);
 	}
-	
-	public <T> EndpointApiCtClassBuilder newMethod(final Class<T> rtClass, final HttpMethodEnum method, final String name,final String path, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+
+	public <R> EndpointApiBuilder<T> newMethod(final Class<R> rtClass, final HttpMethodEnum method, final String name,final String path, RestParam<?>... params) {
 		return this.newMethod(rtClass , new RestMethod(method, name, path), params);
 	}
-	
+
 	/**
-	 * 
+	 *
 	 * 根据参数构造一个新的方法
 	 * @param rtClass ：返回对象类型
 	 * @param method ：方法注释信息
 	 * @param bound  ：方法绑定数据信息
 	 * @param params ： 参数信息
 	 * @return
-	 * @throws CannotCompileException
-	 * @throws NotFoundException 
-	 */ 
-	public <T> EndpointApiCtClassBuilder newMethod(final Class<T> rtClass, final RestMethod method, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
-	       
-		ConstPool constPool = this.ccFile.getConstPool();
-		
-		// 创建抽象方法
-		CtClass returnType = rtClass != null ? pool.get(rtClass.getName()) : CtClass.voidType;
-		CtMethod ctMethod = null;
+	 */
+	public <R> EndpointApiBuilder<T> newMethod(final Class<R> rtClass, final RestMethod method, final RestBound bound, RestParam<?>... params) {
+
+		RestParam<?>[] parameters = params != null ? params : new RestParam<?>[0];
+
+		fingerprint.append("method", rtClass, method.getMethod(), method.getName(), method.getPath(),
+				method.getMediaTypes(), method.getConsumes());
+		if (bound != null) {
+			fingerprint.append("methodBound", bound.getUid(), bound.getJson());
+		}
+
 		// 方法参数
-		CtClass[] parameters = JaxrsEndpointApiUtils.makeParams(pool, params);
-		// 有参方法
-		if(parameters != null && parameters.length > 0) {
-			ctMethod = new CtMethod(returnType, method.getName(), parameters, declaring);
-		} 
-		// 无参方法 
-		else {
-			ctMethod = new CtMethod(returnType, method.getName() , null, declaring);
+		Class<?>[] parameterTypes = new Class<?>[parameters.length];
+		String[] parameterNames = new String[parameters.length];
+		AnnotationDescription[][] parameterAnnotations = new AnnotationDescription[parameters.length][];
+		List<OperationDescriptor.Parameter> parameterDescriptors = new ArrayList<OperationDescriptor.Parameter>();
+		for (int i = 0; i < parameters.length; i++) {
+			fingerprint.append("param", parameters[i].getType(), parameters[i].getName(), parameters[i].getFrom(),
+					parameters[i].getDef());
+			parameterTypes[i] = parameters[i].getType();
+			parameterNames[i] = parameters[i].getName();
+			parameterAnnotations[i] = JaxrsEndpointApiUtils.annotParam(parameters[i]);
+			HttpParamEnum from = parameters[i].getFrom();
+			parameterDescriptors.add(new OperationDescriptor.Parameter(parameters[i].getType(), parameters[i].getName(),
+					from != null ? from.name() : null, null, null, from == HttpParamEnum.HEADER, parameters[i].getDef()));
 		}
-        // 设置方法体
-        JaxrsEndpointApiUtils.methodBody(ctMethod, method);
-        // 设置方法异常捕获逻辑
-        JaxrsEndpointApiUtils.methodCatch(pool, ctMethod);
-        // 为方法添加 @HttpMethod、 @GET、 @POST、 @PUT、 @DELETE、 @PATCH、 @HEAD、 @OPTIONS、@Path、、@Consumes、@Produces、@RestBound、@RestParam 注解
-        JaxrsEndpointApiUtils.methodAnnotations(ctMethod, constPool, method, bound, params);
-        
-        //新增方法
-        declaring.addMethod(ctMethod);
-        
+
+        // 为方法添加 @GET、 @POST、 @PUT、 @DELETE、 @PATCH、 @HEAD、 @OPTIONS、@Path、@Consumes、@Produces、@WebBound 注解
+		List<AnnotationDescription> methodAnnotations = new ArrayList<AnnotationDescription>();
+		methodAnnotations.add(JaxrsEndpointApiUtils.annotHttpMethod(method));
+		if (StringUtils.isNotBlank(method.getPath())) {
+			methodAnnotations.add(JaxrsEndpointApiUtils.annotMethodPath(method.getPath()));
+		}
+		methodAnnotations.add(JaxrsEndpointApiUtils.annotMethodProduces(method.getMediaTypes()));
+		if (ArrayUtils.isNotEmpty(method.getConsumes())) {
+			methodAnnotations.add(JaxrsEndpointApiUtils.annotConsumes(method.getConsumes()));
+		}
+		if (bound != null) {
+			methodAnnotations.add(JaxrsEndpointApiUtils.annotWebBound(bound));
+		}
+
+		// 方法元数据，随生成类一起保存，调用时直接交给处理器
+		OperationDescriptor operation = new OperationDescriptor(operationCount, method.getName(),
+				method.getMethod().name(), method.getPath(), method.getMediaTypes(), method.getConsumes(),
+				bound != null ? bound.getUid() : null, bound != null ? bound.getJson() : null, parameterDescriptors,
+				new OperationDescriptor.Result(rtClass, null, null, null, false));
+
+		defineMethod(method.getName(), rtClass, parameterTypes, parameterNames, parameterAnnotations,
+				methodAnnotations, operation);
+
         return this;
 	}
-	
-	public <T> EndpointApiCtClassBuilder newMethod(final Class<T> rtClass, final RestMethod method, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+
+	public <R> EndpointApiBuilder<T> newMethod(final Class<R> rtClass, final RestMethod method, RestParam<?>... params) {
 		return this.newMethod(rtClass, method, null, params);
 	}
-	
-	public <T> EndpointApiCtClassBuilder newMethod(final HttpMethodEnum method, final String name, final String path, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+
+	public EndpointApiBuilder<T> newMethod(final HttpMethodEnum method, final String name, final String path, RestParam<?>... params) {
 		return this.newMethod(null , new RestMethod(method, name, path), null, params);
 	}
-	
-	public <T> EndpointApiCtClassBuilder newMethod(final HttpMethodEnum method, final String name, final String path, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+
+	public EndpointApiBuilder<T> newMethod(final HttpMethodEnum method, final String name, final String path, final RestBound bound, RestParam<?>... params) {
 		return this.newMethod(null , new RestMethod(method, name, path), bound, params);
 	}
-	
-	public <T> EndpointApiCtClassBuilder newMethod(final RestMethod method, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+
+	public EndpointApiBuilder<T> newMethod(final RestMethod method, final RestBound bound, RestParam<?>... params) {
 		return this.newMethod(null, method, bound, params);
 	}
-	
-	public <T> EndpointApiCtClassBuilder newMethod(final RestMethod method, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+
+	public EndpointApiBuilder<T> newMethod(final RestMethod method, RestParam<?>... params) {
 		return this.newMethod(null, method, null, params);
 	}
-	
-	public <T> EndpointApiCtClassBuilder removeMethod(final String methodName, RestParam<?>... params) throws NotFoundException {
-		
-		// 有参方法
-		if(params != null && params.length > 0) {
-			
-			// 方法参数
-			CtClass[] parameters = JaxrsEndpointApiUtils.makeParams(pool, params);
-			
-			// 检查方法是否已经定义
-			if(!JavassistUtils.hasMethod(declaring, methodName, parameters)) {
-				return this;
-			}
-			
-			declaring.removeMethod(declaring.getDeclaredMethod(methodName, parameters));
-			
-		}
-		else {
-			
-			// 检查方法是否已经定义
-			if(!JavassistUtils.hasMethod(declaring, methodName)) {
-				return this;
-			}
-			
-			declaring.removeMethod(declaring.getDeclaredMethod(methodName));
-			
-		}
-		
-		return this;
-	}
-	
-	@Override
-	public CtClass build() {
-        return declaring;
-	}
-	
-	/**
-	 * 
-	 * javassist在加载类时会用Hashtable将类信息缓存到内存中，这样随着类的加载，内存会越来越大，甚至导致内存溢出。如果应用中要加载的类比较多，建议在使用完CtClass之后删除缓存
-	 * @author 		： <a href="https://github.com/hiwepy">hiwepy</a>
-	 * @return
-	 * @throws CannotCompileException
-	 */
-	public Class<?> toClass() throws CannotCompileException {
-        try {
-        	// 通过类加载器加载该CtClass
-			return declaring.toClass();
-		} finally {
-			// 将该class从ClassPool中删除
-			declaring.detach();
-		} 
-	}
-	
-	@SuppressWarnings("unchecked")
-	public Object toInstance(final InvocationHandler handler) throws CannotCompileException, NotFoundException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
-        try {
-        	// 设置InvocationHandler参数构造器
-			declaring.addConstructor(JaxrsEndpointApiUtils.makeConstructor(pool, declaring));
-			// 通过类加载器加载该CtClass，并通过构造器初始化对象
-			return declaring.toClass().getConstructor(InvocationHandler.class).newInstance(handler);
-		} finally {
-			// 将该class从ClassPool中删除
-			declaring.detach();
-		} 
-	}
 
-}
\ No newline at end of file
+}
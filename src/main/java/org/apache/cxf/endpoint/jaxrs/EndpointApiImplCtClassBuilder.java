@@ -4,12 +4,13 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 
 import org.apache.commons.lang3.builder.Builder;
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.jaxrs.definition.HttpMethodEnum;
 import org.apache.cxf.endpoint.jaxrs.definition.RestBound;
 import org.apache.cxf.endpoint.jaxrs.definition.RestMethod;
 import org.apache.cxf.endpoint.jaxrs.definition.RestParam;
-import org.apache.cxf.endpoint.utils.JaxrsEndpointApiUtils;
-
-import com.github.hiwepy.javassist.utils.ClassPoolFactory;
+import org.apache.cxf.endpoint.utils.EndpointClassPool;
+import org.apache.cxf.endpoint.utils.JavassistEndpointApiUtils;
 
 import javassist.CannotCompileException;
 import javassist.ClassPool;
@@ -19,29 +20,35 @@ import javassist.NotFoundException;
 
 /**
  * 
- * 动态构建ws接口
+ * 使用 Javassist 动态构建rs实现类：接口由 {@link EndpointApiInterfaceCtClassBuilder} 构建，实现类继承 {@link EndpointApi}，
+ * 方法调用交给构造时传入的 InvocationHandler 处理
  * @see http://www.cnblogs.com/sunfie/p/5154246.html
  * @see http://blog.csdn.net/youaremoon/article/details/50766972
  * @see https://my.oschina.net/GameKing/blog/794580
  * @see http://wsmajunfeng.iteye.com/blog/1912983
  */
-public class EndpointApiImplCtClassBuilder extends EndpointApiCtClassBuilder implements Builder<CtClass> {
+public class EndpointApiImplCtClassBuilder implements Builder<CtClass> {
 
     /** 
-     * 生成的实现类名前缀 
+     * 生成的实现类名后缀 
      */  
-    private static final String IMPL_CLASSNAME_PREFIX = "$Impl";  
+    private static final String IMPL_CLASSNAME_SUFFIX = "$Impl";  
+	private ClassPool pool = null;
+	private CtClass declaring = null;
 	private EndpointApiInterfaceCtClassBuilder classBuilder;
 	
 	public EndpointApiImplCtClassBuilder(final String classname) throws CannotCompileException, NotFoundException  {
-		this(ClassPoolFactory.getDefaultPool(), classname);
+		// 每次构建使用独立的 ClassPool，构建完成后通过 release() 释放
+		this(new EndpointClassPool(), classname);
 	}
   
 	public EndpointApiImplCtClassBuilder(final ClassPool pool, final String classname) throws CannotCompileException, NotFoundException {
 		
-		super(pool, classname + "." + IMPL_CLASSNAME_PREFIX);
-		
+		this.pool = pool;
 		this.classBuilder = new EndpointApiInterfaceCtClassBuilder(pool, classname);
+		this.declaring = pool.makeClass(classname + IMPL_CLASSNAME_SUFFIX, pool.get(EndpointApi.class.getName()));
+		// 设置接口
+		this.declaring.addInterface(classBuilder.build());
 		
 	}
 	
@@ -65,6 +72,13 @@ public class EndpointApiImplCtClassBuilder extends EndpointApiCtClassBuilder imp
 		return this;
 	}
 	
+	/**
+	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定
+	 */
+	public EndpointApiImplCtClassBuilder bind(final String uid, final String json) {
+		return bind(new RestBound(uid, json));
+	}
+	
 	/**
 	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定
 	 */
@@ -73,6 +87,14 @@ public class EndpointApiImplCtClassBuilder extends EndpointApiCtClassBuilder imp
 		return this;
 	}
 	
+	public <T> EndpointApiImplCtClassBuilder newMethod(final Class<T> rtClass, final HttpMethodEnum method, final String name,final String path, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+		return this.newMethod(rtClass, new RestMethod(method, name, path), bound, params);
+	}
+	
+	public <T> EndpointApiImplCtClassBuilder newMethod(final Class<T> rtClass, final HttpMethodEnum method, final String name,final String path, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+		return this.newMethod(rtClass, new RestMethod(method, name, path), null, params);
+	}
+	
 	/**
 	 * 
 	 * 根据参数构造一个新的方法
@@ -84,28 +106,18 @@ public class EndpointApiImplCtClassBuilder extends EndpointApiCtClassBuilder imp
 	 * @throws CannotCompileException
 	 * @throws NotFoundException 
 	 */ 
-	@Override
-	public <T> EndpointApiCtClassBuilder newMethod(final Class<T> rtClass, final RestMethod method, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+	public <T> EndpointApiImplCtClassBuilder newMethod(final Class<T> rtClass, final RestMethod method, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
 		
+		// 接口中声明带注解的抽象方法
 		this.classBuilder.abstractMethod(rtClass, method, bound, params);
 		
-		// 创建抽象方法
-		CtClass returnType = rtClass != null ? pool.get(rtClass.getName()) : CtClass.voidType;
-		CtMethod ctMethod = null;
+		CtClass returnType = JavassistEndpointApiUtils.makeType(pool, rtClass);
 		// 方法参数
-		CtClass[] parameters = JaxrsEndpointApiUtils.makeParams(pool, params);
-		// 有参方法
-		if(parameters != null && parameters.length > 0) {
-			ctMethod = new CtMethod(returnType, method.getName(), parameters, declaring);
-		} 
-		// 无参方法 
-		else {
-			ctMethod = new CtMethod(returnType, method.getName() , null, declaring);
-		}
+		CtClass[] parameters = EndpointApiInterfaceCtClassBuilder.makeParams(pool, params);
+		CtMethod ctMethod = new CtMethod(returnType, method.getName(), parameters, declaring);
+		ctMethod.setExceptionTypes(new CtClass[] { pool.get("java.lang.Exception") });
         // 设置方法体
-        JaxrsEndpointApiUtils.methodBody(ctMethod, method);
-        // 设置方法异常捕获逻辑
-        JaxrsEndpointApiUtils.methodCatch(pool, ctMethod);
+        JavassistEndpointApiUtils.methodBody(ctMethod, classBuilder.build());
         
         //新增方法
         declaring.addMethod(ctMethod);
@@ -113,17 +125,27 @@ public class EndpointApiImplCtClassBuilder extends EndpointApiCtClassBuilder imp
         return this;
 	}
 	
+	public EndpointApiImplCtClassBuilder newMethod(final HttpMethodEnum method, final String name, final String path, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+		return this.newMethod(null, new RestMethod(method, name, path), null, params);
+	}
+	
+	public EndpointApiImplCtClassBuilder newMethod(final HttpMethodEnum method, final String name, final String path, final RestBound bound, RestParam<?>... params) throws CannotCompileException, NotFoundException {
+		return this.newMethod(null, new RestMethod(method, name, path), bound, params);
+	}
+	
 	@Override
 	public CtClass build() {
-		try {
-			// 设置接口
-			declaring.setSuperclass(classBuilder.build());
-		} catch (CannotCompileException e) {
-			e.printStackTrace();
-		}
         return declaring;
 	}
 	
+	/**
+	 * 释放构建过程中使用的 ClassPool，实现类与接口共用同一个 ClassPool
+	 */
+	public void release() {
+		declaring.detach();
+		classBuilder.release();
+	}
+	
 	/**
 	 * 
 	 * javassist在加载类时会用Hashtable将类信息缓存到内存中，这样随着类的加载，内存会越来越大，甚至导致内存溢出。如果应用中要加载的类比较多，建议在使用完CtClass之后删除缓存
@@ -133,29 +155,20 @@ public class EndpointApiImplCtClassBuilder extends EndpointApiCtClassBuilder imp
 	 */
 	public Class<?> toClass() throws CannotCompileException {
         try {
-        	// 设置接口
-   			declaring.setSuperclass(classBuilder.build());
-        	// 通过类加载器加载该CtClass
-			return declaring.toClass();
+        	// 实现类与接口在同一个新的类加载器中加载
+			return JavassistEndpointApiUtils.toClass(declaring, classBuilder.build());
 		} finally {
-			// 将该class从ClassPool中删除
+			// 将实现类与接口从ClassPool中删除
 			declaring.detach();
+			classBuilder.build().detach();
 		} 
 	}
 	
-	@SuppressWarnings("unchecked")
-	public Object toInstance(final InvocationHandler handler) throws CannotCompileException, NotFoundException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
-        try {
-        	// 设置接口
-        	declaring.setSuperclass(classBuilder.build());
-        	// 设置InvocationHandler参数构造器
-			declaring.addConstructor(JaxrsEndpointApiUtils.makeConstructor(pool, declaring));
-			// 通过类加载器加载该CtClass，并通过构造器初始化对象
-			return declaring.toClass().getConstructor(InvocationHandler.class).newInstance(handler);
-		} finally {
-			// 将该class从ClassPool中删除
-			declaring.detach();
-		} 
+	public EndpointApi toInstance(final InvocationHandler handler) throws CannotCompileException, NotFoundException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+		// 设置InvocationHandler参数构造器
+		declaring.addConstructor(JavassistEndpointApiUtils.makeConstructor(pool, declaring));
+		// 通过类加载器加载该CtClass，并通过构造器初始化对象
+		return (EndpointApi) toClass().getConstructor(InvocationHandler.class).newInstance(handler);
 	}
 
 }
\ No newline at end of file
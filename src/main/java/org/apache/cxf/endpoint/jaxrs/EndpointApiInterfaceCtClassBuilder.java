@@ -1,16 +1,23 @@
 package org.apache.cxf.endpoint.jaxrs;
 
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.Builder;
+import org.apache.cxf.endpoint.annotation.WebBound;
 import org.apache.cxf.endpoint.jaxrs.definition.HttpMethodEnum;
+import org.apache.cxf.endpoint.jaxrs.definition.HttpParamEnum;
 import org.apache.cxf.endpoint.jaxrs.definition.RestBound;
 import org.apache.cxf.endpoint.jaxrs.definition.RestMethod;
 import org.apache.cxf.endpoint.jaxrs.definition.RestParam;
+import org.apache.cxf.endpoint.utils.EndpointClassPool;
+import org.apache.cxf.endpoint.utils.JavassistEndpointApiUtils;
 import org.apache.cxf.endpoint.utils.JaxrsEndpointApiUtils;
 
-import com.github.hiwepy.javassist.utils.ClassPoolFactory;
-import com.github.hiwepy.javassist.utils.JavassistUtils;
-
 import javassist.CannotCompileException;
 import javassist.ClassPool;
 import javassist.CtClass;
@@ -21,6 +28,7 @@ import javassist.Modifier;
 import javassist.NotFoundException;
 import javassist.bytecode.ClassFile;
 import javassist.bytecode.ConstPool;
+import javassist.bytecode.annotation.Annotation;
 
 /**
  * 
@@ -41,13 +49,14 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 	//private Loader loader = new Loader(pool);
 	
 	public EndpointApiInterfaceCtClassBuilder(final String classname) throws CannotCompileException, NotFoundException  {
-		this(ClassPoolFactory.getDefaultPool(), classname);
+		// 每次构建使用独立的 ClassPool，构建完成后通过 release() 释放
+		this(new EndpointClassPool(), classname);
 	}
 	
 	public EndpointApiInterfaceCtClassBuilder(final ClassPool pool, final String classname) throws CannotCompileException, NotFoundException {
 		
 		this.pool = pool;
-		this.declaring = JaxrsEndpointApiUtils.makeInterface(pool, classname);
+		this.declaring = pool.makeInterface(classname);
 		
 		/* 指定 Cloneable 作为动态接口的父类 */
 		CtClass superclass = pool.get(Cloneable.class.getName());
@@ -64,7 +73,7 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 	public EndpointApiInterfaceCtClassBuilder path(final String path) {
 
 		ConstPool constPool = this.ccFile.getConstPool();
-		JavassistUtils.addClassAnnotation(declaring, JaxrsEndpointApiUtils.annotPath(constPool, path));
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, JavassistEndpointApiUtils.annotation(constPool, Path.class, "value", path));
 		
 		return this;
 	}
@@ -78,7 +87,7 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 
 		String[] noyNullMediaTypes = ArrayUtils.isNotEmpty(mediaTypes) ? mediaTypes : new String[] { "*/*" };
 		ConstPool constPool = this.ccFile.getConstPool();
-		JavassistUtils.addClassAnnotation(declaring, JaxrsEndpointApiUtils.annotProduces(constPool, noyNullMediaTypes));
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, JavassistEndpointApiUtils.annotation(constPool, Produces.class, "value", noyNullMediaTypes));
 		
 		return this;
 	}
@@ -96,7 +105,7 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 	public EndpointApiInterfaceCtClassBuilder bind(final RestBound bound) {
 
 		ConstPool constPool = this.ccFile.getConstPool();
-		JavassistUtils.addClassAnnotation(declaring, JaxrsEndpointApiUtils.annotWebBound(constPool, bound));
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, annotWebBound(constPool, bound));
 		
 		return this;
 	}
@@ -123,13 +132,14 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 	public <T> EndpointApiInterfaceCtClassBuilder newField(final Class<T> fieldClass, final String fieldName, final String fieldValue) throws CannotCompileException, NotFoundException {
 		
 		// 检查字段是否已经定义
-		if(JavassistUtils.hasField(declaring, fieldName)) {
+		if(JavassistEndpointApiUtils.hasField(declaring, fieldName)) {
 			return this;
 		}
 		
 		/** 添加属性字段 */
 		CtField field = new CtField(this.pool.get(fieldClass.getName()), fieldName, declaring);
-        field.setModifiers(Modifier.PUBLIC);
+        // 接口中的字段只能是常量
+        field.setModifiers(Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL);
 
         //新增Field
         declaring.addField(field, "\"" + fieldValue + "\"");
@@ -140,7 +150,7 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 	public <T> EndpointApiInterfaceCtClassBuilder removeField(final String fieldName) throws NotFoundException {
 		
 		// 检查字段是否已经定义
-		if(!JavassistUtils.hasField(declaring, fieldName)) {
+		if(!JavassistEndpointApiUtils.hasField(declaring, fieldName)) {
 			return this;
 		}
 		
@@ -173,10 +183,10 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 		ConstPool constPool = this.ccFile.getConstPool();
 		
 		// 创建抽象方法
-		CtClass returnType = rtClass != null ? pool.get(rtClass.getName()) : CtClass.voidType;
+		CtClass returnType = JavassistEndpointApiUtils.makeType(pool, rtClass);
 		CtClass[] exceptions = new CtClass[] { pool.get("java.lang.Exception") };
 		// 方法参数
-		CtClass[] parameters = JaxrsEndpointApiUtils.makeParams(pool, params);
+		CtClass[] parameters = makeParams(pool, params);
 		CtMethod ctMethod = null;
 		// 有参方法
 		if(parameters != null && parameters.length > 0) {
@@ -187,8 +197,29 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 			ctMethod = CtNewMethod.abstractMethod(returnType, method.getName(), null , exceptions, declaring);
 		}
 		
-		// 为方法添加 @HttpMethod、 @GET、 @POST、 @PUT、 @DELETE、 @PATCH、 @HEAD、 @OPTIONS、@Path、、@Consumes、@Produces、@RestBound、@RestParam 注解
-        JaxrsEndpointApiUtils.methodAnnotations(ctMethod, constPool, method, bound, params);
+		// 为方法添加 @GET、 @POST、 @PUT、 @DELETE、 @PATCH、 @HEAD、 @OPTIONS、@Path、@Consumes、@Produces、@WebBound 注解
+		JavassistEndpointApiUtils.addMethodAnnotation(ctMethod,
+				JavassistEndpointApiUtils.annotation(constPool, JaxrsEndpointApiUtils.httpMethodType(method)));
+		if (StringUtils.isNotBlank(method.getPath())) {
+			JavassistEndpointApiUtils.addMethodAnnotation(ctMethod,
+					JavassistEndpointApiUtils.annotation(constPool, Path.class, "value", method.getPath()));
+		}
+		String[] mediaTypes = ArrayUtils.isEmpty(method.getMediaTypes()) ? new String[] { "*/*" } : method.getMediaTypes();
+		JavassistEndpointApiUtils.addMethodAnnotation(ctMethod,
+				JavassistEndpointApiUtils.annotation(constPool, Produces.class, "value", mediaTypes));
+		if (ArrayUtils.isNotEmpty(method.getConsumes())) {
+			JavassistEndpointApiUtils.addMethodAnnotation(ctMethod,
+					JavassistEndpointApiUtils.annotation(constPool, Consumes.class, "value", method.getConsumes()));
+		}
+		if (bound != null) {
+			JavassistEndpointApiUtils.addMethodAnnotation(ctMethod, annotWebBound(constPool, bound));
+		}
+		// 为参数添加 @BeanParam 、@CookieParam、@FormParam、@HeaderParam、@MatrixParam、@PathParam、@QueryParam、@DefaultValue 注解
+		Annotation[][] parameterAnnotations = new Annotation[parameters.length][];
+		for (int i = 0; i < parameters.length; i++) {
+			parameterAnnotations[i] = annotParam(constPool, params[i]);
+		}
+		JavassistEndpointApiUtils.setParameterAnnotations(ctMethod, parameterAnnotations);
         
         //新增方法
         declaring.addMethod(ctMethod);
@@ -222,10 +253,10 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 		if(params != null && params.length > 0) {
 			
 			// 方法参数
-			CtClass[] parameters = JaxrsEndpointApiUtils.makeParams(pool, params);
+			CtClass[] parameters = makeParams(pool, params);
 			
 			// 检查方法是否已经定义
-			if(!JavassistUtils.hasMethod(declaring, methodName, parameters)) {
+			if(!JavassistEndpointApiUtils.hasMethod(declaring, methodName, parameters)) {
 				return this;
 			}
 			
@@ -235,7 +266,7 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 		else {
 			
 			// 检查方法是否已经定义
-			if(!JavassistUtils.hasMethod(declaring, methodName)) {
+			if(!JavassistEndpointApiUtils.hasMethod(declaring, methodName)) {
 				return this;
 			}
 			
@@ -246,11 +277,50 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 		return this;
 	}
 	
+	/**
+	 * 构造方法参数类型
+	 */
+	static CtClass[] makeParams(final ClassPool pool, final RestParam<?>... params) throws NotFoundException {
+		Class<?>[] types = new Class<?>[params != null ? params.length : 0];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = params[i].getType();
+		}
+		return JavassistEndpointApiUtils.makeParams(pool, types);
+	}
+	
+	private static Annotation annotWebBound(final ConstPool constPool, final RestBound bound) {
+		return JavassistEndpointApiUtils.annotation(constPool, WebBound.class,
+				"uid", StringUtils.defaultString(bound.getUid()),
+				"json", StringUtils.defaultIfBlank(bound.getJson(), "{}"));
+	}
+	
+	private static Annotation[] annotParam(final ConstPool constPool, final RestParam<?> param) {
+		Annotation annotation = HttpParamEnum.BEAN.compareTo(param.getFrom()) != 0
+				? JavassistEndpointApiUtils.annotation(constPool, JaxrsEndpointApiUtils.paramType(param), "value", param.getName())
+				: JavassistEndpointApiUtils.annotation(constPool, JaxrsEndpointApiUtils.paramType(param));
+		// 有默认值
+		if (StringUtils.isNotBlank(param.getDef())) {
+			return new Annotation[] { annotation,
+					JavassistEndpointApiUtils.annotation(constPool, DefaultValue.class, "value", param.getDef()) };
+		}
+		return new Annotation[] { annotation };
+	}
+	
 	@Override
 	public CtClass build() {
         return declaring;
 	}
 	
+	/**
+	 * 释放构建过程中使用的 ClassPool：从中删除当前 CtClass，使用 {@link EndpointClassPool} 时释放其全部缓存
+	 */
+	public void release() {
+		declaring.detach();
+		if (pool instanceof EndpointClassPool) {
+			((EndpointClassPool) pool).release();
+		}
+	}
+	
 	/**
 	 * 
 	 * javassist在加载类时会用Hashtable将类信息缓存到内存中，这样随着类的加载，内存会越来越大，甚至导致内存溢出。如果应用中要加载的类比较多，建议在使用完CtClass之后删除缓存
@@ -260,8 +330,8 @@ public class EndpointApiInterfaceCtClassBuilder implements Builder<CtClass> {
 	 */
 	public Class<?> toClass() throws CannotCompileException {
         try {
-        	// 通过类加载器加载该CtClass
-			return declaring.toClass();
+        	// 通过新的类加载器加载该CtClass
+			return JavassistEndpointApiUtils.toClass(declaring);
 		} finally {
 			// 将该class从ClassPool中删除
 			declaring.detach();
@@ -2,7 +2,7 @@ package org.apache.cxf.endpoint.jaxrs.definition;
 
 import java.util.NoSuchElementException;
 
-import javax.ws.rs.HttpMethod;
+import jakarta.ws.rs.HttpMethod;
 
 public enum HttpMethodEnum {
 	
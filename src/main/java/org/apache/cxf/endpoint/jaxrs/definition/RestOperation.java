@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.jaxrs.definition;
+
+/**
+ * 方法定义：返回类型、方法信息、绑定数据以及参数，对应一次 EndpointApiBuilder.newMethod 调用
+ */
+public class RestOperation {
+
+	private final Class<?> rtClass;
+	private final RestMethod method;
+	private final RestBound bound;
+	private final RestParam<?>[] params;
+
+	public RestOperation(Class<?> rtClass, RestMethod method, RestParam<?>... params) {
+		this(rtClass, method, null, params);
+	}
+
+	public RestOperation(Class<?> rtClass, RestMethod method, RestBound bound, RestParam<?>... params) {
+		this.rtClass = rtClass;
+		this.method = method;
+		this.bound = bound;
+		this.params = params != null ? params : new RestParam<?>[0];
+	}
+
+	public Class<?> getRtClass() {
+		return rtClass;
+	}
+
+	public RestMethod getMethod() {
+		return method;
+	}
+
+	public RestBound getBound() {
+		return bound;
+	}
+
+	public RestParam<?>[] getParams() {
+		return params;
+	}
+
+}
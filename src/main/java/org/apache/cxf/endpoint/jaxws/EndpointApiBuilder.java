@@ -1,40 +1,27 @@
 package org.apache.cxf.endpoint.jaxws;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
-import javax.jws.WebMethod;
-import javax.jws.WebService;
-import javax.xml.ws.Service;
-import javax.xml.ws.Service.Mode;
-import javax.xml.ws.ServiceMode;
-import javax.xml.ws.WebServiceProvider;
-import javax.xml.ws.soap.Addressing;
-import javax.xml.ws.soap.AddressingFeature.Responses;
+import jakarta.jws.WebParam.Mode;
+import jakarta.xml.ws.Service;
+import jakarta.xml.ws.soap.AddressingFeature.Responses;
 
-import org.apache.commons.lang3.StringUtils;
+import org.apache.cxf.endpoint.AbstractFluentEndpointApiBuilder;
 import org.apache.cxf.endpoint.EndpointApi;
-import org.apache.cxf.endpoint.agent.TimingInterceptor;
-import org.apache.cxf.endpoint.annotation.WebBound;
+import org.apache.cxf.endpoint.dispatch.OperationDescriptor;
 import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
 import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
 import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
 import org.apache.cxf.endpoint.jaxws.definition.SoapResult;
 import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+import org.apache.cxf.endpoint.naming.DigestNamingStrategy;
 import org.apache.cxf.endpoint.utils.JaxwsEndpointApiUtils;
 
-import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.NamingStrategy;
-import net.bytebuddy.description.method.MethodDescription;
-import net.bytebuddy.description.type.TypeDescription;
-import net.bytebuddy.dynamic.DynamicType.Builder.MethodDefinition.ParameterDefinition.Initial;
-import net.bytebuddy.dynamic.DynamicType.Unloaded;
-import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
-import net.bytebuddy.implementation.FixedValue;
-import net.bytebuddy.implementation.MethodDelegation;
-import net.bytebuddy.matcher.ElementMatchers;
-import net.bytebuddy.utility.RandomString;
+import net.bytebuddy.description.annotation.AnnotationDescription;
 
 /**
  * 
@@ -45,23 +32,16 @@ import net.bytebuddy.utility.RandomString;
  * @see https://www.jianshu.com/p/f55bfa7d472c
  * @see https://blog.csdn.net/qq_26761587/article/details/78798194
  */
-public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.commons.lang3.builder.Builder<Unloaded<T>> {
+public class EndpointApiBuilder<T extends EndpointApi> extends AbstractFluentEndpointApiBuilder<T, EndpointApiBuilder<T>> {
 
-	// 构建动态类
-	protected net.bytebuddy.dynamic.DynamicType.Builder<? extends EndpointApi> builder = null;
-	protected RandomString randomString = new RandomString(8);
 	protected static final String PREFIX = "org.apache.cxf.endpoint.jaxws.";
 
+	/**
+	 * 按定义的结构指纹命名生成的类，相同的定义在每次启动时得到相同的类名
+	 * @see DigestNamingStrategy
+	 */
 	public EndpointApiBuilder() {
-
-		builder = new ByteBuddy().with(new NamingStrategy.AbstractBase() {
-			@Override
-			protected String name(TypeDescription typeDescription) {
-				return PREFIX + typeDescription.getSimpleName() + "$" + randomString.nextString();
-			}
-
-		}).subclass(EndpointApi.class);
-
+		super(new DigestNamingStrategy(PREFIX));
 	}
 
 	/**
@@ -69,22 +49,14 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	 * @param randomName
 	 */
 	public EndpointApiBuilder(String prefix, boolean randomName) {
-
-		builder = new ByteBuddy().with(new NamingStrategy.AbstractBase() {
-			@Override
-			protected String name(TypeDescription typeDescription) {
-				return prefix + typeDescription.getSimpleName() + (randomName ? ("$" + randomString.nextString()) : "");
-			}
-
-		}).subclass(EndpointApi.class);
-
+		super(prefix, randomName);
 	}
 
 	/**
 	 * @param name The fully qualified name of the generated class in a binary format.
 	 */
 	public EndpointApiBuilder(String name) {
-		builder = new ByteBuddy().subclass(EndpointApi.class).name(name);
+		super(name);
 	}
 
 	/**
@@ -92,7 +64,15 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	 * @param namingStrategy ： The naming strategy to apply when creating a new auxiliary type.
 	 */
 	public EndpointApiBuilder(final NamingStrategy namingStrategy) {
-		builder = new ByteBuddy().with(namingStrategy).subclass(EndpointApi.class);
+		super(namingStrategy);
+	}
+
+	/**
+	 * 隐藏类定义在 {@value #PREFIX} 包中，见 {@link #hiddenClass()}
+	 */
+	@Override
+	protected MethodHandles.Lookup lookup() {
+		return MethodHandles.lookup();
 	}
 
 	/**
@@ -103,12 +83,11 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	 * @return
 	 */
 	public EndpointApiBuilder<T> webService(final String name, final String targetNamespace) {
-		this.webService(targetNamespace, targetNamespace, null, null, null, null);
-		return this;
+		return this.webService(name, targetNamespace, null, null, null, null);
 	}
 
-	public EndpointApiBuilder webService(final String name, final String targetNamespace, String serviceName) {
-		return this.webService(targetNamespace, targetNamespace, serviceName, null, null, null);
+	public EndpointApiBuilder<T> webService(final String name, final String targetNamespace, String serviceName) {
+		return this.webService(name, targetNamespace, serviceName, null, null, null);
 	}
 
 	/**
@@ -131,6 +110,8 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	public EndpointApiBuilder<T> webService(final String name, final String targetNamespace, String serviceName,
 			String portName, String wsdlLocation, String endpointInterface) {
 
+		fingerprint.append("webService", name, targetNamespace, serviceName, portName, wsdlLocation,
+				endpointInterface);
 		builder = JaxwsEndpointApiUtils.annotWebService(builder, name, targetNamespace, serviceName, portName,
 				wsdlLocation, endpointInterface);
 
@@ -164,6 +145,7 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	public EndpointApiBuilder<T> webServiceProvider(final String wsdlLocation, final String serviceName,
 			final String targetNamespace, final String portName) {
 
+		fingerprint.append("webServiceProvider", wsdlLocation, serviceName, targetNamespace, portName);
 		builder = JaxwsEndpointApiUtils.annotWebServiceProvider(builder, wsdlLocation, serviceName, targetNamespace,
 				portName);
 
@@ -176,6 +158,7 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	public EndpointApiBuilder<T> addressing(final boolean enabled, final boolean required,
 			final Responses responses) {
 
+		fingerprint.append("addressing", enabled, required, responses);
 		builder = JaxwsEndpointApiUtils.annotAddressing(builder, enabled, required, responses);
 
 		return this;
@@ -186,6 +169,7 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	 */
 	public EndpointApiBuilder<T> serviceMode(final Service.Mode mode) {
 
+		fingerprint.append("serviceMode", mode);
 		builder = JaxwsEndpointApiUtils.annotServiceMode(builder, mode);
 
 		return this;
@@ -199,34 +183,22 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	}
 
 	/**
-	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定
+	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定；模板模式下数据只注入到实例中
 	 */
 	public EndpointApiBuilder<T> bind(final SoapBound bound) {
 
-		builder = builder.annotateType(new WebBound() {
-
-			@Override
-			public Class<? extends java.lang.annotation.Annotation> annotationType() {
-				return WebBound.class;
-			}
-
-			@Override
-			public String uid() {
-				return bound.getUid();
-			}
-
-			@Override
-			public String json() {
-				return bound.getJson();
-			}
-
-		});
+		if (!isTemplate()) {
+			fingerprint.append("bound", bound.getUid(), bound.getJson());
+			builder = JaxwsEndpointApiUtils.annotWebBound(builder, bound);
+		}
+		setBound(bound.getUid(), bound.getJson());
 
 		return this;
 	}
 
-	public <T> EndpointApiBuilder newField(final Class<T> fieldClass, final String fieldName,
+	public <F> EndpointApiBuilder<T> newField(final Class<F> fieldClass, final String fieldName,
 			final String fieldValue) {
+		fingerprint.append("field", fieldClass, fieldName, fieldValue);
 		builder = builder.defineField(fieldName, fieldClass, Modifier.PROTECTED).value(fieldValue);
 		return this;
 	}
@@ -243,9 +215,9 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	 *            ： 参数信息
 	 * @return
 	 */
-	public <T> EndpointApiBuilder newMethod(final Class<T> rtClass, final String methodName,
+	public <R> EndpointApiBuilder<T> newMethod(final Class<R> rtClass, final String methodName,
 			SoapParam<?>... params) {
-		return this.newMethod(new SoapResult<T>(rtClass), new SoapMethod(methodName), null, params);
+		return this.newMethod(new SoapResult<R>(rtClass), new SoapMethod(methodName), null, params);
 	}
 
 	/**
@@ -261,9 +233,9 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	 *            ： 参数信息
 	 * @return
 	 */
-	public <T> EndpointApiBuilder newMethod(final Class<T> rtClass, final String methodName,
+	public <R> EndpointApiBuilder<T> newMethod(final Class<R> rtClass, final String methodName,
 			final SoapBound bound, SoapParam<?>... params) {
-		return this.newMethod(new SoapResult<T>(rtClass), new SoapMethod(methodName), bound, params);
+		return this.newMethod(new SoapResult<R>(rtClass), new SoapMethod(methodName), bound, params);
 	}
 
 	/**
@@ -280,87 +252,60 @@ public class EndpointApiBuilder<T extends EndpointApi> implements org.apache.com
 	 *            ： 参数信息
 	 * @return
 	 */
-	public <T> EndpointApiBuilder newMethod(final SoapResult<T> result, final SoapMethod method,
+	public <R> EndpointApiBuilder<T> newMethod(final SoapResult<R> result, final SoapMethod method,
 			final SoapBound bound, SoapParam<?>... params) {
 
-		Initial<? extends Object> initial = builder.defineMethod(method.getOperationName(), result.getRtClass());
-		// 有参方法
-		if (params != null && params.length > 0) {
-			for (int i = 0; i < params.length; i++) {
-				initial.withParameter(params[i].getType(), params[i].getName(), Modifier.PUBLIC);
-			}
+		SoapParam<?>[] parameters = params != null ? params : new SoapParam<?>[0];
+		Class<?> returnType = result != null ? result.getRtClass() : null;
+
+		fingerprint.append("method", returnType, method.getOperationName(), method.getAction(), method.isExclude());
+		if (result != null) {
+			fingerprint.append("result", result.getName(), result.getTargetNamespace(), result.isHeader(),
+					result.getPartName());
+		}
+		if (bound != null) {
+			fingerprint.append("methodBound", bound.getUid(), bound.getJson());
 		}
 
-		initial.throwing(Exception.class);
+		Class<?>[] parameterTypes = new Class<?>[parameters.length];
+		String[] parameterNames = new String[parameters.length];
+		AnnotationDescription[][] parameterAnnotations = new AnnotationDescription[parameters.length][];
+		List<OperationDescriptor.Parameter> parameterDescriptors = new ArrayList<OperationDescriptor.Parameter>();
+		for (int i = 0; i < parameters.length; i++) {
+			fingerprint.append("param", parameters[i].getType(), parameters[i].getName(), parameters[i].getPartName(),
+					parameters[i].getTargetNamespace(), parameters[i].getMode(), parameters[i].isHeader());
+			parameterTypes[i] = parameters[i].getType();
+			parameterNames[i] = parameters[i].getName();
+			parameterAnnotations[i] = new AnnotationDescription[] { JaxwsEndpointApiUtils.annotWebParam(parameters[i]) };
+			Mode mode = parameters[i].getMode();
+			parameterDescriptors.add(new OperationDescriptor.Parameter(parameters[i].getType(), parameters[i].getName(),
+					mode != null ? mode.name() : null, parameters[i].getPartName(), parameters[i].getTargetNamespace(),
+					parameters[i].isHeader(), null));
+		}
 
-		/*
-		 * // 设置方法体 JaxwsEndpointApiUtils.methodBody(ctMethod, method); // 设置方法异常捕获逻辑
-		 * JaxwsEndpointApiUtils.methodCatch(pool, ctMethod); //
-		 * 为方法添加 @WebMethod、 @WebResult、@WebBound、@WebParam 注解
-		 * JaxwsEndpointApiUtils.methodAnnotations(ctMethod, constPool, result, method,
-		 * bound, params);
-		 * 
-		 */
-		return this;
-	}
+		// 为方法添加 @WebMethod、 @WebResult、@WebBound、@WebParam 注解
+		List<AnnotationDescription> methodAnnotations = new ArrayList<AnnotationDescription>();
+		methodAnnotations.add(JaxwsEndpointApiUtils.annotWebMethod(method));
+		if (result != null) {
+			methodAnnotations.add(JaxwsEndpointApiUtils.annotWebResult(result));
+		}
+		if (bound != null) {
+			methodAnnotations.add(JaxwsEndpointApiUtils.annotWebBound(bound));
+		}
 
-	@Override
-	public Unloaded<? extends Object> build() {
-		return builder.make();
-	}
+		// 方法元数据，随生成类一起保存，调用时直接交给处理器
+		OperationDescriptor.Result resultDescriptor = result != null
+				? new OperationDescriptor.Result(returnType, result.getName(), result.getPartName(),
+						result.getTargetNamespace(), result.isHeader())
+				: new OperationDescriptor.Result(null, null, null, null, false);
+		OperationDescriptor operation = new OperationDescriptor(operationCount, method.getOperationName(),
+				method.getAction(), null, null, null, bound != null ? bound.getUid() : null,
+				bound != null ? bound.getJson() : null, parameterDescriptors, resultDescriptor);
 
-	/**
-	 * 
-	 * javassist在加载类时会用Hashtable将类信息缓存到内存中，这样随着类的加载，内存会越来越大，甚至导致内存溢出。如果应用中要加载的类比较多，建议在使用完CtClass之后删除缓存
-	 * 
-	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
-	 * @return
-	 * @throws CannotCompileException
-	 */
-	public Class<?> toClass() {
-		// 通过类加载器加载该CtClass
-		return builder.make().load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
-	}
+		defineMethod(method.getOperationName(), returnType, parameterTypes, parameterNames, parameterAnnotations,
+				methodAnnotations, operation);
 
-	public Object toInstance(final InvocationHandler handler) throws InstantiationException, IllegalAccessException,
-			IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
-		try {
-			
-			
-			builder.method(ElementMatchers.anyOf(WebMethod.class))
-					.intercept(MethodDelegation.to(TimingInterceptor.class)).make().load(getClass().getClassLoader())
-					.getLoaded();
-
-			/*
-			 * builder.transform((builder, type, classLoader, module) -> builder
-			 * .method(ElementMatchers.any())
-			 * .intercept(MethodDelegation.to(TimingInterceptor.class)));
-			 */
-			/*
-			 * builder.transform(ElementMatchers.annotationType(WebMethod.class)., new
-			 * Transformer<Extendable>() {
-			 * 
-			 * 
-			 * 
-			 * @Override public Extendable transform(TypeDescription instrumentedType,
-			 * Extendable target) { builder .method(ElementMatchers.any())
-			 * .intercept(MethodDelegation.to(TimingInterceptor.class)); }
-			 * 
-			 * });
-			 */
-
-			/*
-			 * builder.defineConstructor(Arrays.<Class<?>>asList(InvocationHandler.class),
-			 * Visibility.PUBLIC);
-			 * 
-			 * builder.defineConstructor(InvocationHandler.class, Visibility.PUBLIC);
-			 */
-
-			// 通过类加载器加载该CtClass，并通过构造器初始化对象
-			return builder.make().load(ClassLoader.getSystemClassLoader()).getLoaded()
-					.getConstructor(InvocationHandler.class).newInstance(handler);
-		} finally {
-		}
+		return this;
 	}
 
-}
\ No newline at end of file
+}
@@ -7,14 +7,14 @@ import jakarta.xml.ws.Service;
 import jakarta.xml.ws.soap.AddressingFeature.Responses;
 
 import org.apache.commons.lang3.builder.Builder;
+import org.apache.cxf.endpoint.EndpointApi;
 import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
 import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
 import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
 import org.apache.cxf.endpoint.jaxws.definition.SoapResult;
 import org.apache.cxf.endpoint.jaxws.definition.SoapService;
-import org.apache.cxf.endpoint.utils.JaxwsEndpointApiUtils;
-
-import com.github.hiwepy.javassist.utils.ClassPoolFactory;
+import org.apache.cxf.endpoint.utils.EndpointClassPool;
+import org.apache.cxf.endpoint.utils.JavassistEndpointApiUtils;
 
 import javassist.CannotCompileException;
 import javassist.ClassPool;
@@ -24,29 +24,35 @@ import javassist.NotFoundException;
 
 /**
  * 
- * 动态构建ws接口
+ * 使用 Javassist 动态构建ws实现类：接口由 {@link EndpointApiInterfaceBuilder} 构建，实现类继承 {@link EndpointApi}，
+ * 方法调用交给构造时传入的 InvocationHandler 处理
  * @see http://www.cnblogs.com/sunfie/p/5154246.html
  * @see http://blog.csdn.net/youaremoon/article/details/50766972
  * @see https://my.oschina.net/GameKing/blog/794580
  * @see http://wsmajunfeng.iteye.com/blog/1912983
  */
-public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builder<CtClass> {
+public class EndpointApiImplBuilder implements Builder<CtClass> {
 
     /** 
-     * 生成的实现类名前缀 
+     * 生成的实现类名后缀 
      */  
-    private static final String IMPL_CLASSNAME_PREFIX = "$Impl";  
+    private static final String IMPL_CLASSNAME_SUFFIX = "$Impl";  
+	private ClassPool pool = null;
+	private CtClass declaring = null;
 	private EndpointApiInterfaceBuilder classBuilder;
 	
 	public EndpointApiImplBuilder(final String classname) throws CannotCompileException, NotFoundException  {
-		this(ClassPoolFactory.getDefaultPool(), classname);
+		// 每次构建使用独立的 ClassPool，构建完成后通过 release() 释放
+		this(new EndpointClassPool(), classname);
 	}
   
 	public EndpointApiImplBuilder(final ClassPool pool, final String classname) throws CannotCompileException, NotFoundException {
 		
-		super(pool, classname + "." + IMPL_CLASSNAME_PREFIX);
-		
+		this.pool = pool;
 		this.classBuilder = new EndpointApiInterfaceBuilder(pool, classname);
+		this.declaring = pool.makeClass(classname + IMPL_CLASSNAME_SUFFIX, pool.get(EndpointApi.class.getName()));
+		// 设置接口
+		this.declaring.addInterface(classBuilder.build());
 		
 	}
 	
@@ -61,7 +67,7 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 	/**
 	 * 添加类注解 @ServiceMode
 	 */
-	public EndpointApiBuilder serviceMode(final Service.Mode mode) {
+	public EndpointApiImplBuilder serviceMode(final Service.Mode mode) {
 		
 		this.classBuilder.serviceMode(mode);
         
@@ -71,7 +77,7 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 	/**
 	 * 添加类注解 @WebServiceProvider
 	 */
-	public EndpointApiBuilder webServiceProvider(String wsdlLocation, String serviceName,
+	public EndpointApiImplBuilder webServiceProvider(String wsdlLocation, String serviceName,
 			String targetNamespace, String portName) {
 
 		this.classBuilder.webServiceProvider(wsdlLocation, serviceName, targetNamespace, portName);
@@ -82,7 +88,7 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 	/**
 	 * 添加类注解 @Addressing
 	 */
-	public EndpointApiBuilder annotAddressing(final boolean enabled, final boolean required,
+	public EndpointApiImplBuilder annotAddressing(final boolean enabled, final boolean required,
 			final Responses responses) {
 		
 		this.classBuilder.addressing(enabled, required, responses);
@@ -90,6 +96,13 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 		return this;
 	}
 	
+	/**
+	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定
+	 */
+	public EndpointApiImplBuilder bind(final String uid, final String json) {
+		return bind(new SoapBound(uid, json));
+	}
+	
 	/**
 	 * 通过给动态类增加 <code>@WebBound</code>注解实现，数据的绑定
 	 */
@@ -98,6 +111,19 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 		return this;
 	}
 	
+	/**
+	 * 根据参数构造一个新的方法
+	 * @param rtClass 		：方法返回类型
+	 * @param methodName 	：方法名称
+	 * @param params		： 参数信息
+	 * @return
+	 * @throws CannotCompileException
+	 * @throws NotFoundException 
+	 */
+	public <T> EndpointApiImplBuilder newMethod(final Class<T> rtClass, final String methodName, SoapParam<?>... params) throws CannotCompileException, NotFoundException {
+		return this.newMethod(new SoapResult<T>(rtClass), new SoapMethod(methodName), null, params);
+	}
+	
 	/**
 	 * 根据参数构造一个新的方法
 	 * @param result ：返回结果信息
@@ -108,25 +134,16 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 	 * @throws CannotCompileException
 	 * @throws NotFoundException 
 	 */ 
-	@Override
 	public <T> EndpointApiImplBuilder newMethod(final SoapResult<T> result, final SoapMethod method, final SoapBound bound, SoapParam<?>... params) throws CannotCompileException, NotFoundException {
+		// 接口中声明带注解的抽象方法
 		this.classBuilder.abstractMethod(result, method, bound, params);
-		CtClass returnType = result != null ? pool.get(result.getRtClass().getName()) : CtClass.voidType;
-		CtMethod ctMethod = null;
+		CtClass returnType = JavassistEndpointApiUtils.makeType(pool, result != null ? result.getRtClass() : null);
 		// 方法参数
-		CtClass[] parameters = JaxwsEndpointApiUtils.makeParams(pool, params);
-		// 有参方法
-		if(parameters != null && parameters.length > 0) {
-			ctMethod = new CtMethod(returnType, method.getOperationName(), parameters, declaring);
-		} 
-		// 无参方法 
-		else {
-			ctMethod = new CtMethod(returnType, method.getOperationName() , null, declaring);
-		}
+		CtClass[] parameters = EndpointApiInterfaceBuilder.makeParams(pool, params);
+		CtMethod ctMethod = new CtMethod(returnType, method.getOperationName(), parameters, declaring);
+		ctMethod.setExceptionTypes(new CtClass[] { pool.get("java.lang.Exception") });
         // 设置方法体
-        JaxwsEndpointApiUtils.methodBody(ctMethod, method);
-        // 设置方法异常捕获逻辑
-        JaxwsEndpointApiUtils.methodCatch(pool, ctMethod);
+        JavassistEndpointApiUtils.methodBody(ctMethod, classBuilder.build());
         
         //新增方法
         declaring.addMethod(ctMethod);
@@ -136,15 +153,17 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 	
 	@Override
 	public CtClass build() {
-		try {
-			// 设置接口
-			declaring.setSuperclass(classBuilder.build());
-		} catch (CannotCompileException e) {
-			e.printStackTrace();
-		}
         return declaring;
 	}
 	
+	/**
+	 * 释放构建过程中使用的 ClassPool，实现类与接口共用同一个 ClassPool
+	 */
+	public void release() {
+		declaring.detach();
+		classBuilder.release();
+	}
+	
 	/**
 	 * 
 	 * javassist在加载类时会用Hashtable将类信息缓存到内存中，这样随着类的加载，内存会越来越大，甚至导致内存溢出。如果应用中要加载的类比较多，建议在使用完CtClass之后删除缓存
@@ -154,29 +173,20 @@ public class EndpointApiImplBuilder extends EndpointApiBuilder implements Builde
 	 */
 	public Class<?> toClass() throws CannotCompileException {
         try {
-        	// 设置接口
-   			declaring.setSuperclass(classBuilder.build());
-        	// 通过类加载器加载该CtClass
-			return declaring.toClass();
+        	// 实现类与接口在同一个新的类加载器中加载
+			return JavassistEndpointApiUtils.toClass(declaring, classBuilder.build());
 		} finally {
-			// 将该class从ClassPool中删除
+			// 将实现类与接口从ClassPool中删除
 			declaring.detach();
+			classBuilder.build().detach();
 		} 
 	}
 	
-	@SuppressWarnings("unchecked")
-	public Object toInstance(final InvocationHandler handler) throws CannotCompileException, NotFoundException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
-        try {
-        	// 设置接口
-        	declaring.setSuperclass(classBuilder.build());
-        	// 设置InvocationHandler参数构造器
-			declaring.addConstructor(JaxwsEndpointApiUtils.makeConstructor(pool, declaring));
-			// 通过类加载器加载该CtClass，并通过构造器初始化对象
-			return declaring.toClass().getConstructor(InvocationHandler.class).newInstance(handler);
-		} finally {
-			// 将该class从ClassPool中删除
-			declaring.detach();
-		} 
+	public EndpointApi toInstance(final InvocationHandler handler) throws CannotCompileException, NotFoundException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+		// 设置InvocationHandler参数构造器
+		declaring.addConstructor(JavassistEndpointApiUtils.makeConstructor(pool, declaring));
+		// 通过类加载器加载该CtClass，并通过构造器初始化对象
+		return (EndpointApi) toClass().getConstructor(InvocationHandler.class).newInstance(handler);
 	}
 
 }
\ No newline at end of file
@@ -1,18 +1,25 @@
 package org.apache.cxf.endpoint.jaxws;
 
-import javax.xml.ws.Service;
-import javax.xml.ws.soap.AddressingFeature.Responses;
+import jakarta.jws.WebMethod;
+import jakarta.jws.WebParam;
+import jakarta.jws.WebResult;
+import jakarta.jws.WebService;
+import jakarta.xml.ws.Service;
+import jakarta.xml.ws.ServiceMode;
+import jakarta.xml.ws.WebServiceProvider;
+import jakarta.xml.ws.soap.Addressing;
+import jakarta.xml.ws.soap.AddressingFeature.Responses;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.Builder;
+import org.apache.cxf.endpoint.annotation.WebBound;
 import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
 import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
 import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
 import org.apache.cxf.endpoint.jaxws.definition.SoapResult;
 import org.apache.cxf.endpoint.jaxws.definition.SoapService;
-import org.apache.cxf.endpoint.utils.JaxwsEndpointApiUtils;
-
-import com.github.hiwepy.javassist.utils.ClassPoolFactory;
-import com.github.hiwepy.javassist.utils.JavassistUtils;
+import org.apache.cxf.endpoint.utils.EndpointClassPool;
+import org.apache.cxf.endpoint.utils.JavassistEndpointApiUtils;
 
 import javassist.CannotCompileException;
 import javassist.ClassPool;
@@ -45,13 +52,14 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 	//private Loader loader = new Loader(pool);
 	
 	public EndpointApiInterfaceBuilder(final String classname) throws CannotCompileException, NotFoundException  {
-		this(ClassPoolFactory.getDefaultPool(), classname);
+		// 每次构建使用独立的 ClassPool，构建完成后通过 release() 释放
+		this(new EndpointClassPool(), classname);
 	}
 	
 	public EndpointApiInterfaceBuilder(final ClassPool pool, final String classname) throws CannotCompileException, NotFoundException {
 		
 		this.pool = pool;
-		this.declaring = JaxwsEndpointApiUtils.makeInterface(pool, classname);
+		this.declaring = pool.makeInterface(classname);
 		
 		/* 指定 Cloneable 作为动态接口的父类 */
 		CtClass superclass = pool.get(Cloneable.class.getName());
@@ -96,8 +104,14 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 	public EndpointApiInterfaceBuilder webService(final SoapService service) {
 
 		ConstPool constPool = this.classFile.getConstPool();
-		Annotation annot = JaxwsEndpointApiUtils.annotWebService(constPool, service);
-		JavassistUtils.addClassAnnotation(declaring, annot);
+		Annotation annot = JavassistEndpointApiUtils.annotation(constPool, WebService.class,
+				"name", StringUtils.defaultIfBlank(service.getName(), null),
+				"targetNamespace", StringUtils.defaultIfBlank(service.getTargetNamespace(), null),
+				"serviceName", StringUtils.defaultIfBlank(service.getServiceName(), null),
+				"portName", StringUtils.defaultIfBlank(service.getPortName(), null),
+				"wsdlLocation", StringUtils.defaultIfBlank(service.getWsdlLocation(), null),
+				"endpointInterface", StringUtils.defaultIfBlank(service.getEndpointInterface(), null));
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, annot);
 		
 		return this;
 	}
@@ -108,8 +122,8 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 	public EndpointApiInterfaceBuilder serviceMode(final Service.Mode mode) {
 		
 		ConstPool constPool = this.classFile.getConstPool();
-		Annotation annot = JaxwsEndpointApiUtils.annotServiceMode(constPool, mode);
-		JavassistUtils.addClassAnnotation(declaring, annot);
+		Annotation annot = JavassistEndpointApiUtils.annotation(constPool, ServiceMode.class, "value", mode);
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, annot);
         
 		return this;
 	}
@@ -121,9 +135,12 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 			String targetNamespace, String portName) {
 
 		ConstPool constPool = this.classFile.getConstPool();
-		Annotation annot = JaxwsEndpointApiUtils.annotWebServiceProvider(constPool, wsdlLocation, serviceName,
-				targetNamespace, portName);
-		JavassistUtils.addClassAnnotation(declaring, annot);
+		Annotation annot = JavassistEndpointApiUtils.annotation(constPool, WebServiceProvider.class,
+				"wsdlLocation", StringUtils.defaultIfBlank(wsdlLocation, null),
+				"serviceName", StringUtils.defaultIfBlank(serviceName, null),
+				"targetNamespace", StringUtils.defaultIfBlank(targetNamespace, null),
+				"portName", StringUtils.defaultIfBlank(portName, null));
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, annot);
 
 		return this;
 	}
@@ -135,8 +152,11 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 			final Responses responses) {
 		
 		ConstPool constPool = this.classFile.getConstPool();
-		Annotation annot = JaxwsEndpointApiUtils.annotAddressing(constPool, enabled, required, responses);
-		JavassistUtils.addClassAnnotation(declaring, annot);
+		Annotation annot = JavassistEndpointApiUtils.annotation(constPool, Addressing.class,
+				"enabled", enabled,
+				"required", required,
+				"responses", responses);
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, annot);
         
 		return this;
 	}
@@ -154,8 +174,7 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 	public EndpointApiInterfaceBuilder bind(final SoapBound bound) {
 
 		ConstPool constPool = this.classFile.getConstPool();
-		Annotation annot = JaxwsEndpointApiUtils.annotWebBound(constPool, bound);
-		JavassistUtils.addClassAnnotation(declaring, annot);
+		JavassistEndpointApiUtils.addClassAnnotation(declaring, annotWebBound(constPool, bound));
 		
 		return this;
 	}
@@ -182,13 +201,14 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 	public <T> EndpointApiInterfaceBuilder newField(final Class<T> fieldClass, final String fieldName, final String fieldValue) throws CannotCompileException, NotFoundException {
 		
 		// 检查字段是否已经定义
-		if(JavassistUtils.hasField(declaring, fieldName)) {
+		if(JavassistEndpointApiUtils.hasField(declaring, fieldName)) {
 			return this;
 		}
 		
 		/** 添加属性字段 */
 		CtField field = new CtField(this.pool.get(fieldClass.getName()), fieldName, declaring);
-        field.setModifiers(Modifier.PUBLIC);
+        // 接口中的字段只能是常量
+        field.setModifiers(Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL);
 
         //新增Field
         declaring.addField(field, "\"" + fieldValue + "\"");
@@ -199,7 +219,7 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 	public <T> EndpointApiInterfaceBuilder removeField(final String fieldName) throws NotFoundException {
 		
 		// 检查字段是否已经定义
-		if(!JavassistUtils.hasField(declaring, fieldName)) {
+		if(!JavassistEndpointApiUtils.hasField(declaring, fieldName)) {
 			return this;
 		}
 		
@@ -253,10 +273,10 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 		ConstPool constPool = this.classFile.getConstPool();
 		
 		// 创建抽象方法
-		CtClass returnType = result != null ? pool.get(result.getRtClass().getName()) : CtClass.voidType;
+		CtClass returnType = JavassistEndpointApiUtils.makeType(pool, result != null ? result.getRtClass() : null);
 		CtClass[] exceptions = new CtClass[] { pool.get("java.lang.Exception") };
 		// 方法参数
-		CtClass[] parameters = JaxwsEndpointApiUtils.makeParams(pool, params);
+		CtClass[] parameters = makeParams(pool, params);
 		CtMethod ctMethod = null;
 		// 有参方法
 		if(parameters != null && parameters.length > 0) {
@@ -267,8 +287,32 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 			ctMethod = CtNewMethod.abstractMethod(returnType, method.getOperationName(), null , exceptions, declaring);
 		}
 		
-		// 为方法添加 @WebMethod、 @WebResult、@WebBound、@WebParam 注解
-        JaxwsEndpointApiUtils.methodAnnotations(ctMethod, constPool, result, method, bound, params);
+		// 为方法添加 @WebMethod、 @WebResult、@WebBound 注解
+		JavassistEndpointApiUtils.addMethodAnnotation(ctMethod, JavassistEndpointApiUtils.annotation(constPool, WebMethod.class,
+				"operationName", method.getOperationName(),
+				"action", StringUtils.defaultIfBlank(method.getAction(), null),
+				"exclude", method.isExclude()));
+		if (result != null) {
+			JavassistEndpointApiUtils.addMethodAnnotation(ctMethod, JavassistEndpointApiUtils.annotation(constPool, WebResult.class,
+					"name", StringUtils.defaultString(result.getName()),
+					"header", result.isHeader(),
+					"partName", StringUtils.defaultIfBlank(result.getPartName(), null),
+					"targetNamespace", StringUtils.defaultIfBlank(result.getTargetNamespace(), null)));
+		}
+		if (bound != null) {
+			JavassistEndpointApiUtils.addMethodAnnotation(ctMethod, annotWebBound(constPool, bound));
+		}
+		// 为参数添加 @WebParam 注解
+		Annotation[][] parameterAnnotations = new Annotation[parameters.length][];
+		for (int i = 0; i < parameters.length; i++) {
+			parameterAnnotations[i] = new Annotation[] { JavassistEndpointApiUtils.annotation(constPool, WebParam.class,
+					"name", StringUtils.defaultString(params[i].getName()),
+					"targetNamespace", StringUtils.defaultString(params[i].getTargetNamespace()),
+					"mode", params[i].getMode(),
+					"header", params[i].isHeader(),
+					"partName", StringUtils.defaultIfBlank(params[i].getPartName(), null)) };
+		}
+		JavassistEndpointApiUtils.setParameterAnnotations(ctMethod, parameterAnnotations);
         
         //新增方法
         declaring.addMethod(ctMethod);
@@ -282,10 +326,10 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 		if(params != null && params.length > 0) {
 			
 			// 方法参数
-			CtClass[] parameters = JaxwsEndpointApiUtils.makeParams(pool, params);
+			CtClass[] parameters = makeParams(pool, params);
 			
 			// 检查方法是否已经定义
-			if(!JavassistUtils.hasMethod(declaring, methodName, parameters)) {
+			if(!JavassistEndpointApiUtils.hasMethod(declaring, methodName, parameters)) {
 				return this;
 			}
 			
@@ -295,7 +339,7 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 		else {
 			
 			// 检查方法是否已经定义
-			if(!JavassistUtils.hasMethod(declaring, methodName)) {
+			if(!JavassistEndpointApiUtils.hasMethod(declaring, methodName)) {
 				return this;
 			}
 			
@@ -306,11 +350,38 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 		return this;
 	}
 	
+	/**
+	 * 构造方法参数类型
+	 */
+	static CtClass[] makeParams(final ClassPool pool, final SoapParam<?>... params) throws NotFoundException {
+		Class<?>[] types = new Class<?>[params != null ? params.length : 0];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = params[i].getType();
+		}
+		return JavassistEndpointApiUtils.makeParams(pool, types);
+	}
+	
+	private static Annotation annotWebBound(final ConstPool constPool, final SoapBound bound) {
+		return JavassistEndpointApiUtils.annotation(constPool, WebBound.class,
+				"uid", StringUtils.defaultString(bound.getUid()),
+				"json", StringUtils.defaultIfBlank(bound.getJson(), "{}"));
+	}
+	
 	@Override
 	public CtClass build() {
         return declaring;
 	}
 	
+	/**
+	 * 释放构建过程中使用的 ClassPool：从中删除当前 CtClass，使用 {@link EndpointClassPool} 时释放其全部缓存
+	 */
+	public void release() {
+		declaring.detach();
+		if (pool instanceof EndpointClassPool) {
+			((EndpointClassPool) pool).release();
+		}
+	}
+	
 	/**
 	 * 
 	 * javassist在加载类时会用Hashtable将类信息缓存到内存中，这样随着类的加载，内存会越来越大，甚至导致内存溢出。如果应用中要加载的类比较多，建议在使用完CtClass之后删除缓存
@@ -320,8 +391,8 @@ public class EndpointApiInterfaceBuilder implements Builder<CtClass> {
 	 */
 	public Class<?> toClass() throws CannotCompileException {
         try {
-        	// 通过类加载器加载该CtClass
-			return declaring.toClass();
+        	// 通过新的类加载器加载该CtClass
+			return JavassistEndpointApiUtils.toClass(declaring);
 		} finally {
 			// 将该class从ClassPool中删除
 			declaring.detach();
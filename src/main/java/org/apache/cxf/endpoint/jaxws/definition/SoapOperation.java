@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.jaxws.definition;
+
+/**
+ * 方法定义：返回结果、方法信息、绑定数据以及参数，对应一次 EndpointApiBuilder.newMethod 调用
+ */
+public class SoapOperation {
+
+	private final SoapResult<?> result;
+	private final SoapMethod method;
+	private final SoapBound bound;
+	private final SoapParam<?>[] params;
+
+	public SoapOperation(SoapResult<?> result, SoapMethod method, SoapParam<?>... params) {
+		this(result, method, null, params);
+	}
+
+	public SoapOperation(SoapResult<?> result, SoapMethod method, SoapBound bound, SoapParam<?>... params) {
+		this.result = result;
+		this.method = method;
+		this.bound = bound;
+		this.params = params != null ? params : new SoapParam<?>[0];
+	}
+
+	public SoapResult<?> getResult() {
+		return result;
+	}
+
+	public SoapMethod getMethod() {
+		return method;
+	}
+
+	public SoapBound getBound() {
+		return bound;
+	}
+
+	public SoapParam<?>[] getParams() {
+		return params;
+	}
+
+}
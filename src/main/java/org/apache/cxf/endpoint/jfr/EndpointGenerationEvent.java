@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 服务生成流程中每个阶段的 JFR 事件：定义、生成字节码、加载、实例化与发布，
+ * 持续时间即该阶段的耗时，可与同一时段的 GC、编译、锁等事件对照分析慢启动。
+ * <pre>
+ * EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.MAKE);
+ * Unloaded&lt;?&gt; unloaded = builder.make();
+ * event.commit(className, digest, bytes.length, null);
+ * </pre>
+ */
+@Name(EndpointGenerationEvent.NAME)
+@Label("Endpoint Generation")
+@Description("A phase of building a dynamic CXF endpoint class")
+@Category({ "CXF", "Endpoint" })
+@StackTrace(false)
+public class EndpointGenerationEvent extends Event {
+
+	public static final String NAME = "org.apache.cxf.endpoint.Generation";
+
+	public static final String DEFINITION = "definition";
+	public static final String MAKE = "make";
+	public static final String LOAD = "load";
+	public static final String INSTANTIATE = "instantiate";
+	public static final String PUBLISH = "publish";
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Class Name")
+	String className;
+
+	@Label("Fingerprint")
+	@Description("Digest of the endpoint definition")
+	String fingerprint;
+
+	@Label("Byte Size")
+	@DataAmount
+	long byteSize;
+
+	@Label("Source")
+	@Description("Where a loaded class came from: generated, precompiled, archive or disk")
+	String source;
+
+	/**
+	 * @param phase ：阶段名称，见本类的常量
+	 * @return 已开始计时的事件
+	 */
+	public static EndpointGenerationEvent start(final String phase) {
+		EndpointGenerationEvent event = new EndpointGenerationEvent();
+		event.phase = phase;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * 写入事件，未调用 end() 时以当前时间作为结束时间；未开启录制或低于阈值时不写入
+	 * @param className 	：生成类的名称
+	 * @param fingerprint 	：定义指纹摘要，可为 null
+	 * @param byteSize 		：字节码大小，未知时为 0
+	 * @param source 		：类的来源，可为 null
+	 */
+	public void commit(final String className, final String fingerprint, final long byteSize, final String source) {
+		if (shouldCommit()) {
+			this.className = className;
+			this.fingerprint = fingerprint;
+			this.byteSize = byteSize;
+			this.source = source;
+			commit();
+		}
+	}
+
+}
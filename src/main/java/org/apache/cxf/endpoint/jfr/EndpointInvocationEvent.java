@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.jfr;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 生成方法的调用事件，由启用了计时（timing()）的服务在调用结束时按采样写入：
+ * 抛出异常的调用总是写入，其余调用按 1/{@link #SAMPLE_RATE} 的比例写入，不影响正常调用的开销。
+ * <p>采样比例通过 <code>-Dcxf.endpoint.jfr.sampleRate=100</code> 设置，为 1 时每次调用都写入。</p>
+ */
+@Name(EndpointInvocationEvent.NAME)
+@Label("Endpoint Invocation")
+@Description("A sampled invocation of a generated endpoint operation")
+@Category({ "CXF", "Endpoint" })
+@StackTrace(false)
+public class EndpointInvocationEvent extends Event {
+
+	public static final String NAME = "org.apache.cxf.endpoint.Invocation";
+
+	public static final int SAMPLE_RATE = Math.max(1, Integer.getInteger("cxf.endpoint.jfr.sampleRate", 100));
+
+	@Label("Class Name")
+	String className;
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Bound Uid")
+	String uid;
+
+	@Label("Latency")
+	@Timespan(Timespan.NANOSECONDS)
+	long latency;
+
+	@Label("Exception Class")
+	String exceptionClass;
+
+	/**
+	 * @param failed ：调用是否抛出了异常
+	 * @return 本次调用是否写入事件
+	 */
+	public static boolean isSampled(final boolean failed) {
+		return failed || SAMPLE_RATE == 1 || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+	}
+
+	/**
+	 * 写入一次调用，未开启录制时不写入
+	 */
+	public static void emit(final String className, final String operation, final String uid, final long nanos,
+			final Throwable thrown) {
+		EndpointInvocationEvent event = new EndpointInvocationEvent();
+		if (event.isEnabled()) {
+			event.className = className;
+			event.operation = operation;
+			event.uid = uid;
+			event.latency = nanos;
+			event.exceptionClass = thrown != null ? thrown.getClass().getName() : null;
+			event.commit();
+		}
+	}
+
+}
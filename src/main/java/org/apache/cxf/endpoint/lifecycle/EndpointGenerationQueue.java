@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.lifecycle;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.endpoint.AbstractEndpointApiBuilder;
+import org.apache.cxf.endpoint.catalog.EndpointDefinition;
+
+/**
+ * 后台生成队列：注册请求进入有界队列后立即返回句柄，由固定数量的生成线程依次完成生成、加载与发布，
+ * 提交大批服务定义时调用方不必等待字节码生成。
+ * <p>队列已满时 {@link #submit(EndpointDefinition, Object)} 立即抛出 {@link RejectedExecutionException}，
+ * 由调用方决定稍后重试；可通过 {@link #isReady(String...)} 判断关键服务是否已发布，例如用于健康检查。</p>
+ * <p>已发布的句柄持有注册信息，须通过 {@link #unregister(String)} 注销，句柄随之移除，服务类才能被回收；
+ * 直接在注册表中注销时，句柄保留到同一标识再次提交为止。</p>
+ */
+public class EndpointGenerationQueue {
+
+	private final EndpointRegistry registry;
+	private final ThreadPoolExecutor executor;
+	private final ConcurrentMap<String, EndpointRegistrationHandle> handles = new ConcurrentHashMap<String, EndpointRegistrationHandle>();
+
+	/**
+	 * @param registry 	：注册表
+	 * @param workers 	：生成线程数
+	 * @param capacity 	：等待生成的最大数量
+	 */
+	public EndpointGenerationQueue(final EndpointRegistry registry, final int workers, final int capacity) {
+		this.registry = registry;
+		this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(capacity), new GeneratorThreadFactory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * 提交注册请求
+	 * @param definition 	：服务定义，在生成线程中调用 newBuilder()
+	 * @param handler 		：处理器，类型须与构建器的分发方式一致
+	 * @return 注册句柄
+	 * @throws IllegalStateException 		服务标识已提交，且正在生成或仍处于注册状态
+	 * @throws RejectedExecutionException 	队列已满或已关闭
+	 */
+	public EndpointRegistrationHandle submit(final EndpointDefinition definition, final Object handler) {
+		String id = definition.getId();
+		EndpointRegistrationHandle handle = new EndpointRegistrationHandle(id);
+		EndpointRegistrationHandle previous = handles.putIfAbsent(id, handle);
+		// 失败或已经注销的注册允许重新提交
+		if (previous != null && (!isStale(previous) || !handles.replace(id, previous, handle))) {
+			throw new IllegalStateException("Endpoint " + id + " is already submitted.");
+		}
+		try {
+			executor.execute(() -> generate(handle, definition, handler));
+		} catch (RejectedExecutionException e) {
+			handles.remove(id, handle);
+			throw e;
+		}
+		return handle;
+	}
+
+	protected void generate(final EndpointRegistrationHandle handle, final EndpointDefinition definition,
+			final Object handler) {
+		try {
+			AbstractEndpointApiBuilder<?> builder = definition.newBuilder();
+			Class<?> endpointClass = registry.define(builder);
+			handle.advance(EndpointState.GENERATED);
+			EndpointRegistration registration = registry.create(handle.getId(), builder, endpointClass, handler);
+			handle.advance(EndpointState.LOADED);
+			registry.add(registration);
+			// 生成期间已通过 unregister 注销
+			if (handles.get(handle.getId()) != handle) {
+				if (registry.get(handle.getId()) == registration) {
+					registry.unregister(handle.getId());
+				}
+				throw new CancellationException("Endpoint " + handle.getId() + " was unregistered during generation.");
+			}
+			handle.complete(registration);
+		} catch (Throwable e) {
+			handle.fail(e);
+		}
+	}
+
+	/**
+	 * 注销服务并移除其句柄；正在生成的服务在生成完成后随即注销，其句柄以 {@link CancellationException} 结束
+	 * @return 被注销的注册信息，未注册时返回 null
+	 */
+	public EndpointRegistration unregister(final String id) throws Exception {
+		handles.remove(id);
+		return registry.unregister(id);
+	}
+
+	/**
+	 * @return 句柄已失败，或已发布的注册信息不再是注册表中的当前注册
+	 */
+	private boolean isStale(final EndpointRegistrationHandle handle) {
+		switch (handle.getState()) {
+			case FAILED:
+				return true;
+			case PUBLISHED:
+				return registry.get(handle.getId()) != handle.getFuture().getNow(null);
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * @return 句柄，未提交时返回 null
+	 */
+	public EndpointRegistrationHandle getHandle(final String id) {
+		return handles.get(id);
+	}
+
+	public Collection<EndpointRegistrationHandle> getHandles() {
+		return Collections.unmodifiableCollection(handles.values());
+	}
+
+	/**
+	 * @return 等待生成的数量
+	 */
+	public int getQueuedCount() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * @param ids ：关键服务标识
+	 * @return 全部已发布时返回 true，未提交的服务视为未就绪
+	 */
+	public boolean isReady(final String... ids) {
+		for (String id : ids) {
+			EndpointRegistrationHandle handle = handles.get(id);
+			if (handle == null || !handle.isPublished()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 等待关键服务发布
+	 * @param timeout 	：最长等待时间
+	 * @param unit 		：时间单位
+	 * @param ids 		：关键服务标识
+	 * @return 全部已发布时返回 true；超时或其中任一失败时返回 false
+	 */
+	public boolean awaitReady(final long timeout, final TimeUnit unit, final String... ids) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (String id : ids) {
+			EndpointRegistrationHandle handle;
+			while ((handle = handles.get(id)) == null) {
+				if (System.nanoTime() > deadline) {
+					return false;
+				}
+				Thread.sleep(10);
+			}
+			try {
+				handle.getFuture().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (ExecutionException | TimeoutException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 不再接受新的请求，已提交的请求继续完成
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	private static final class GeneratorThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger POOLS = new AtomicInteger();
+		private final int pool = POOLS.incrementAndGet();
+		private final AtomicInteger threads = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "cxf-endpoint-generator-" + pool + "-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.lifecycle;
+
+/**
+ * 服务生命周期监听，例如在注册时发布 CXF 服务、注销时停止对应的 Server
+ */
+public interface EndpointLifecycleListener {
+
+	void onRegister(EndpointRegistration registration) throws Exception;
+
+	/**
+	 * 延迟注册时调用，此时服务类尚未生成，可先发布占位路由，第一次请求时通过
+	 * {@link EndpointRegistry#resolve(String)} 生成，生成后再调用 {@link #onRegister(EndpointRegistration)}
+	 */
+	default void onRegisterLazy(LazyEndpoint placeholder) throws Exception {
+	}
+
+	/**
+	 * 注销或被替换时调用，须释放对服务实例及其类的全部引用，否则类无法被回收
+	 */
+	void onUnregister(EndpointRegistration registration) throws Exception;
+
+}
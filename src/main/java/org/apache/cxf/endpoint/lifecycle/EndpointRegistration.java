@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.lifecycle;
+
+/**
+ * 已注册的服务：服务标识、版本、生成的类及其实例
+ */
+public final class EndpointRegistration {
+
+	private final String id;
+	private final long version;
+	private final Class<?> endpointClass;
+	private final Object endpoint;
+
+	EndpointRegistration(String id, long version, Class<?> endpointClass, Object endpoint) {
+		this.id = id;
+		this.version = version;
+		this.endpointClass = endpointClass;
+		this.endpoint = endpoint;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * @return 注册表内递增的版本号，替换后的服务版本号大于被替换的服务
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public Class<?> getEndpointClass() {
+		return endpointClass;
+	}
+
+	public Object getEndpoint() {
+		return endpoint;
+	}
+
+	@Override
+	public String toString() {
+		return "EndpointRegistration[" + id + "#" + version + ", " + endpointClass.getName() + "]";
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.lifecycle;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步注册的句柄：可查询当前阶段，或通过 {@link #getFuture()} 等待注册完成
+ * @see EndpointGenerationQueue#submit(org.apache.cxf.endpoint.catalog.EndpointDefinition, Object)
+ */
+public final class EndpointRegistrationHandle {
+
+	private final String id;
+	private final CompletableFuture<EndpointRegistration> future = new CompletableFuture<EndpointRegistration>();
+	private volatile EndpointState state = EndpointState.QUEUED;
+
+	EndpointRegistrationHandle(final String id) {
+		this.id = id;
+	}
+
+	void advance(final EndpointState state) {
+		this.state = state;
+	}
+
+	void complete(final EndpointRegistration registration) {
+		this.state = EndpointState.PUBLISHED;
+		future.complete(registration);
+	}
+
+	void fail(final Throwable cause) {
+		this.state = EndpointState.FAILED;
+		future.completeExceptionally(cause);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public EndpointState getState() {
+		return state;
+	}
+
+	/**
+	 * @return 服务是否已发布可用
+	 */
+	public boolean isPublished() {
+		return state == EndpointState.PUBLISHED;
+	}
+
+	/**
+	 * @return 失败原因，未失败时返回 null
+	 */
+	public Throwable getCause() {
+		if (!future.isCompletedExceptionally()) {
+			return null;
+		}
+		try {
+			future.join();
+			return null;
+		} catch (RuntimeException e) {
+			return e.getCause() != null ? e.getCause() : e;
+		}
+	}
+
+	/**
+	 * @return 发布完成时得到注册信息，失败时以异常结束
+	 */
+	public CompletableFuture<EndpointRegistration> getFuture() {
+		return future;
+	}
+
+	@Override
+	public String toString() {
+		return "EndpointRegistrationHandle[" + id + ", " + state + "]";
+	}
+
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.lifecycle;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.cxf.endpoint.AbstractEndpointApiBuilder;
+import org.apache.cxf.endpoint.EndpointFactory;
+import org.apache.cxf.endpoint.catalog.EndpointCatalogDiff;
+import org.apache.cxf.endpoint.catalog.EndpointDefinition;
+import org.apache.cxf.endpoint.jfr.EndpointGenerationEvent;
+import org.apache.cxf.endpoint.loading.HiddenClassLoadingStrategy;
+import org.apache.cxf.endpoint.metrics.EndpointMetrics;
+
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+/**
+ * 可卸载的服务注册表：支持注册、替换与注销。
+ * <p>每个注册的服务都在自己的类加载器中生成（或作为隐藏类），且不使用全局的 {@link org.apache.cxf.endpoint.cache.EndpointApiClassCache}、预编译的类、归档与磁盘缓存，
+ * 注销后只要使用方不再持有实例，类及其类加载器即可被回收，反复重新定义服务不会持续占用 Metaspace。</p>
+ * <p>已注销的类通过弱引用跟踪，可用 {@link #getRetainedCount()} 确认是否已被回收。</p>
+ * <p>通过 {@link #registerLazy(EndpointDefinition, Object)} 注册的服务在第一次 {@link #resolve(String)} 时才生成，
+ * 启动耗时只与实际被访问的服务数量有关。</p>
+ */
+public class EndpointRegistry {
+
+	private final ConcurrentMap<String, EndpointRegistration> registrations = new ConcurrentHashMap<String, EndpointRegistration>();
+	// 尚未生成的延迟注册
+	private final ConcurrentMap<String, LazyEndpoint> placeholders = new ConcurrentHashMap<String, LazyEndpoint>();
+	private final AtomicLong versions = new AtomicLong();
+	private final EndpointLifecycleListener listener;
+	// 已注销但尚未被回收的类
+	private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+	private final Set<RetiredClass> retired = ConcurrentHashMap.newKeySet();
+
+	public EndpointRegistry() {
+		this(null);
+	}
+
+	public EndpointRegistry(final EndpointLifecycleListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * 注册服务
+	 * @param id 		：服务标识
+	 * @param builder 	：已完成定义的构建器
+	 * @param handler 	：处理器，类型须与构建器的分发方式一致
+	 * @return
+	 * @throws IllegalStateException 服务标识已注册
+	 */
+	public EndpointRegistration register(final String id, final AbstractEndpointApiBuilder<?> builder,
+			final Object handler) throws Exception {
+		return add(create(id, builder, handler));
+	}
+
+	/**
+	 * 延迟注册服务：只记录服务定义，第一次 {@link #resolve(String)} 时才生成并注册真正的服务类
+	 * @param definition 	：服务定义，生成时才调用 newBuilder()
+	 * @param handler 		：处理器，类型须与构建器的分发方式一致
+	 * @return 服务占位
+	 * @throws IllegalStateException 服务标识已注册
+	 */
+	public LazyEndpoint registerLazy(final EndpointDefinition definition, final Object handler) throws Exception {
+		String id = definition.getId();
+		LazyEndpoint placeholder = new LazyEndpoint(this, definition, handler);
+		if (registrations.containsKey(id) || placeholders.putIfAbsent(id, placeholder) != null) {
+			throw new IllegalStateException("Endpoint " + id + " is already registered.");
+		}
+		if (listener != null) {
+			listener.onRegisterLazy(placeholder);
+		}
+		return placeholder;
+	}
+
+	/**
+	 * 替换服务：新版本注册完成后注销旧版本，服务标识未注册时等同于注册
+	 * @return 新的注册信息
+	 */
+	public EndpointRegistration replace(final String id, final AbstractEndpointApiBuilder<?> builder,
+			final Object handler) throws Exception {
+		EndpointRegistration registration = create(id, builder, handler);
+		placeholders.remove(id);
+		EndpointRegistration previous = registrations.put(id, registration);
+		if (previous != null) {
+			retire(previous);
+		}
+		onRegister(registration);
+		return registration;
+	}
+
+	/**
+	 * 按目录差异增量更新：注册新增的服务、替换发生变化的服务、注销已删除的服务，未变化的服务保持不动
+	 * @param diff 		：目录差异，服务标识即注册标识
+	 * @param handlers 	：按服务定义提供处理器
+	 * @return 新注册或替换后的注册信息
+	 */
+	public Collection<EndpointRegistration> update(final EndpointCatalogDiff diff,
+			final Function<EndpointDefinition, Object> handlers) throws Exception {
+		Collection<EndpointRegistration> updated = new ArrayList<EndpointRegistration>();
+		for (EndpointDefinition definition : diff.getRemoved()) {
+			unregister(definition.getId());
+		}
+		for (EndpointDefinition definition : diff.getChanged()) {
+			updated.add(replace(definition.getId(), diff.newBuilder(definition), handlers.apply(definition)));
+		}
+		for (EndpointDefinition definition : diff.getAdded()) {
+			updated.add(replace(definition.getId(), diff.newBuilder(definition), handlers.apply(definition)));
+		}
+		return updated;
+	}
+
+	/**
+	 * 注销服务
+	 * @return 被注销的注册信息，未注册时返回 null
+	 */
+	public EndpointRegistration unregister(final String id) throws Exception {
+		placeholders.remove(id);
+		EndpointRegistration previous = registrations.remove(id);
+		if (previous != null) {
+			retire(previous);
+		}
+		return previous;
+	}
+
+	/**
+	 * @return 已生成的注册信息，未注册或尚未生成时返回 null
+	 */
+	public EndpointRegistration get(final String id) {
+		return registrations.get(id);
+	}
+
+	/**
+	 * 获取注册信息，延迟注册的服务在此时生成；并发的第一批调用只生成一次
+	 * @return 注册信息，未注册时返回 null
+	 */
+	public EndpointRegistration resolve(final String id) throws Exception {
+		EndpointRegistration registration = registrations.get(id);
+		if (registration != null) {
+			return registration;
+		}
+		LazyEndpoint placeholder = placeholders.get(id);
+		if (placeholder != null) {
+			return placeholder.get();
+		}
+		// 占位可能刚被替换为真正的注册信息
+		return registrations.get(id);
+	}
+
+	/**
+	 * @return 尚未生成的延迟注册
+	 */
+	public Collection<LazyEndpoint> getPlaceholders() {
+		return Collections.unmodifiableCollection(placeholders.values());
+	}
+
+	public Collection<EndpointRegistration> getRegistrations() {
+		return Collections.unmodifiableCollection(registrations.values());
+	}
+
+	/**
+	 * @return 已注销但尚未被回收的类数量
+	 */
+	public int getRetainedCount() {
+		expunge();
+		return retired.size();
+	}
+
+	/**
+	 * 等待已注销的类被回收，用于验证没有残留引用
+	 * @param timeout 	：最长等待时间
+	 * @param unit 		：时间单位
+	 * @return 全部回收时返回 true
+	 */
+	public boolean awaitUnloaded(final long timeout, final TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while (getRetainedCount() > 0) {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			System.gc();
+			Thread.sleep(50);
+		}
+		return true;
+	}
+
+	protected EndpointRegistration create(final String id, final AbstractEndpointApiBuilder<?> builder,
+			final Object handler) throws Exception {
+		return create(id, builder, define(builder), handler);
+	}
+
+	/**
+	 * 生成并加载服务类，每次生成都使用独立的类加载器。
+	 * <p>预编译的类位于应用类加载器中，归档中的类位于共享的类加载器中，都无法随注销卸载，
+	 * 因此这里不使用全局缓存、预编译的类、归档与磁盘缓存，且只接受每个类独立加载的方式。</p>
+	 * @throws IllegalArgumentException 加载方式既不是 WRAPPER 也不是隐藏类
+	 */
+	protected Class<?> define(final AbstractEndpointApiBuilder<?> builder) {
+		ClassLoadingStrategy<ClassLoader> strategy = builder.getClassLoadingStrategy();
+		if (strategy != ClassLoadingStrategy.Default.WRAPPER && !(strategy instanceof HiddenClassLoadingStrategy)) {
+			throw new IllegalArgumentException("Registered endpoints must be loaded with WRAPPER or as hidden "
+					+ "classes to be unloadable, but " + strategy + " was configured.");
+		}
+		builder.setClassCache(null);
+		builder.setPrecompiled(false);
+		builder.setArchive(null);
+		builder.setDiskCache(null);
+		return builder.toClass();
+	}
+
+	/**
+	 * 创建服务实例
+	 * @param endpointClass ：{@link #define(AbstractEndpointApiBuilder)} 生成的类
+	 */
+	protected EndpointRegistration create(final String id, final AbstractEndpointApiBuilder<?> builder,
+			final Class<?> endpointClass, final Object handler) throws Exception {
+		EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.INSTANTIATE);
+		Object endpoint = EndpointFactory.of(endpointClass, builder.getHandlerType()).newInstance(handler, builder.getBound());
+		event.commit(endpointClass.getName(), builder.getFingerprint().digest(), 0, null);
+		return new EndpointRegistration(id, versions.incrementAndGet(), endpointClass, endpoint);
+	}
+
+	/**
+	 * 登记并发布已创建的服务
+	 * @throws IllegalStateException 服务标识已注册
+	 */
+	EndpointRegistration add(final EndpointRegistration registration) throws Exception {
+		String id = registration.getId();
+		if (placeholders.containsKey(id) || registrations.putIfAbsent(id, registration) != null) {
+			throw new IllegalStateException("Endpoint " + id + " is already registered.");
+		}
+		onRegister(registration);
+		return registration;
+	}
+
+	/**
+	 * 生成延迟注册的服务，由 {@link LazyEndpoint#get()} 调用且对同一占位只执行一次
+	 */
+	EndpointRegistration materialize(final LazyEndpoint placeholder) throws Exception {
+		String id = placeholder.getId();
+		EndpointRegistration registration = create(id, placeholder.getDefinition().newBuilder(), placeholder.getHandler());
+		// 先放入真正的注册信息再移除占位，resolve 始终能找到其中之一
+		if (placeholders.get(id) != placeholder || registrations.putIfAbsent(id, registration) != null) {
+			throw new IllegalStateException("Endpoint " + id + " was unregistered or replaced before materialization.");
+		}
+		placeholders.remove(id, placeholder);
+		onRegister(registration);
+		return registration;
+	}
+
+	protected void onRegister(final EndpointRegistration registration) throws Exception {
+		if (listener != null) {
+			EndpointGenerationEvent event = EndpointGenerationEvent.start(EndpointGenerationEvent.PUBLISH);
+			listener.onRegister(registration);
+			event.commit(registration.getEndpointClass().getName(), null, 0, null);
+		}
+	}
+
+	protected void retire(final EndpointRegistration registration) throws Exception {
+		retired.add(new RetiredClass(registration.getEndpointClass(), queue));
+		EndpointMetrics.getDefault().unregister(registration.getEndpointClass());
+		if (listener != null) {
+			listener.onUnregister(registration);
+		}
+	}
+
+	private void expunge() {
+		for (Object reference = queue.poll(); reference != null; reference = queue.poll()) {
+			retired.remove(reference);
+		}
+	}
+
+	private static final class RetiredClass extends WeakReference<Class<?>> {
+
+		RetiredClass(Class<?> type, ReferenceQueue<Class<?>> queue) {
+			super(type, queue);
+		}
+
+	}
+
+}
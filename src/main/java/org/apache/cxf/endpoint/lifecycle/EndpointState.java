@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.lifecycle;
+
+/**
+ * 异步注册的服务所处的阶段，按顺序推进
+ * @see EndpointGenerationQueue
+ */
+public enum EndpointState {
+
+	/** 已提交，等待生成线程处理 */
+	QUEUED,
+	/** 字节码已生成，类已定义 */
+	GENERATED,
+	/** 类已初始化，服务实例已创建 */
+	LOADED,
+	/** 已登记到注册表并通知监听器，服务可用 */
+	PUBLISHED,
+	/** 任一阶段失败，见 {@link EndpointRegistrationHandle#getCause()} */
+	FAILED;
+
+	public boolean isDone() {
+		return this == PUBLISHED || this == FAILED;
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.lifecycle;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.cxf.endpoint.catalog.EndpointDefinition;
+
+/**
+ * 延迟注册的服务占位：只记录服务定义与处理器，第一次请求时才生成并注册真正的服务类。
+ * <p>同时到达的第一批请求只触发一次生成，其余请求等待同一个结果；生成失败时下一次请求重新生成。</p>
+ * @see EndpointRegistry#registerLazy(EndpointDefinition, Object)
+ */
+public final class LazyEndpoint {
+
+	private final EndpointRegistry registry;
+	private final EndpointDefinition definition;
+	private final Object handler;
+	private final AtomicReference<FutureTask<EndpointRegistration>> task = new AtomicReference<FutureTask<EndpointRegistration>>();
+
+	LazyEndpoint(final EndpointRegistry registry, final EndpointDefinition definition, final Object handler) {
+		this.registry = registry;
+		this.definition = definition;
+		this.handler = handler;
+		this.task.set(newTask());
+	}
+
+	/**
+	 * 生成并注册服务，已生成时直接返回
+	 * @return 真正的服务注册信息
+	 */
+	public EndpointRegistration get() throws Exception {
+		FutureTask<EndpointRegistration> current = task.get();
+		// 只有第一个调用者执行生成，并发的调用者在 get() 中等待
+		current.run();
+		try {
+			return current.get();
+		} catch (ExecutionException e) {
+			// 失败的结果不保留，下一次请求重新生成
+			task.compareAndSet(current, newTask());
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * @return 是否已生成真正的服务类
+	 */
+	public boolean isMaterialized() {
+		FutureTask<EndpointRegistration> current = task.get();
+		if (!current.isDone()) {
+			return false;
+		}
+		try {
+			current.get();
+			return true;
+		} catch (InterruptedException | ExecutionException e) {
+			return false;
+		}
+	}
+
+	public String getId() {
+		return definition.getId();
+	}
+
+	public EndpointDefinition getDefinition() {
+		return definition;
+	}
+
+	public Object getHandler() {
+		return handler;
+	}
+
+	private FutureTask<EndpointRegistration> newTask() {
+		return new FutureTask<EndpointRegistration>(() -> registry.materialize(this));
+	}
+
+	@Override
+	public String toString() {
+		return "LazyEndpoint[" + definition.getId() + (isMaterialized() ? ", materialized" : "") + "]";
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.loading;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+/**
+ * 以隐藏类（JDK 15+ 的 <code>MethodHandles.Lookup.defineHiddenClass</code>）定义生成的动态类：
+ * 隐藏类作为宿主类的 nest-mate 定义，不进入类加载器的系统字典，不再被引用后可单独卸载。
+ * <p>隐藏类必须与宿主类位于同一个包中；不支持隐藏类的 JDK 上退回到通过 Lookup 或反射注入到宿主类的类加载器。</p>
+ * <p>注意：隐藏类无法通过类名查找，其名称带有 <code>/0x...</code> 后缀，依赖类名的功能（如 WSDL 中的默认名称）应显式指定名称。</p>
+ */
+public class HiddenClassLoadingStrategy implements ClassLoadingStrategy<ClassLoader> {
+
+	private static final Method DEFINE_HIDDEN_CLASS;
+	private static final Object NESTMATE_OPTIONS;
+
+	static {
+		Method defineHiddenClass = null;
+		Object options = null;
+		try {
+			Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+			defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class,
+					boolean.class, Array.newInstance(classOption, 0).getClass());
+			options = Array.newInstance(classOption, 1);
+			Array.set(options, 0, classOption.getField("NESTMATE").get(null));
+		} catch (ReflectiveOperationException e) {
+			// JDK 15 之前不支持隐藏类
+			defineHiddenClass = null;
+			options = null;
+		}
+		DEFINE_HIDDEN_CLASS = defineHiddenClass;
+		NESTMATE_OPTIONS = options;
+	}
+
+	private final MethodHandles.Lookup lookup;
+	private final ClassLoadingStrategy<ClassLoader> fallback;
+
+	protected HiddenClassLoadingStrategy(final MethodHandles.Lookup lookup) {
+		this.lookup = lookup;
+		this.fallback = ClassInjector.UsingLookup.isAvailable() ? ClassLoadingStrategy.UsingLookup.of(lookup)
+				: ClassLoadingStrategy.Default.INJECTION;
+	}
+
+	/**
+	 * @param lookup ：宿主类的 Lookup，须具有完全访问权限，生成的类须与宿主类位于同一个包中
+	 * @return
+	 */
+	public static HiddenClassLoadingStrategy of(final MethodHandles.Lookup lookup) {
+		return new HiddenClassLoadingStrategy(lookup);
+	}
+
+	/**
+	 * @return 当前 JDK 是否支持隐藏类
+	 */
+	public static boolean isAvailable() {
+		return DEFINE_HIDDEN_CLASS != null;
+	}
+
+	public MethodHandles.Lookup getLookup() {
+		return lookup;
+	}
+
+	/**
+	 * @param classLoader ：忽略，隐藏类总是定义在宿主类的类加载器中
+	 */
+	@Override
+	public Map<TypeDescription, Class<?>> load(final ClassLoader classLoader, final Map<TypeDescription, byte[]> types) {
+		// 隐藏类之间无法通过类名互相引用，带有辅助类的类型退回到注入
+		if (!isAvailable() || types.size() != 1) {
+			return fallback.load(classLoader, types);
+		}
+		Map.Entry<TypeDescription, byte[]> type = types.entrySet().iterator().next();
+		String hostPackage = lookup.lookupClass().getPackage().getName();
+		String typePackage = type.getKey().getPackage() != null ? type.getKey().getPackage().getName() : "";
+		if (!hostPackage.equals(typePackage)) {
+			throw new IllegalArgumentException("Hidden class " + type.getKey().getName()
+					+ " must be defined in the package of its host " + lookup.lookupClass().getName() + ".");
+		}
+		try {
+			MethodHandles.Lookup defined = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, type.getValue(),
+					true, NESTMATE_OPTIONS);
+			return Collections.<TypeDescription, Class<?>>singletonMap(type.getKey(), defined.lookupClass());
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+}
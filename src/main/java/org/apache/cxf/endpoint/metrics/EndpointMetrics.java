@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.metrics;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按生成类的名称登记各方法的 {@link OperationRecorder}，可按类名、方法名称或绑定数据的 uid 查询快照，
+ * 或通过 {@link PrometheusExporter} 导出
+ */
+public class EndpointMetrics {
+
+	private static final EndpointMetrics DEFAULT = new EndpointMetrics();
+
+	private final ConcurrentMap<String, OperationRecorder[]> endpoints = new ConcurrentHashMap<String, OperationRecorder[]>();
+
+	/**
+	 * @return 构建器默认使用的全局登记表
+	 */
+	public static EndpointMetrics getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @param className ：生成类的名称
+	 * @param recorders ：按方法序号排列的统计
+	 */
+	public void register(final String className, final OperationRecorder[] recorders) {
+		for (OperationRecorder recorder : recorders) {
+			recorder.setClassName(className);
+		}
+		endpoints.put(className, recorders);
+	}
+
+	/**
+	 * 移除已卸载类的统计；同名的新类已登记时保留新类的统计
+	 * @param type ：生成的类
+	 */
+	public void unregister(final Class<?> type) {
+		OperationRecorder[] recorders = recorders(type);
+		if (recorders != null) {
+			endpoints.remove(type.getName(), recorders);
+		}
+	}
+
+	/**
+	 * @return 按方法序号排列的统计，未启用计时时返回空列表
+	 */
+	public List<OperationRecorder> getRecorders(final String className) {
+		OperationRecorder[] recorders = endpoints.get(className);
+		return recorders != null ? Collections.unmodifiableList(Arrays.asList(recorders))
+				: Collections.<OperationRecorder>emptyList();
+	}
+
+	/**
+	 * @return 按类名排序的全部统计
+	 */
+	public Map<String, List<OperationRecorder>> getEndpoints() {
+		Map<String, List<OperationRecorder>> snapshot = new TreeMap<String, List<OperationRecorder>>();
+		for (Map.Entry<String, OperationRecorder[]> entry : endpoints.entrySet()) {
+			snapshot.put(entry.getKey(), Collections.unmodifiableList(Arrays.asList(entry.getValue())));
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @return 全部方法的统计快照，按类名与方法序号排列
+	 */
+	public List<OperationSnapshot> getSnapshots() {
+		List<OperationSnapshot> snapshots = new ArrayList<OperationSnapshot>();
+		for (Map.Entry<String, List<OperationRecorder>> entry : getEndpoints().entrySet()) {
+			for (OperationRecorder recorder : entry.getValue()) {
+				snapshots.add(recorder.snapshot(entry.getKey()));
+			}
+		}
+		return snapshots;
+	}
+
+	/**
+	 * @param className ：生成类的名称
+	 * @param operation ：方法名称
+	 * @return 方法的统计快照，不存在时返回 null
+	 */
+	public OperationSnapshot getSnapshot(final String className, final String operation) {
+		for (OperationRecorder recorder : getRecorders(className)) {
+			if (recorder.getName().equals(operation)) {
+				return recorder.snapshot(className);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 模板模式生成的类不记录类上绑定数据的 uid，其租户无法在此区分
+	 * @param uid ：绑定数据（<code>@WebBound</code>）的 uid
+	 * @return 绑定了该 uid 的全部方法的统计快照
+	 */
+	public List<OperationSnapshot> getSnapshotsByUid(final String uid) {
+		List<OperationSnapshot> snapshots = new ArrayList<OperationSnapshot>();
+		for (Map.Entry<String, List<OperationRecorder>> entry : getEndpoints().entrySet()) {
+			for (OperationRecorder recorder : entry.getValue()) {
+				if (recorder.getUid().equals(uid)) {
+					snapshots.add(recorder.snapshot(entry.getKey()));
+				}
+			}
+		}
+		return snapshots;
+	}
+
+	/**
+	 * @return 生成类上的 {@value OperationTimingAdvice#RECORDERS_FIELD} 常量，未启用计时时返回 null
+	 */
+	public static OperationRecorder[] recorders(final Class<?> type) {
+		try {
+			Field field = type.getField(OperationTimingAdvice.RECORDERS_FIELD);
+			return (OperationRecorder[]) field.get(null);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的对数-线性延迟直方图（纳秒）：每个 2 的幂区间再等分为 {@value #SUB_BUCKETS} 个桶，
+ * 相对误差不超过 1/{@value #SUB_BUCKETS}，与 HdrHistogram 的两位有效数字精度相当。
+ * <p>记录只是一次数组下标计算与一次原子自增，不分配对象；超过 {@value #MAX_EXPONENT} 位（约 68 秒）的值计入最后一个桶。</p>
+ */
+public final class LatencyHistogram {
+
+	public static final int SUB_BUCKETS = 16;
+	public static final int MAX_EXPONENT = 36;
+
+	private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	public void record(final long nanos) {
+		counts.incrementAndGet(index(nanos));
+	}
+
+	static int index(final long value) {
+		if (value < SUB_BUCKETS) {
+			return value < 0 ? 0 : (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent >= MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * @return 桶内的最大值
+	 */
+	static long highestValue(final int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	/**
+	 * @return 当前各桶计数的副本，按桶读取，不保证与并发的记录严格一致
+	 */
+	public long[] counts() {
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @param counts 		：{@link #counts()} 的结果
+	 * @param quantiles 	：分位，如 0.5、0.99、0.999
+	 * @return 各分位对应的延迟（纳秒），没有记录时为 0
+	 */
+	public static long[] quantiles(final long[] counts, final double... quantiles) {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		long[] values = new long[quantiles.length];
+		if (total == 0) {
+			return values;
+		}
+		for (int q = 0; q < quantiles.length; q++) {
+			long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= rank) {
+					values[q] = highestValue(i);
+					break;
+				}
+			}
+		}
+		return values;
+	}
+
+}
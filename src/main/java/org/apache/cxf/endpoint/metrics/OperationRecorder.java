@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.cxf.endpoint.jfr.EndpointInvocationEvent;
+
+/**
+ * 单个方法的调用统计，由织入生成方法的 {@link OperationTimingAdvice} 在调用开始与结束时写入。
+ * <p>计数器均为分段的 LongAdder/LongAccumulator，延迟记录在 {@link LatencyHistogram} 中，记录时不加锁、不分配对象；
+ * 按采样写入的调用另外记录为 {@link EndpointInvocationEvent}。</p>
+ */
+public final class OperationRecorder {
+
+	private final String name;
+	private final String uid;
+	// 所属的生成类名称，登记到 EndpointMetrics 时设置
+	private volatile String className;
+	private final LongAdder count = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder inFlight = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	public OperationRecorder(final String name) {
+		this(name, "");
+	}
+
+	/**
+	 * @param name 	：方法名称
+	 * @param uid 	：方法绑定数据（<code>@WebBound</code>）的 uid，未绑定时为空字符串
+	 */
+	public OperationRecorder(final String name, final String uid) {
+		this.name = name;
+		this.uid = uid != null ? uid : "";
+	}
+
+	/**
+	 * 调用开始
+	 * @return 开始时间，传给 {@link #stop(long, Throwable)}
+	 */
+	public long start() {
+		inFlight.increment();
+		return System.nanoTime();
+	}
+
+	/**
+	 * 调用结束
+	 * @param start 	：{@link #start()} 的返回值
+	 * @param thrown 	：抛出的异常，正常返回时为 null
+	 */
+	public void stop(final long start, final Throwable thrown) {
+		long nanos = System.nanoTime() - start;
+		inFlight.decrement();
+		record(nanos, thrown != null);
+		if (EndpointInvocationEvent.isSampled(thrown != null)) {
+			EndpointInvocationEvent.emit(className, name, uid, nanos, thrown);
+		}
+	}
+
+	/**
+	 * @param nanos 	：本次调用耗时（纳秒）
+	 * @param failed 	：是否抛出了异常
+	 */
+	public void record(final long nanos, final boolean failed) {
+		count.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+		histogram.record(nanos);
+		if (failed) {
+			errors.increment();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getUid() {
+		return uid;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	void setClassName(final String className) {
+		this.className = className;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getErrorCount() {
+		return errors.sum();
+	}
+
+	/**
+	 * @return 正在执行的调用数
+	 */
+	public long getInFlight() {
+		return inFlight.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * @return 平均耗时（纳秒），尚无调用时为 0
+	 */
+	public long getMeanNanos() {
+		long calls = count.sum();
+		return calls == 0 ? 0 : totalNanos.sum() / calls;
+	}
+
+	/**
+	 * @param className ：所属的生成类名称
+	 * @return 当前统计的快照
+	 */
+	public OperationSnapshot snapshot(final String className) {
+		long[] quantiles = LatencyHistogram.quantiles(histogram.counts(), 0.5, 0.99, 0.999);
+		return new OperationSnapshot(className, name, uid, getCount(), getErrorCount(), getInFlight(), getTotalNanos(),
+				getMaxNanos(), quantiles[0], quantiles[1], quantiles[2]);
+	}
+
+	@Override
+	public String toString() {
+		return "OperationRecorder[" + name + ", count=" + getCount() + ", errors=" + getErrorCount() + ", mean="
+				+ getMeanNanos() + "ns, max=" + getMaxNanos() + "ns]";
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.metrics;
+
+/**
+ * 某一时刻单个方法的统计快照，延迟单位为纳秒
+ */
+public final class OperationSnapshot {
+
+	private final String className;
+	private final String name;
+	private final String uid;
+	private final long count;
+	private final long errors;
+	private final long inFlight;
+	private final long totalNanos;
+	private final long maxNanos;
+	private final long p50Nanos;
+	private final long p99Nanos;
+	private final long p999Nanos;
+
+	public OperationSnapshot(String className, String name, String uid, long count, long errors, long inFlight,
+			long totalNanos, long maxNanos, long p50Nanos, long p99Nanos, long p999Nanos) {
+		this.className = className;
+		this.name = name;
+		this.uid = uid;
+		this.count = count;
+		this.errors = errors;
+		this.inFlight = inFlight;
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+		this.p50Nanos = p50Nanos;
+		this.p99Nanos = p99Nanos;
+		this.p999Nanos = p999Nanos;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getUid() {
+		return uid;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getErrorCount() {
+		return errors;
+	}
+
+	public long getInFlight() {
+		return inFlight;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public long getP50Nanos() {
+		return p50Nanos;
+	}
+
+	public long getP99Nanos() {
+		return p99Nanos;
+	}
+
+	public long getP999Nanos() {
+		return p999Nanos;
+	}
+
+	@Override
+	public String toString() {
+		return "OperationSnapshot[" + className + "#" + name + (uid.isEmpty() ? "" : ", uid=" + uid) + ", count="
+				+ count + ", errors=" + errors + ", p50=" + p50Nanos + "ns, p99=" + p99Nanos + "ns, p999=" + p999Nanos
+				+ "ns, max=" + maxNanos + "ns]";
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.implementation.Implementation;
+
+/**
+ * 方法耗时统计的 Advice：进入与退出代码直接内联到生成的方法体中，取代 <code>MethodDelegation</code> + <code>@SuperCall</code>
+ * 的做法，调用时不创建 Callable、不装箱参数，使用 {@link System#nanoTime()} 计时并统计正在执行的调用数。
+ * <p>生成类的静态常量 {@value #RECORDERS_FIELD} 按方法序号保存 {@link OperationRecorder}，方法序号在构建期以常量写入字节码。</p>
+ */
+public final class OperationTimingAdvice {
+
+	public static final String RECORDERS_FIELD = "RECORDERS";
+
+	private OperationTimingAdvice() {
+	}
+
+	/**
+	 * @param index 			：方法序号
+	 * @param implementation 	：分发方式生成的方法体
+	 * @return 织入了计时代码的方法体
+	 */
+	public static Implementation wrap(final int index, final Implementation implementation) {
+		return Advice.withCustomMapping().bind(Index.class, index).to(OperationTimingAdvice.class).wrap(implementation);
+	}
+
+	@Advice.OnMethodEnter
+	public static long enter(@Advice.FieldValue(RECORDERS_FIELD) final OperationRecorder[] recorders,
+			@Index final int index) {
+		return recorders[index].start();
+	}
+
+	@Advice.OnMethodExit(onThrowable = Throwable.class)
+	public static void exit(@Advice.Enter final long start,
+			@Advice.FieldValue(RECORDERS_FIELD) final OperationRecorder[] recorders, @Index final int index,
+			@Advice.Thrown final Throwable thrown) {
+		recorders[index].stop(start, thrown);
+	}
+
+	/**
+	 * 方法序号，由 {@link #wrap(int, Implementation)} 绑定为常量
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.PARAMETER)
+	public @interface Index {
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * 以 Prometheus 文本格式（0.0.4）导出 {@link EndpointMetrics} 的快照，例如由 node_exporter 的 textfile collector 读取。
+ * <p>每个方法以 endpoint（生成类名称）、operation（方法名称）、uid（<code>@WebBound</code> 的 uid）三个标签区分。</p>
+ */
+public class PrometheusExporter {
+
+	private final EndpointMetrics metrics;
+
+	public PrometheusExporter() {
+		this(EndpointMetrics.getDefault());
+	}
+
+	public PrometheusExporter(final EndpointMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * 写入到文件：先写临时文件再替换，读取方不会看到写了一半的内容
+	 * @param file ：目标文件
+	 */
+	public void write(final Path file) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+		try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			write(writer);
+		}
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public void write(final Writer writer) throws IOException {
+		List<OperationSnapshot> snapshots = metrics.getSnapshots();
+
+		header(writer, "cxf_endpoint_calls_total", "counter", "Completed calls of a generated endpoint operation.");
+		for (OperationSnapshot snapshot : snapshots) {
+			sample(writer, "cxf_endpoint_calls_total", snapshot, null, Long.toString(snapshot.getCount()));
+		}
+		header(writer, "cxf_endpoint_errors_total", "counter", "Calls that completed with an exception.");
+		for (OperationSnapshot snapshot : snapshots) {
+			sample(writer, "cxf_endpoint_errors_total", snapshot, null, Long.toString(snapshot.getErrorCount()));
+		}
+		header(writer, "cxf_endpoint_in_flight", "gauge", "Calls currently executing.");
+		for (OperationSnapshot snapshot : snapshots) {
+			sample(writer, "cxf_endpoint_in_flight", snapshot, null, Long.toString(snapshot.getInFlight()));
+		}
+		header(writer, "cxf_endpoint_latency_seconds", "summary", "Latency of completed calls.");
+		for (OperationSnapshot snapshot : snapshots) {
+			sample(writer, "cxf_endpoint_latency_seconds", snapshot, "0.5", seconds(snapshot.getP50Nanos()));
+			sample(writer, "cxf_endpoint_latency_seconds", snapshot, "0.99", seconds(snapshot.getP99Nanos()));
+			sample(writer, "cxf_endpoint_latency_seconds", snapshot, "0.999", seconds(snapshot.getP999Nanos()));
+			sample(writer, "cxf_endpoint_latency_seconds_sum", snapshot, null, seconds(snapshot.getTotalNanos()));
+			sample(writer, "cxf_endpoint_latency_seconds_count", snapshot, null, Long.toString(snapshot.getCount()));
+		}
+		header(writer, "cxf_endpoint_latency_max_seconds", "gauge", "Maximum latency since the endpoint was generated.");
+		for (OperationSnapshot snapshot : snapshots) {
+			sample(writer, "cxf_endpoint_latency_max_seconds", snapshot, null, seconds(snapshot.getMaxNanos()));
+		}
+		writer.flush();
+	}
+
+	private static void header(final Writer writer, final String name, final String type, final String help)
+			throws IOException {
+		writer.write("# HELP " + name + " " + help + "\n");
+		writer.write("# TYPE " + name + " " + type + "\n");
+	}
+
+	private static void sample(final Writer writer, final String name, final OperationSnapshot snapshot,
+			final String quantile, final String value) throws IOException {
+		StringBuilder line = new StringBuilder(name);
+		line.append("{endpoint=\"");
+		escape(line, snapshot.getClassName());
+		line.append("\",operation=\"");
+		escape(line, snapshot.getName());
+		line.append("\",uid=\"");
+		escape(line, snapshot.getUid());
+		line.append('"');
+		if (quantile != null) {
+			line.append(",quantile=\"").append(quantile).append('"');
+		}
+		line.append("} ").append(value).append('\n');
+		writer.write(line.toString());
+	}
+
+	private static void escape(final StringBuilder line, final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			if (ch == '\\' || ch == '"') {
+				line.append('\\').append(ch);
+			} else if (ch == '\n') {
+				line.append("\\n");
+			} else {
+				line.append(ch);
+			}
+		}
+	}
+
+	private static String seconds(final long nanos) {
+		return Double.toString(nanos / 1e9);
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.naming;
+
+import org.apache.cxf.endpoint.cache.EndpointApiFingerprint;
+
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.description.type.TypeDescription;
+
+/**
+ * 以结构指纹的摘要作为类名后缀的命名策略：相同的定义在每次启动、每个节点上都得到相同的类名，
+ * 使字节码缓存、AppCDS 归档与性能分析中的类名保持稳定。
+ * <p>类名为 <code>前缀 + EndpointApi$ + 摘要前 32 位</code>，只由摘要决定，与定义的注册顺序无关；
+ * 32 位十六进制即 128 位，不同的定义得到相同后缀的概率可以忽略。</p>
+ * <p>ByteBuddy 在创建构建器时即确定类名，此时定义尚未完成；构建器在生成字节码前调用
+ * {@link #name(String)} 按最终的摘要重新命名。</p>
+ * <p>注意：相同的定义得到相同的类名，以注入方式加载到同一个类加载器时，应通过类缓存复用已加载的类。</p>
+ */
+public class DigestNamingStrategy extends NamingStrategy.AbstractBase {
+
+	public static final String PLACEHOLDER_SUFFIX = "$Pending";
+
+	public static final int SUFFIX_LENGTH = 32;
+
+	private final String prefix;
+
+	public DigestNamingStrategy(final String prefix) {
+		this.prefix = prefix;
+	}
+
+	public String getPrefix() {
+		return prefix;
+	}
+
+	/**
+	 * 定义完成前的临时类名
+	 */
+	@Override
+	protected String name(final TypeDescription superClass) {
+		return prefix + superClass.getSimpleName() + PLACEHOLDER_SUFFIX;
+	}
+
+	/**
+	 * @param digest ：定义的结构指纹摘要，见 {@link EndpointApiFingerprint#digest()}
+	 * @return 该定义的类名，同一摘要总是得到同一个类名
+	 */
+	public String name(final String digest) {
+		return prefix + "EndpointApi$" + digest.substring(0, Math.min(SUFFIX_LENGTH, digest.length()));
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.utils;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.cxf.endpoint.EndpointApiContext;
+
+import net.bytebuddy.description.annotation.AnnotationDescription;
+
+/**
+ * 直接构造 AnnotationDescription 并复用相同的注解描述，如各租户共用的
+ * <code>@WebService(targetNamespace=...)</code>、<code>@WebParam(name=...)</code>。
+ * <p>匿名注解实现需要 ByteBuddy 再通过反射读回属性值；这里按属性值查找已构造的描述，命中时不再创建任何对象。</p>
+ * <p>缓存的描述数量有上限，超出后新的描述不再缓存，避免租户独有的注解（如 @WebBound）无限增长。</p>
+ */
+public class AnnotationDescriptionFactory {
+
+	public static final int MAX_SIZE = 4096;
+
+	private static final ConcurrentMap<List<Object>, AnnotationDescription> CACHE = new ConcurrentHashMap<List<Object>, AnnotationDescription>();
+
+	/**
+	 * 构造注解描述
+	 * @param type 			：注解类型
+	 * @param properties 	：属性名与属性值交替排列，值为 null 的属性使用注解的默认值；
+	 * 						     值可以是 String、Boolean、Integer、枚举或 String[]
+	 * @return 相同属性值的注解共用同一个描述
+	 */
+	public static AnnotationDescription of(final Class<? extends Annotation> type, final Object... properties) {
+		List<Object> key = key(type, properties);
+		AnnotationDescription description = CACHE.get(key);
+		if (description != null) {
+			return description;
+		}
+		description = build(type, properties);
+		if (CACHE.size() < MAX_SIZE) {
+			AnnotationDescription existing = CACHE.putIfAbsent(key, description);
+			if (existing != null) {
+				return existing;
+			}
+		}
+		return description;
+	}
+
+	/**
+	 * @return 已缓存的注解描述数量
+	 */
+	public static int size() {
+		return CACHE.size();
+	}
+
+	public static void clear() {
+		CACHE.clear();
+	}
+
+	private static List<Object> key(final Class<? extends Annotation> type, final Object... properties) {
+		List<Object> key = new ArrayList<Object>(properties.length + 1);
+		key.add(type);
+		for (Object property : properties) {
+			// 数组按内容比较，复制一份避免调用方修改
+			key.add(property instanceof Object[] ? Arrays.asList(((Object[]) property).clone()) : property);
+		}
+		return key;
+	}
+
+	private static AnnotationDescription build(final Class<? extends Annotation> type, final Object... properties) {
+		if (properties.length % 2 != 0) {
+			throw new IllegalArgumentException("Annotation properties must be name/value pairs: " + type.getName());
+		}
+		AnnotationDescription.Builder builder = AnnotationDescription.Builder
+				.ofType(EndpointApiContext.getDefault().describe(type));
+		for (int i = 0; i < properties.length; i += 2) {
+			String name = (String) properties[i];
+			Object value = properties[i + 1];
+			if (value == null) {
+				continue;
+			}
+			if (value instanceof String) {
+				builder = builder.define(name, (String) value);
+			} else if (value instanceof Boolean) {
+				builder = builder.define(name, ((Boolean) value).booleanValue());
+			} else if (value instanceof Integer) {
+				builder = builder.define(name, ((Integer) value).intValue());
+			} else if (value instanceof Enum) {
+				builder = builder.define(name, (Enum<?>) value);
+			} else if (value instanceof String[]) {
+				builder = builder.defineArray(name, ((String[]) value).clone());
+			} else {
+				throw new IllegalArgumentException("Unsupported value for " + type.getName() + "." + name + ": " + value);
+			}
+		}
+		return builder.build();
+	}
+
+}
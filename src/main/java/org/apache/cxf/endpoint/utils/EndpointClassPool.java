@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.utils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+
+/**
+ * 每次构建独立使用的 ClassPool：
+ * <ul>
+ * <li>不以共享的默认 ClassPool 为父级，构建过程中引用到的类型只缓存在本 ClassPool 中；</li>
+ * <li>缓存的 CtClass 数量有上限，超出时按最近最少使用的顺序淘汰未被修改的 CtClass；</li>
+ * <li>构建完成后调用 {@link #release()} 释放全部缓存。</li>
+ * </ul>
+ * 共享的 ClassPool 会用 Hashtable 永久缓存每个 CtClass，随着服务的增加占用的内存越来越大。
+ */
+public class EndpointClassPool extends ClassPool {
+
+	public static final int DEFAULT_MAX_SIZE = 512;
+
+	// 存活的 ClassPool，用于统计
+	private static final Set<EndpointClassPool> POOLS = Collections
+			.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<EndpointClassPool, Boolean>()));
+
+	private final int maxSize;
+	private final LoaderClassPath classPath;
+	// 访问顺序的 LRU 缓存；ClassPool 构造期间可能尚未初始化
+	private Map<String, CtClass> cache;
+	private boolean released = false;
+
+	public EndpointClassPool() {
+		this(Thread.currentThread().getContextClassLoader() != null ? Thread.currentThread().getContextClassLoader()
+				: EndpointClassPool.class.getClassLoader(), DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param loader 	：查找类文件的类加载器
+	 * @param maxSize 	：缓存的 CtClass 数量上限
+	 */
+	public EndpointClassPool(final ClassLoader loader, final int maxSize) {
+		super(false);
+		this.maxSize = maxSize;
+		this.classPath = new LoaderClassPath(loader);
+		appendClassPath(classPath);
+		POOLS.add(this);
+	}
+
+	@Override
+	protected synchronized CtClass getCached(final String classname) {
+		CtClass cached = cache().get(classname);
+		return cached != null ? cached : super.getCached(classname);
+	}
+
+	@Override
+	protected synchronized void cacheCtClass(final String classname, final CtClass c, final boolean dynamic) {
+		// CtClass.detach() 会把移除的结果重新放回缓存，已经删除的类再次 detach 时结果为 null
+		if (c == null) {
+			return;
+		}
+		// 基本类型无法从类路径重新加载，交给 ClassPool 永久保存，不参与淘汰
+		if (c.isPrimitive()) {
+			super.cacheCtClass(classname, c, dynamic);
+			return;
+		}
+		if (released) {
+			throw new IllegalStateException("The class pool has been released.");
+		}
+		cache().put(classname, c);
+		trim();
+	}
+
+	@Override
+	protected synchronized CtClass removeCached(final String classname) {
+		CtClass removed = cache().remove(classname);
+		return removed != null ? removed : super.removeCached(classname);
+	}
+
+	/**
+	 * @return 当前缓存的 CtClass 数量
+	 */
+	public synchronized int size() {
+		return cache().size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized boolean isReleased() {
+		return released;
+	}
+
+	/**
+	 * 释放全部缓存的 CtClass，之后不能再用于构建
+	 */
+	public void release() {
+		synchronized (this) {
+			if (released) {
+				return;
+			}
+			released = true;
+			cache().clear();
+		}
+		removeClassPath(classPath);
+		POOLS.remove(this);
+	}
+
+	/**
+	 * @return 尚未释放的 ClassPool 数量
+	 */
+	public static int getLivePoolCount() {
+		synchronized (POOLS) {
+			int count = 0;
+			for (EndpointClassPool pool : POOLS) {
+				if (!pool.isReleased()) {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * @return 全部存活的 ClassPool 中缓存的 CtClass 总数
+	 */
+	public static int getCachedClassCount() {
+		synchronized (POOLS) {
+			int count = 0;
+			for (EndpointClassPool pool : POOLS) {
+				count += pool.size();
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * 淘汰最久未使用且未被修改的 CtClass，正在构建的类与基本类型不会被淘汰
+	 */
+	private void trim() {
+		Iterator<CtClass> iterator = cache.values().iterator();
+		while (cache.size() > maxSize && iterator.hasNext()) {
+			CtClass eldest = iterator.next();
+			if (!eldest.isModified() && !eldest.isPrimitive()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private Map<String, CtClass> cache() {
+		if (cache == null) {
+			cache = new LinkedHashMap<String, CtClass>(64, 0.75f, true);
+		}
+		return cache;
+	}
+
+}
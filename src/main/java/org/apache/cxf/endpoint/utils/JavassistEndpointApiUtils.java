@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.utils;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.NotFoundException;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.ParameterAnnotationsAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.ArrayMemberValue;
+import javassist.bytecode.annotation.BooleanMemberValue;
+import javassist.bytecode.annotation.EnumMemberValue;
+import javassist.bytecode.annotation.IntegerMemberValue;
+import javassist.bytecode.annotation.MemberValue;
+import javassist.bytecode.annotation.StringMemberValue;
+
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+
+/**
+ * Javassist 实现的构建器（*CtClassBuilder、jaxws 的 EndpointApiImplBuilder）共用的工具方法。
+ * <p>注解属性的约定与 {@link AnnotationDescriptionFactory#of(Class, Object...)} 相同，两种实现生成的注解一致。</p>
+ */
+public class JavassistEndpointApiUtils {
+
+	// 保存接口方法的静态字段名前缀
+	private static final String METHOD_FIELD_PREFIX = "METHOD$";
+
+	/**
+	 * 构造注解
+	 * @param constPool 	：注解所在类的常量池
+	 * @param type 			：注解类型
+	 * @param properties 	：属性名与属性值交替排列，值为 null 的属性使用注解的默认值；
+	 * 						     值可以是 String、Boolean、Integer、枚举或 String[]
+	 * @return
+	 */
+	public static Annotation annotation(final ConstPool constPool, final Class<? extends java.lang.annotation.Annotation> type,
+			final Object... properties) {
+		if (properties.length % 2 != 0) {
+			throw new IllegalArgumentException("Annotation properties must be name/value pairs: " + type.getName());
+		}
+		Annotation annotation = new Annotation(type.getName(), constPool);
+		for (int i = 0; i < properties.length; i += 2) {
+			String name = (String) properties[i];
+			Object value = properties[i + 1];
+			if (value == null) {
+				continue;
+			}
+			annotation.addMemberValue(name, memberValue(constPool, type, name, value));
+		}
+		return annotation;
+	}
+	
+	/**
+	 * 给类添加注解，与已有的类注解合并
+	 */
+	public static void addClassAnnotation(final CtClass declaring, final Annotation... annotations) {
+		ClassFile classFile = declaring.getClassFile();
+		AnnotationsAttribute attribute = (AnnotationsAttribute) classFile.getAttribute(AnnotationsAttribute.visibleTag);
+		if (attribute == null) {
+			attribute = new AnnotationsAttribute(classFile.getConstPool(), AnnotationsAttribute.visibleTag);
+			classFile.addAttribute(attribute);
+		}
+		for (Annotation annotation : annotations) {
+			attribute.addAnnotation(annotation);
+		}
+	}
+	
+	/**
+	 * 给方法添加注解，与已有的方法注解合并
+	 */
+	public static void addMethodAnnotation(final CtMethod ctMethod, final Annotation... annotations) {
+		MethodInfo methodInfo = ctMethod.getMethodInfo();
+		AnnotationsAttribute attribute = (AnnotationsAttribute) methodInfo.getAttribute(AnnotationsAttribute.visibleTag);
+		if (attribute == null) {
+			attribute = new AnnotationsAttribute(methodInfo.getConstPool(), AnnotationsAttribute.visibleTag);
+			methodInfo.addAttribute(attribute);
+		}
+		for (Annotation annotation : annotations) {
+			attribute.addAnnotation(annotation);
+		}
+	}
+	
+	/**
+	 * 设置方法的参数注解
+	 * @param annotations ：每个参数一组注解，长度与方法参数个数相同
+	 */
+	public static void setParameterAnnotations(final CtMethod ctMethod, final Annotation[][] annotations) {
+		if (annotations.length == 0) {
+			return;
+		}
+		MethodInfo methodInfo = ctMethod.getMethodInfo();
+		ParameterAnnotationsAttribute attribute = new ParameterAnnotationsAttribute(methodInfo.getConstPool(),
+				ParameterAnnotationsAttribute.visibleTag);
+		attribute.setAnnotations(annotations);
+		methodInfo.addAttribute(attribute);
+	}
+	
+	/**
+	 * 检查类中是否已经定义了指定名称的字段
+	 */
+	public static boolean hasField(final CtClass declaring, final String fieldName) {
+		for (CtField field : declaring.getDeclaredFields()) {
+			if (field.getName().equals(fieldName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * 检查类中是否已经定义了指定名称的方法，不区分参数
+	 */
+	public static boolean hasMethod(final CtClass declaring, final String methodName) {
+		try {
+			return declaring.getDeclaredMethods(methodName).length > 0;
+		} catch (NotFoundException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * 检查类中是否已经定义了指定名称及参数的方法
+	 */
+	public static boolean hasMethod(final CtClass declaring, final String methodName, final CtClass[] parameters) {
+		try {
+			declaring.getDeclaredMethod(methodName, parameters);
+			return true;
+		} catch (NotFoundException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * 获取 Java 类型对应的 CtClass，null 表示 void；数组按 <code>String[]</code> 形式的名称查找
+	 */
+	public static CtClass makeType(final ClassPool pool, final Class<?> type) throws NotFoundException {
+		return type != null ? pool.get(typeName(type)) : CtClass.voidType;
+	}
+	
+	/**
+	 * 构造方法参数类型
+	 */
+	public static CtClass[] makeParams(final ClassPool pool, final Class<?>... types) throws NotFoundException {
+		CtClass[] parameters = new CtClass[types.length];
+		for (int i = 0; i < types.length; i++) {
+			parameters[i] = pool.get(typeName(types[i]));
+		}
+		return parameters;
+	}
+	
+	/**
+	 * 构造以 InvocationHandler 为参数的构造器，实现类须继承 {@link org.apache.cxf.endpoint.EndpointApi}
+	 */
+	public static CtConstructor makeConstructor(final ClassPool pool, final CtClass declaring) throws CannotCompileException, NotFoundException {
+		CtClass[] parameters = new CtClass[] { pool.get(InvocationHandler.class.getName()) };
+		return CtNewConstructor.make(parameters, null, "{ super($1); }", declaring);
+	}
+	
+	/**
+	 * 设置方法体：交给 InvocationHandler 处理，传入的 Method 取自接口，以便读取接口方法上的注解。
+	 * <p>Method 在第一次调用时查找并保存在实现类的静态字段中，之后的调用不再反射查找。</p>
+	 * @param ctMethod 	：实现类的方法
+	 * @param api 		：声明该方法的接口
+	 */
+	public static void methodBody(final CtMethod ctMethod, final CtClass api) throws CannotCompileException, NotFoundException {
+		CtClass declaring = ctMethod.getDeclaringClass();
+		String field = METHOD_FIELD_PREFIX + declaring.getDeclaredFields().length;
+		declaring.addField(CtField.make("private static java.lang.reflect.Method " + field + ";", declaring));
+		String lookup = "if (" + field + " == null) { " + field + " = " + api.getName() + ".class.getMethod(\""
+				+ ctMethod.getName() + "\", $sig); } ";
+		String invoke = "this.handler.invoke($0, " + field + ", $args)";
+		if (CtClass.voidType.equals(ctMethod.getReturnType())) {
+			ctMethod.setBody("{ " + lookup + invoke + "; }");
+		} else {
+			ctMethod.setBody("{ " + lookup + "return ($r) " + invoke + "; }");
+		}
+	}
+	
+	/**
+	 * 在新的类加载器中加载 CtClass 及其引用的动态类型（如实现类的接口），加载后可随类加载器一起卸载。
+	 * <p>不使用 {@link CtClass#toClass()}：没有同包的 neighbor 类时它需要反射调用 ClassLoader.defineClass，新版本 JDK 默认不允许。</p>
+	 * @param declaring 	：要加载的类
+	 * @param dependencies 	：同时加载的动态类型
+	 */
+	public static Class<?> toClass(final CtClass declaring, final CtClass... dependencies) throws CannotCompileException {
+		Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+		try {
+			for (CtClass dependency : dependencies) {
+				types.put(dependency.getName(), dependency.toBytecode());
+			}
+			types.put(declaring.getName(), declaring.toBytecode());
+			ClassLoader parent = Thread.currentThread().getContextClassLoader() != null
+					? Thread.currentThread().getContextClassLoader() : JavassistEndpointApiUtils.class.getClassLoader();
+			return new ByteArrayClassLoader(parent, types).loadClass(declaring.getName());
+		} catch (IOException | ClassNotFoundException e) {
+			throw new CannotCompileException(e);
+		}
+	}
+	
+	private static String typeName(final Class<?> type) {
+		return type.isArray() ? typeName(type.getComponentType()) + "[]" : type.getName();
+	}
+	
+	private static MemberValue memberValue(final ConstPool constPool, final Class<?> type, final String name, final Object value) {
+		if (value instanceof String) {
+			return new StringMemberValue((String) value, constPool);
+		} else if (value instanceof Boolean) {
+			return new BooleanMemberValue(((Boolean) value).booleanValue(), constPool);
+		} else if (value instanceof Integer) {
+			return new IntegerMemberValue(constPool, ((Integer) value).intValue());
+		} else if (value instanceof Enum) {
+			EnumMemberValue enumValue = new EnumMemberValue(constPool);
+			enumValue.setType(((Enum<?>) value).getDeclaringClass().getName());
+			enumValue.setValue(((Enum<?>) value).name());
+			return enumValue;
+		} else if (value instanceof String[]) {
+			String[] strings = (String[]) value;
+			MemberValue[] elements = new MemberValue[strings.length];
+			for (int i = 0; i < strings.length; i++) {
+				elements[i] = new StringMemberValue(strings[i], constPool);
+			}
+			ArrayMemberValue arrayValue = new ArrayMemberValue(new StringMemberValue(constPool), constPool);
+			arrayValue.setValue(elements);
+			return arrayValue;
+		}
+		throw new IllegalArgumentException("Unsupported value for " + type.getName() + "." + name + ": " + value);
+	}
+
+}
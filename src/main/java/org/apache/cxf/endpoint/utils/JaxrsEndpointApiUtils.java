@@ -26,170 +26,155 @@ import org.apache.cxf.endpoint.jaxrs.definition.RestParam;
 
 import java.lang.annotation.Annotation;
 
+import net.bytebuddy.description.annotation.AnnotationDescription;
+
 public class JaxrsEndpointApiUtils {
  
 	/**
 	 * 构造  @Path 注解
 	 */
-	public static Annotation annotPath(final String path) {
-		return new Path() {
-			
-			@Override
-			public Class<? extends Annotation> annotationType() {
-				return Path.class;
-			}
-			
-			@Override
-			public String value() {
-				return path;
-			}
-		};
+	public static AnnotationDescription annotPath(final String path) {
+		return AnnotationDescriptionFactory.of(Path.class, "value", path);
 	}
 	
 	/**
 	 * 构造  @Produces 注解
 	 */
-	public static Annotation annotProduces( String... mediaTypes) {
+	public static AnnotationDescription annotProduces( String... mediaTypes) {
 		// 参数预处理
 		final String[] mediaTypesCopy = ArrayUtils.isEmpty(mediaTypes) ? new String[] {} : mediaTypes;
-		return new Produces() {
-			
-			@Override
-			public Class<? extends Annotation> annotationType() {
-				return Produces.class;
-			}
-			
-			@Override
-			public String[] value() {
-				return mediaTypesCopy;
-			}
-		};
+		return AnnotationDescriptionFactory.of(Produces.class, "value", mediaTypesCopy);
 	}
 	
 	/**
 	 * 构造 @WebBound 注解
 	 */
-	public static Annotation annotWebBound(final ConstPool constPool, final RestBound bound) {
-		
-		CtAnnotationBuilder builder = CtAnnotationBuilder.create(WebBound.class, constPool).
-			addStringMember("uid", bound.getUid());
-		if (StringUtils.isNotBlank(bound.getJson())) {
-			builder.addStringMember("json", bound.getJson());
-        }
-		return builder.build();
-		
+	public static AnnotationDescription annotWebBound(final RestBound bound) {
+		return AnnotationDescriptionFactory.of(WebBound.class,
+				"uid", StringUtils.defaultString(bound.getUid()),
+				"json", StringUtils.defaultIfBlank(bound.getJson(), "{}"));
 	}
 	
 	/**
 	 * 根据参数 构造   @GET、 @POST、 @PUT、 @DELETE、 @PATCH、 @HEAD、 @OPTIONS 注解
 	 */
-	public static Annotation annotHttpMethod(final ConstPool constPool, final RestMethod method) {
+	public static AnnotationDescription annotHttpMethod(final RestMethod method) {
+		return AnnotationDescriptionFactory.of(httpMethodType(method));
+	}
+	
+	/**
+	 * @return 请求方式对应的注解类型：@GET、 @POST、 @PUT、 @DELETE、 @PATCH、 @HEAD、 @OPTIONS
+	 */
+	public static Class<? extends Annotation> httpMethodType(final RestMethod method) {
 		
-		Annotation annot = null;
+		Class<? extends Annotation> annotationType = null;
 		switch (method.getMethod()) {
 			case GET:{
-				annot = new Annotation(GET.class.getName(), constPool);
+				annotationType = GET.class;
 			};break;
 			case POST:{
-				annot = new Annotation(POST.class.getName(), constPool);
+				annotationType = POST.class;
 			};break;
 			case PUT:{
-				annot = new Annotation(PUT.class.getName(), constPool);
+				annotationType = PUT.class;
 			};break;
 			case DELETE:{
-				annot = new Annotation(DELETE.class.getName(), constPool);
+				annotationType = DELETE.class;
 			};break;
 			case PATCH:{
-				annot = new Annotation(PATCH.class.getName(), constPool);
+				annotationType = PATCH.class;
 			};break;
 			case HEAD:{
-				annot = new Annotation(HEAD.class.getName(), constPool);
+				annotationType = HEAD.class;
 			};break;
 			case OPTIONS:{
-				annot = new Annotation(OPTIONS.class.getName(), constPool);
+				annotationType = OPTIONS.class;
 			};break;
 			default:{
-				annot = new Annotation(GET.class.getName(), constPool);
+				annotationType = GET.class;
 			};break;
 		}
 		
-		return annot;
+		return annotationType;
+	}
+	
+	/**
+	 * 构造方法级别的 @Path 注解
+	 */
+	public static AnnotationDescription annotMethodPath(final String path) {
+		return AnnotationDescriptionFactory.of(Path.class, "value", path);
+	}
+	
+	/**
+	 * 构造方法级别的 @Produces 注解
+	 */
+	public static AnnotationDescription annotMethodProduces(String... mediaTypes) {
+		// 参数预处理
+		mediaTypes = ArrayUtils.isEmpty(mediaTypes) ? new String[] {"*/*"} : mediaTypes;
+		return AnnotationDescriptionFactory.of(Produces.class, "value", mediaTypes);
 	}
 	
 	/**
 	 * 构造 @Consumes 注解
 	 */
-	public static <T> Annotation annotConsumes(final ConstPool constPool, String... consumes) {
+	public static AnnotationDescription annotConsumes(String... consumes) {
 		// 参数预处理
 		consumes = ArrayUtils.isEmpty(consumes) ? new String[] {"*/*"} : consumes;
-		CtAnnotationBuilder builder = CtAnnotationBuilder.create(Consumes.class, constPool).
-				addStringMember("value", consumes);
-		return builder.build();
+		return AnnotationDescriptionFactory.of(Consumes.class, "value", consumes);
 	}
 	
 	/**
 	 * 构造 @BeanParam 、@CookieParam、@FormParam、@HeaderParam、@MatrixParam、@PathParam、@QueryParam 参数注解
 	 */
-	public static <T> Annotation[][] annotParams(final ConstPool constPool, RestParam<?>... params) {
-
-		// 添加 @WebParam 参数注解
-		if (params != null && params.length > 0) {
+	public static AnnotationDescription[] annotParam(final RestParam<?> param) {
 
-			Annotation[][] paramArrays = new Annotation[params.length][1];
-			
-			Annotation paramAnnot = null;
-			for (int i = 0; i < params.length; i++) {
-				
-				switch (params[i].getFrom()) {
-					case BEAN:{
-						paramAnnot = new Annotation(BeanParam.class.getName(), constPool);
-					};break;
-					case COOKIE:{
-						paramAnnot = new Annotation(CookieParam.class.getName(), constPool);
-					};break;
-					case FORM:{
-						paramAnnot = new Annotation(FormParam.class.getName(), constPool);
-					};break;
-					case HEADER:{
-						paramAnnot = new Annotation(HeaderParam.class.getName(), constPool);
-					};break;
-					case MATRIX:{
-						paramAnnot = new Annotation(MatrixParam.class.getName(), constPool);
-					};break;
-					case PATH:{
-						paramAnnot = new Annotation(PathParam.class.getName(), constPool);
-					};break;
-					case QUERY:{
-						paramAnnot = new Annotation(QueryParam.class.getName(), constPool);
-					};break;
-					default:{
-						paramAnnot = new Annotation(QueryParam.class.getName(), constPool);
-					};break;
-				}
-				if(HttpParamEnum.BEAN.compareTo(params[i].getFrom()) != 0){
-					paramAnnot.addMemberValue("value", new StringMemberValue(params[i].getName(), constPool));
-				}
-				
-				// 有默认值
-				if(StringUtils.isNotBlank(params[i].getDef())) {
-					
-					paramArrays[i] = new Annotation[2];
-					paramArrays[i][0] = paramAnnot;
-					
-					Annotation defAnnot = new Annotation(DefaultValue.class.getName(), constPool);
-					defAnnot.addMemberValue("value", new StringMemberValue(params[i].getDef(), constPool));
-					paramArrays[i][1] = paramAnnot;
-					
-				} else {
-					paramArrays[i][0] = paramAnnot;
-				}
-				
-			}
-			
-			return paramArrays;
+		Class<? extends Annotation> annotationType = paramType(param);
+		AnnotationDescription annotation = HttpParamEnum.BEAN.compareTo(param.getFrom()) != 0
+				? AnnotationDescriptionFactory.of(annotationType, "value", param.getName())
+				: AnnotationDescriptionFactory.of(annotationType);
+		
+		// 有默认值
+		if(StringUtils.isNotBlank(param.getDef())) {
+			return new AnnotationDescription[] { annotation,
+					AnnotationDescriptionFactory.of(DefaultValue.class, "value", param.getDef()) };
+		}
+		return new AnnotationDescription[] { annotation };
+	}
+	
+	/**
+	 * @return 参数来源对应的注解类型：@BeanParam 、@CookieParam、@FormParam、@HeaderParam、@MatrixParam、@PathParam、@QueryParam
+	 */
+	public static Class<? extends Annotation> paramType(final RestParam<?> param) {
 
+		Class<? extends Annotation> annotationType = null;
+		switch (param.getFrom()) {
+			case BEAN:{
+				annotationType = BeanParam.class;
+			};break;
+			case COOKIE:{
+				annotationType = CookieParam.class;
+			};break;
+			case FORM:{
+				annotationType = FormParam.class;
+			};break;
+			case HEADER:{
+				annotationType = HeaderParam.class;
+			};break;
+			case MATRIX:{
+				annotationType = MatrixParam.class;
+			};break;
+			case PATH:{
+				annotationType = PathParam.class;
+			};break;
+			case QUERY:{
+				annotationType = QueryParam.class;
+			};break;
+			default:{
+				annotationType = QueryParam.class;
+			};break;
 		}
-		return null;
+		
+		return annotationType;
 	}
 	
 }
@@ -17,6 +17,9 @@ package org.apache.cxf.endpoint.utils;
 
 
 import jakarta.jws.HandlerChain;
+import jakarta.jws.WebMethod;
+import jakarta.jws.WebParam;
+import jakarta.jws.WebResult;
 import jakarta.jws.WebService;
 import jakarta.xml.ws.Service;
 import jakarta.xml.ws.ServiceMode;
@@ -26,9 +29,13 @@ import jakarta.xml.ws.soap.AddressingFeature;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.endpoint.annotation.WebBound;
 import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.jaxws.definition.SoapResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.bytebuddy.description.annotation.AnnotationDescription;
 import net.bytebuddy.dynamic.DynamicType.Builder;
 
 public class JaxwsEndpointApiUtils {
@@ -43,116 +50,43 @@ public class JaxwsEndpointApiUtils {
 	 * @param portName			：Port name.
 	 * @return
 	 */
-	public static Builder<? extends Object> annotWebServiceProvider(final Builder<? extends Object> builder, String wsdlLocation,
+	public static <T> Builder<T> annotWebServiceProvider(final Builder<T> builder, String wsdlLocation,
 			String serviceName, String targetNamespace, String portName) {
 		
-		return builder.annotateType(new WebServiceProvider() {
-
-			@Override
-			public Class<? extends java.lang.annotation.Annotation> annotationType() {
-				return WebServiceProvider.class;
-			}
-
-			@Override
-			public String wsdlLocation() {
-				return StringUtils.isNotBlank(wsdlLocation) ? wsdlLocation : "";
-			}
-
-			@Override
-			public String serviceName() {
-				return StringUtils.isNotBlank(serviceName) ? serviceName : "";
-			}
-
-			@Override
-			public String targetNamespace() {
-				return StringUtils.isNotBlank(targetNamespace) ? targetNamespace : "";
-			}
-
-			@Override
-			public String portName() {
-				return StringUtils.isNotBlank(portName) ? portName : "";
-			}
-			
-		});
+		return builder.annotateType(AnnotationDescriptionFactory.of(WebServiceProvider.class,
+				"wsdlLocation", StringUtils.defaultIfBlank(wsdlLocation, null),
+				"serviceName", StringUtils.defaultIfBlank(serviceName, null),
+				"targetNamespace", StringUtils.defaultIfBlank(targetNamespace, null),
+				"portName", StringUtils.defaultIfBlank(portName, null)));
 
 	}
 	
 	/**
-	 * 构造 @WebService 注解
+	 * 构造 @WebService 注解，各租户共用的命名空间等属性相同时复用同一个注解描述
 	 */
-	public static Builder<? extends Object> annotWebService(final Builder<? extends Object> builder, final String name, final String targetNamespace, String serviceName,
+	public static <T> Builder<T> annotWebService(final Builder<T> builder, final String name, final String targetNamespace, String serviceName,
 			String portName, String wsdlLocation, String endpointInterface) {
 
-		return builder.annotateType(new WebService() {
-
-			@Override
-			public Class<? extends java.lang.annotation.Annotation> annotationType() {
-				return WebService.class;
-			}
-			
-			@Override
-			public String name() {
-				return StringUtils.isNotBlank(name) ? name : "";
-			}
-
-			@Override
-			public String targetNamespace() {
-				return StringUtils.isNotBlank(targetNamespace) ? targetNamespace : "";
-			}
-
-			@Override
-			public String serviceName() {
-				return StringUtils.isNotBlank(serviceName) ? serviceName : "";
-			}
-
-			@Override
-			public String portName() {
-				return StringUtils.isNotBlank(portName) ? portName : "";
-			}
-
-			@Override
-			public String wsdlLocation() {
-				return StringUtils.isNotBlank(wsdlLocation) ? wsdlLocation : "";
-			}
-			
-			@Override
-			public String endpointInterface() {
-				return StringUtils.isNotBlank(endpointInterface) ? endpointInterface : "";
-			}
-			
-		});
+		return builder.annotateType(AnnotationDescriptionFactory.of(WebService.class,
+				"name", StringUtils.defaultIfBlank(name, null),
+				"targetNamespace", StringUtils.defaultIfBlank(targetNamespace, null),
+				"serviceName", StringUtils.defaultIfBlank(serviceName, null),
+				"portName", StringUtils.defaultIfBlank(portName, null),
+				"wsdlLocation", StringUtils.defaultIfBlank(wsdlLocation, null),
+				"endpointInterface", StringUtils.defaultIfBlank(endpointInterface, null)));
 
 	}
 	
 	/**
 	 * 构造 @Addressing 注解
 	 */
-	public static Builder<? extends Object> annotAddressing(final Builder<? extends Object> builder, final boolean enabled, final boolean required,
+	public static <T> Builder<T> annotAddressing(final Builder<T> builder, final boolean enabled, final boolean required,
 			final AddressingFeature.Responses responses) {
 		
-		return builder.annotateType(new Addressing() {
-
-			@Override
-			public Class<? extends java.lang.annotation.Annotation> annotationType() {
-				return Addressing.class;
-			}
-
-			@Override
-			public boolean enabled() {
-				return enabled;
-			}
-
-			@Override
-			public boolean required() {
-				return required;
-			}
-
-			@Override
-			public AddressingFeature.Responses responses() {
-				return responses;
-			}
-			
-		});
+		return builder.annotateType(AnnotationDescriptionFactory.of(Addressing.class,
+				"enabled", enabled,
+				"required", required,
+				"responses", responses));
 
 	}
 
@@ -160,141 +94,77 @@ public class JaxwsEndpointApiUtils {
 	 * 构造 @ServiceMode 注解
 	 * @return 
 	 */
-	public static Builder<? extends Object> annotServiceMode(final Builder<? extends Object> builder, final Service.Mode mode) {
+	public static <T> Builder<T> annotServiceMode(final Builder<T> builder, final Service.Mode mode) {
 		
-		return builder.annotateType(new ServiceMode() {
-
-			@Override
-			public Service.Mode value() {
-				return mode;
-			}
-
-			@Override
-			public Class<? extends java.lang.annotation.Annotation> annotationType() {
-				return ServiceMode.class;
-			}
-			
-		});
+		return builder.annotateType(AnnotationDescriptionFactory.of(ServiceMode.class, "value", mode));
 	}
 	
 	/**
 	 * 构造 @HandlerChain 注解
 	 */
-	public static Builder<? extends Object> annotHandlerChain(final Builder<? extends Object> builder, String name, String file) {
+	public static <T> Builder<T> annotHandlerChain(final Builder<T> builder, String name, String file) {
 		
-		return builder.annotateType(new HandlerChain() {
-
-			@Override
-			public Class<? extends java.lang.annotation.Annotation> annotationType() {
-				return HandlerChain.class;
-			}
-
-			@Override
-			public String file() {
-				return StringUtils.isNotBlank(file) ? file : "" ;
-			}
-
-			@Override
-			public String name() {
-				return StringUtils.isNotBlank(name) ? name : "" ;
-			}
-			
-		});
+		return builder.annotateType(AnnotationDescriptionFactory.of(HandlerChain.class,
+				"file", StringUtils.defaultString(file),
+				"name", StringUtils.defaultIfBlank(name, null)));
 		
 	}
 	
 	/**
 	 * 构造 @WebBound 注解
 	 */
-	public static Builder<? extends Object> annotWebBound(final Builder<? extends Object> builder, final SoapBound bound) {
-
-		return builder.annotateType(new WebBound() {
-
-			@Override
-			public Class<? extends java.lang.annotation.Annotation> annotationType() {
-				return WebBound.class;
-			}
+	public static <T> Builder<T> annotWebBound(final Builder<T> builder, final SoapBound bound) {
 
-			@Override
-			public String uid() {
-				return bound.getUid();
-			}
-
-			@Override
-			public String json() {
-				return bound.getJson();
-			}
-			
-		});
+		return builder.annotateType(annotWebBound(bound));
 		
 	}
 	
+	/**
+	 * 构造 @WebBound 注解描述，用于方法级别的数据绑定
+	 */
+	public static AnnotationDescription annotWebBound(final SoapBound bound) {
+		return AnnotationDescriptionFactory.of(WebBound.class,
+				"uid", StringUtils.defaultString(bound.getUid()),
+				"json", StringUtils.defaultIfBlank(bound.getJson(), "{}"));
+	}
+	
 	/**
 	 * 构造 @WebMethod 注解
-	 
-	public static Builder<? extends Object> annotWebMethod(final Builder<? extends Object> builder, final SoapMethod method) {
+	 */
+	public static AnnotationDescription annotWebMethod(final SoapMethod method) {
 		
-		CtAnnotationBuilder builder = CtAnnotationBuilder.create(WebMethod.class, constPool)
-				.addStringMember("operationName", method.getOperationName());
-		if (StringUtils.isNotBlank(method.getAction())) {
-			builder.addStringMember("action", method.getAction());
-		}
-		builder.addBooleanMember("exclude", method.isExclude());
-		return builder.build();
+		return AnnotationDescriptionFactory.of(WebMethod.class,
+				"operationName", method.getOperationName(),
+				"action", StringUtils.defaultIfBlank(method.getAction(), null),
+				"exclude", method.isExclude());
 		
-	}*/
+	}
 	
 	/**
 	 * 构造 @WebParam 参数注解
-	
-	public static <T> Annotation[][] annotParams(final Builder<? extends Object> builder, SoapParam<?>... params) {
-
-		// 添加 @WebParam 参数注解
-		if (params != null && params.length > 0) {
-
-			// 参数模式定义
-			// Map<String, EnumMemberValue> modeMap = modeMap(constPool, params);
-			
-			Annotation[][] paramArrays = new Annotation[params.length][1];
-			
-			for (int i = 0; i < params.length; i++) {
-				
-				CtAnnotationBuilder builder = CtAnnotationBuilder.create(WebParam.class, constPool)
-						.addStringMember("name", params[i].getName())
-						.addStringMember("targetNamespace", params[i].getTargetNamespace())
-						.addEnumMember("mode", params[i].getMode())
-						.addBooleanMember("header", params[i].isHeader());
-				if (StringUtils.isNotBlank(params[i].getPartName())) {
-					builder.addStringMember("partName", params[i].getPartName());
-				}
-				paramArrays[i][0] = builder.build();
-				
-				 
-
-			}
-
-			return paramArrays;
-
-		}
-		return null;
-	} */
+	 */
+	public static AnnotationDescription annotWebParam(final SoapParam<?> param) {
+		
+		return AnnotationDescriptionFactory.of(WebParam.class,
+				"name", StringUtils.defaultString(param.getName()),
+				"targetNamespace", StringUtils.defaultString(param.getTargetNamespace()),
+				"mode", param.getMode(),
+				"header", param.isHeader(),
+				"partName", StringUtils.defaultIfBlank(param.getPartName(), null));
+		
+	}
 	
 	/**
 	 * 构造 @WebResult 注解
-	
-	public static <T> Annotation annotWebResult(final Builder<? extends Object> builder, final SoapResult<T> result) {
+	 */
+	public static AnnotationDescription annotWebResult(final SoapResult<?> result) {
 		
-		CtAnnotationBuilder builder = CtAnnotationBuilder.create(WebResult.class, constPool)
-				.addStringMember("name", result.getName())
-				.addBooleanMember("header", result.isHeader());
-		if (StringUtils.isNotBlank(result.getPartName())) {
-			builder.addStringMember("partName", result.getPartName());
-		}
-		 if (StringUtils.isNotBlank(result.getTargetNamespace())) {
-			 builder.addStringMember("targetNamespace", result.getTargetNamespace());
-        }
-		return builder.build();
+		return AnnotationDescriptionFactory.of(WebResult.class,
+				"name", StringUtils.defaultString(result.getName()),
+				"header", result.isHeader(),
+				"partName", StringUtils.defaultIfBlank(result.getPartName(), null),
+				"targetNamespace", StringUtils.defaultIfBlank(result.getTargetNamespace(), null));
 		
-	} */
+	}
 
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 绑定数据（<code>@WebBound.json</code>）的解析工具，只在构建期使用，解析结果为不可变的 Map/List
+ */
+public class JsonUtils {
+
+	/**
+	 * 解析 JSON 对象，空字符串视为 {}
+	 * @param json ：JSON 文本
+	 * @return 不可变的 Map，值为 String、BigDecimal、Boolean、null、Map 或 List
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> parseObject(final String json) {
+		if (StringUtils.isBlank(json)) {
+			return Collections.emptyMap();
+		}
+		Object value = parse(json);
+		if (!(value instanceof Map)) {
+			throw new IllegalArgumentException("Bound data is not a JSON object: " + json);
+		}
+		return (Map<String, Object>) value;
+	}
+
+	public static Object parse(final String json) {
+		Parser parser = new Parser(json);
+		Object value = parser.value();
+		parser.skipWhitespace();
+		if (parser.pos < json.length()) {
+			throw parser.error("Unexpected trailing content");
+		}
+		return value;
+	}
+
+	private static class Parser {
+
+		private final String text;
+		private int pos;
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+		Object value() {
+			skipWhitespace();
+			if (pos >= text.length()) {
+				throw error("Unexpected end of input");
+			}
+			char ch = text.charAt(pos);
+			switch (ch) {
+			case '{':
+				return object();
+			case '[':
+				return array();
+			case '"':
+				return string();
+			case 't':
+				return literal("true", Boolean.TRUE);
+			case 'f':
+				return literal("false", Boolean.FALSE);
+			case 'n':
+				return literal("null", null);
+			default:
+				return number();
+			}
+		}
+
+		Map<String, Object> object() {
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			pos++;
+			skipWhitespace();
+			if (peek('}')) {
+				pos++;
+				return Collections.unmodifiableMap(map);
+			}
+			while (true) {
+				skipWhitespace();
+				if (!peek('"')) {
+					throw error("Expected object key");
+				}
+				String key = string();
+				skipWhitespace();
+				expect(':');
+				map.put(key, value());
+				skipWhitespace();
+				if (peek(',')) {
+					pos++;
+				} else {
+					expect('}');
+					return Collections.unmodifiableMap(map);
+				}
+			}
+		}
+
+		List<Object> array() {
+			List<Object> list = new ArrayList<Object>();
+			pos++;
+			skipWhitespace();
+			if (peek(']')) {
+				pos++;
+				return Collections.unmodifiableList(list);
+			}
+			while (true) {
+				list.add(value());
+				skipWhitespace();
+				if (peek(',')) {
+					pos++;
+				} else {
+					expect(']');
+					return Collections.unmodifiableList(list);
+				}
+			}
+		}
+
+		String string() {
+			StringBuilder builder = new StringBuilder();
+			pos++;
+			while (pos < text.length()) {
+				char ch = text.charAt(pos++);
+				if (ch == '"') {
+					return builder.toString();
+				}
+				if (ch != '\\') {
+					builder.append(ch);
+					continue;
+				}
+				if (pos >= text.length()) {
+					break;
+				}
+				char escaped = text.charAt(pos++);
+				switch (escaped) {
+				case 'b':
+					builder.append('\b');
+					break;
+				case 'f':
+					builder.append('\f');
+					break;
+				case 'n':
+					builder.append('\n');
+					break;
+				case 'r':
+					builder.append('\r');
+					break;
+				case 't':
+					builder.append('\t');
+					break;
+				case 'u':
+					if (pos + 4 > text.length()) {
+						throw error("Invalid unicode escape");
+					}
+					builder.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+					pos += 4;
+					break;
+				default:
+					builder.append(escaped);
+				}
+			}
+			throw error("Unterminated string");
+		}
+
+		Object number() {
+			int start = pos;
+			while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+				pos++;
+			}
+			if (start == pos) {
+				throw error("Unexpected character '" + text.charAt(pos) + "'");
+			}
+			try {
+				return new BigDecimal(text.substring(start, pos));
+			} catch (NumberFormatException e) {
+				throw error("Invalid number");
+			}
+		}
+
+		Object literal(String literal, Object value) {
+			if (!text.startsWith(literal, pos)) {
+				throw error("Unexpected token");
+			}
+			pos += literal.length();
+			return value;
+		}
+
+		void skipWhitespace() {
+			while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		boolean peek(char ch) {
+			return pos < text.length() && text.charAt(pos) == ch;
+		}
+
+		void expect(char ch) {
+			if (!peek(ch)) {
+				throw error("Expected '" + ch + "'");
+			}
+			pos++;
+		}
+
+		IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(message + " at position " + pos + " of bound data: " + text);
+		}
+
+	}
+
+}
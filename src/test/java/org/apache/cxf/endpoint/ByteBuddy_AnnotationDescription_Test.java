@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import jakarta.jws.WebService;
+
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.utils.AnnotationDescriptionFactory;
+import org.junit.Test;
+
+public class ByteBuddy_AnnotationDescription_Test {
+
+	@Test
+	public void testIntern() {
+
+		String[] mediaTypes = { "application/json" };
+		assertSame(AnnotationDescriptionFactory.of(WebService.class, "targetNamespace", "http://ws.cxf.com"),
+				AnnotationDescriptionFactory.of(WebService.class, "targetNamespace", "http://ws.cxf.com"));
+		assertSame(AnnotationDescriptionFactory.of(jakarta.ws.rs.Produces.class, "value", mediaTypes),
+				AnnotationDescriptionFactory.of(jakarta.ws.rs.Produces.class, "value", new String[] { "application/json" }));
+
+	}
+
+	@Test
+	public void testGenerated() {
+
+		Class<?> type = new EndpointApiBuilder<EndpointApi>()
+				.webService("annotated", "http://ws.cxf.com")
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"))
+				.toClass();
+
+		WebService webService = type.getAnnotation(WebService.class);
+		assertEquals("annotated", webService.name());
+		assertEquals("http://ws.cxf.com", webService.targetNamespace());
+		assertEquals("", webService.wsdlLocation());
+
+	}
+
+}
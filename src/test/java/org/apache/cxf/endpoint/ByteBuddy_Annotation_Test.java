@@ -20,7 +20,7 @@ import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
-import javax.xml.ws.Action;
+import jakarta.xml.ws.Action;
 
 import org.junit.Test;
 
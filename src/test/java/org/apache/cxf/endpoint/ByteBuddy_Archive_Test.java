@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.cxf.endpoint.cache.EndpointApiArchive;
+import org.apache.cxf.endpoint.cache.EndpointApiArchiveClassLoader;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.junit.Test;
+
+public class ByteBuddy_Archive_Test {
+
+	private EndpointApiBuilder<EndpointApi> tenant(String uid, EndpointApiArchive archive) {
+		// 模拟重启：不使用内存缓存
+		EndpointApiBuilder<EndpointApi> builder = new EndpointApiBuilder<EndpointApi>()
+				.webService("archive", "http://ws.cxf.com")
+				.bind(uid, "{}")
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+		builder.setClassCache(null);
+		builder.setDiskCache(null);
+		builder.setArchive(archive);
+		return builder;
+	}
+
+	@Test
+	public void testDeterministicBytes() {
+
+		assertArrayEquals(tenant("archive-1", null).build().getBytes(), tenant("archive-1", null).build().getBytes());
+
+	}
+
+	@Test
+	public void testRestart() throws Exception {
+
+		File directory = Files.createTempDirectory("endpoint-archive").toFile();
+		File jar = new File(directory, "endpoints.jar");
+
+		// 训练运行：生成并保存到归档
+		EndpointApiArchive first = new EndpointApiArchive(jar);
+		Class<?> generated = tenant("archive-1", first).toClass();
+		tenant("archive-2", first).toClass();
+		assertEquals(2, first.save());
+		byte[] saved = Files.readAllBytes(jar.toPath());
+
+		// 再次启动：从归档的 jar 中加载，可被 CDS 收录
+		EndpointApiArchive second = new EndpointApiArchive(jar);
+		assertEquals(2, second.size());
+		Class<?> archived = tenant("archive-1", second).toClass();
+		assertEquals(generated.getName(), archived.getName());
+		assertTrue(archived.getClassLoader() instanceof EndpointApiArchiveClassLoader);
+		assertSame(archived.getClassLoader(), tenant("archive-2", second).toClass().getClassLoader());
+
+		// 相同的定义集合得到相同的 jar
+		jar.delete();
+		EndpointApiArchive third = new EndpointApiArchive(jar);
+		tenant("archive-2", third).toClass();
+		tenant("archive-1", third).toClass();
+		third.save();
+		assertArrayEquals(saved, Files.readAllBytes(jar.toPath()));
+
+	}
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.apache.cxf.endpoint.EndpointApiFixtures.tenant;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.junit.Test;
+
+public class ByteBuddy_Batch_Test {
+
+	@Test
+	public void testSharedClassLoader() {
+
+		EndpointApiBatch batch = new EndpointApiBatch();
+		for (int i = 0; i < 100; i++) {
+			batch.add(tenant("batch", "batch-" + i));
+		}
+		// 与第一个定义相同，只生成一次
+		EndpointApiBuilder<EndpointApi> duplicate = tenant("batch", "batch-0");
+		batch.add(duplicate);
+
+		List<Class<?>> classes = batch.toClasses();
+
+		assertEquals(101, classes.size());
+		assertEquals(100, new HashSet<Class<?>>(classes).size());
+		ClassLoader loader = classes.get(0).getClassLoader();
+		for (Class<?> type : classes) {
+			assertSame(loader, type.getClassLoader());
+		}
+		assertSame(classes.get(0), classes.get(100));
+		assertSame(classes.get(0), duplicate.toClass());
+
+	}
+
+}
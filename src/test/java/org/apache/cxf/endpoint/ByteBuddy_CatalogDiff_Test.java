@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+
+import org.apache.cxf.endpoint.catalog.EndpointCatalog;
+import org.apache.cxf.endpoint.catalog.EndpointCatalogDiff;
+import org.apache.cxf.endpoint.catalog.SoapEndpointDefinition;
+import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
+import org.apache.cxf.endpoint.jaxws.definition.SoapOperation;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.jaxws.definition.SoapResult;
+import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+import org.apache.cxf.endpoint.lifecycle.EndpointRegistration;
+import org.apache.cxf.endpoint.lifecycle.EndpointRegistry;
+import org.junit.Test;
+
+public class ByteBuddy_CatalogDiff_Test {
+
+	private static final InvocationHandler HANDLER = (proxy, method, args) -> method.getName();
+
+	private SoapEndpointDefinition soap(String id, String method) {
+		return new SoapEndpointDefinition(id, new SoapService(id, "http://ws.cxf.com"))
+				.bind(new SoapBound(id, "{}"))
+				.operation(new SoapOperation(new SoapResult<String>(String.class), new SoapMethod(method),
+						new SoapParam<String>(String.class, "text")));
+	}
+
+	@Test
+	public void testOnlyChangedEndpointsAreRebuilt() throws Exception {
+
+		EndpointCatalog previous = new EndpointCatalog()
+				.add(soap("order", "sayHello"))
+				.add(soap("stock", "sayHello"))
+				.add(soap("legacy", "sayHello"));
+		EndpointRegistry registry = new EndpointRegistry();
+		registry.update(EndpointCatalogDiff.compare(null, previous), definition -> HANDLER);
+		EndpointRegistration order = registry.get("order");
+		EndpointRegistration stock = registry.get("stock");
+
+		// 修改 stock 的方法，删除 legacy，新增 price
+		EndpointCatalog current = new EndpointCatalog()
+				.add(soap("order", "sayHello"))
+				.add(soap("stock", "sayGoodbye"))
+				.add(soap("price", "sayHello"));
+		EndpointCatalogDiff diff = EndpointCatalogDiff.compare(previous, current);
+		assertEquals(1, diff.getUnchanged().size());
+		assertEquals("order", diff.getUnchanged().get(0).getId());
+		assertEquals("stock", diff.getChanged().get(0).getId());
+		assertEquals("price", diff.getAdded().get(0).getId());
+		assertEquals("legacy", diff.getRemoved().get(0).getId());
+
+		assertEquals(2, registry.update(diff, definition -> HANDLER).size());
+		// 未变化的服务保留原有的类与实例
+		assertSame(order, registry.get("order"));
+		assertNotSame(stock.getEndpointClass(), registry.get("stock").getEndpointClass());
+		assertNull(registry.get("legacy"));
+		assertEquals(3, registry.getRegistrations().size());
+
+		assertTrue(EndpointCatalogDiff.compare(current, current).isEmpty());
+
+	}
+
+}
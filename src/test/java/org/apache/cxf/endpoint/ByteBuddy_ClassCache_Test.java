@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.apache.cxf.endpoint.EndpointApiFixtures.tenant;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.endpoint.cache.EndpointApiClassCache;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.junit.Test;
+
+public class ByteBuddy_ClassCache_Test {
+
+	@Test
+	public void testSameDefinition() {
+
+		EndpointApiBuilder<EndpointApi> first = tenant("tenant", "t1");
+		EndpointApiBuilder<EndpointApi> second = tenant("tenant", "t1");
+
+		assertEquals(first.getFingerprint().digest(), second.getFingerprint().digest());
+		assertSame(first.toClass(), second.toClass());
+
+	}
+
+	@Test
+	public void testDifferentDefinition() {
+
+		assertNotEquals(tenant("tenant", "t1").getFingerprint().digest(),
+				tenant("tenant", "t2").getFingerprint().digest());
+
+	}
+
+	@Test
+	public void testGenerateOutsideMap() {
+
+		EndpointApiClassCache cache = new EndpointApiClassCache();
+
+		// 生成过程中访问同一缓存的其它指纹，不会因映射的桶锁产生递归更新或死锁
+		Class<?> outer = cache.get("outer", digest -> {
+			assertSame(Integer.class, cache.get("inner", inner -> Integer.class));
+			return String.class;
+		});
+
+		assertSame(String.class, outer);
+		assertSame(Integer.class, cache.getIfPresent("inner"));
+		assertEquals(2, cache.size());
+
+	}
+
+	@Test
+	public void testFailureIsNotCached() {
+
+		EndpointApiClassCache cache = new EndpointApiClassCache();
+		AtomicInteger calls = new AtomicInteger();
+
+		try {
+			cache.get("t1", digest -> {
+				calls.incrementAndGet();
+				throw new IllegalStateException("make failed");
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("make failed", e.getMessage());
+		}
+
+		assertEquals(0, cache.size());
+		assertSame(String.class, cache.get("t1", digest -> {
+			calls.incrementAndGet();
+			return String.class;
+		}));
+		assertEquals(2, calls.get());
+
+	}
+
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.apache.cxf.endpoint.EndpointApiFixtures.uncached;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.junit.Test;
+
+import net.bytebuddy.description.type.TypeDescription;
+
+public class ByteBuddy_Context_Test {
+
+	@Test
+	public void testSharedContext() {
+
+		// 全部构建器共用同一个上下文
+		assertSame(EndpointApiContext.getDefault(), uncached("context", "t1").getContext());
+		assertSame(uncached("context", "t1").getContext(), uncached("context", "t2").getContext());
+
+	}
+
+	@Test
+	public void testCachedDescriptions() {
+
+		EndpointApiContext context = EndpointApiContext.getDefault();
+		TypeDescription description = context.describe(SoapParam.class);
+
+		// 同一个类型只创建一次描述
+		assertSame(description, context.describe(SoapParam.class));
+		assertEquals(SoapParam.class.getName(), description.getName());
+		assertArrayEquals(new TypeDescription[] { description, context.describe(String.class) },
+				context.describe(new Class<?>[] { SoapParam.class, String.class }));
+		// 各上下文的缓存相互独立
+		assertNotSame(description, new EndpointApiContext().describe(SoapParam.class));
+
+	}
+
+}
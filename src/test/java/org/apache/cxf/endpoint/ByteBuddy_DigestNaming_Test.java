@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.apache.cxf.endpoint.EndpointApiFixtures.uncached;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.cxf.endpoint.naming.DigestNamingStrategy;
+import org.junit.Test;
+
+public class ByteBuddy_DigestNaming_Test {
+
+	@Test
+	public void testStableName() {
+
+		// 不经过类缓存，两次生成的类名仍然相同
+		Class<?> first = uncached("tenant", "t1").toClass();
+		Class<?> second = uncached("tenant", "t1").toClass();
+
+		assertEquals(first.getName(), second.getName());
+		assertTrue(first.getName().startsWith("org.apache.cxf.endpoint.jaxws.EndpointApi$"));
+		assertNotEquals(first.getName(), uncached("tenant", "t2").toClass().getName());
+
+	}
+
+	@Test
+	public void testFixedSuffix() {
+
+		DigestNamingStrategy naming = new DigestNamingStrategy("org.apache.cxf.endpoint.test.");
+		String digest = "0123456789abcdef0000000000000000ffffffffffffffffffffffffffffffff";
+		String shared = "0123456789abcdef1111111111111111ffffffffffffffffffffffffffffffff";
+
+		// 后缀只取摘要的前 32 位，与其他定义是否先注册无关
+		assertEquals("org.apache.cxf.endpoint.test.EndpointApi$0123456789abcdef0000000000000000", naming.name(digest));
+		assertEquals("org.apache.cxf.endpoint.test.EndpointApi$0123456789abcdef1111111111111111", naming.name(shared));
+		assertEquals(naming.name(digest), new DigestNamingStrategy("org.apache.cxf.endpoint.test.").name(digest));
+
+		String name = uncached("tenant", "t1").toClass().getName();
+		assertEquals(DigestNamingStrategy.SUFFIX_LENGTH, name.length() - name.lastIndexOf('$') - 1);
+
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.cxf.endpoint.cache.EndpointApiDiskCache;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.junit.Test;
+
+public class ByteBuddy_DiskCache_Test {
+
+	private EndpointApiBuilder<EndpointApi> tenant(String uid, EndpointApiDiskCache diskCache) {
+		// 模拟重启：不使用内存缓存
+		EndpointApiBuilder<EndpointApi> builder = new EndpointApiBuilder<EndpointApi>()
+				.webService("disk", "http://ws.cxf.com")
+				.bind(uid, "{}")
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+		builder.setClassCache(null);
+		builder.setDiskCache(diskCache);
+		return builder;
+	}
+
+	@Test
+	public void testRestart() throws Exception {
+
+		File directory = Files.createTempDirectory("endpoint-cache").toFile();
+
+		// 第一次启动：生成并写入磁盘
+		EndpointApiDiskCache first = new EndpointApiDiskCache(directory);
+		Class<?> generated = tenant("disk-1", first).toClass();
+		tenant("disk-2", first).toClass();
+		assertEquals(2, directory.listFiles().length);
+
+		// 第二次启动：直接从磁盘加载，未使用的缓存被清理
+		EndpointApiDiskCache second = new EndpointApiDiskCache(directory);
+		EndpointApiBuilder<EndpointApi> builder = tenant("disk-1", second);
+		assertNotNull(second.read(builder.getFingerprint().digest()));
+		Class<?> stored = builder.toClass();
+		assertEquals(generated.getName(), stored.getName());
+		assertEquals(1, second.evictUnused());
+		assertNull(second.read(tenant("disk-2", second).getFingerprint().digest()));
+
+	}
+
+	private static Map<String, byte[]> entry() {
+		Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+		types.put("org.apache.cxf.endpoint.jaxws.EndpointApi$Cached", new byte[] { (byte) 0xCA, (byte) 0xFE });
+		return types;
+	}
+
+	@Test
+	public void testCorruptEntry() throws Exception {
+
+		File directory = Files.createTempDirectory("endpoint-cache").toFile();
+		EndpointApiDiskCache cache = new EndpointApiDiskCache(directory);
+		cache.write("corrupt", entry());
+		File[] files = directory.listFiles();
+		assertEquals(1, files.length);
+
+		// 截断的文件被删除
+		byte[] bytes = Files.readAllBytes(files[0].toPath());
+		Files.write(files[0].toPath(), Arrays.copyOf(bytes, bytes.length - 1));
+		assertNull(cache.read("corrupt"));
+		assertFalse(files[0].exists());
+
+	}
+
+	@Test
+	public void testReadOnlyMetadata() throws Exception {
+
+		File directory = Files.createTempDirectory("endpoint-cache").toFile();
+		// 模拟只读或共享的目录：无法更新修改时间
+		EndpointApiDiskCache cache = new EndpointApiDiskCache(directory) {
+			@Override
+			protected void touch(Path file) throws IOException {
+				throw new AccessDeniedException(file.toString());
+			}
+		};
+		cache.write("readonly", entry());
+
+		Map<String, byte[]> types = cache.read("readonly");
+		assertNotNull(types);
+		assertArrayEquals(entry().values().iterator().next(), types.values().iterator().next());
+		assertEquals(1, directory.listFiles().length);
+
+	}
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.junit.Test;
+
+public class ByteBuddy_Factory_Test {
+
+	@Test
+	public void testFactory() {
+
+		EndpointApiBuilder<EndpointApi> builder = new EndpointApiBuilder<EndpointApi>()
+				.webService("factory", "http://ws.cxf.com")
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+		InvocationHandler handler = (proxy, method, args) -> args[0];
+
+		EndpointFactory factory = builder.toFactory();
+		assertSame(factory, builder.toFactory());
+		assertFalse(factory.isGenerated());
+
+		EndpointApi first = factory.newInstance(handler, EndpointBound.of("t1", "{}"));
+		for (int i = 1; i < EndpointFactory.GENERATE_THRESHOLD; i++) {
+			factory.newInstance(handler);
+		}
+		// 达到阈值后换用生成的工厂类
+		assertTrue(factory.isGenerated());
+		EndpointApi second = factory.newInstance(handler, EndpointBound.of("t2", "{}"));
+
+		assertNotSame(first, second);
+		assertSame(handler, second.getHandler());
+		assertEquals("t1", first.getBound().getUid());
+		assertEquals("t2", second.getBound().getUid());
+
+	}
+
+}
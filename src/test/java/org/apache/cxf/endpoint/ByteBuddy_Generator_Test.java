@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.cxf.endpoint.catalog.EndpointCatalog;
+import org.apache.cxf.endpoint.catalog.EndpointGenerator;
+import org.apache.cxf.endpoint.catalog.RestEndpointDefinition;
+import org.apache.cxf.endpoint.catalog.SoapEndpointDefinition;
+import org.apache.cxf.endpoint.jaxrs.definition.HttpMethodEnum;
+import org.apache.cxf.endpoint.jaxrs.definition.RestBound;
+import org.apache.cxf.endpoint.jaxrs.definition.RestMethod;
+import org.apache.cxf.endpoint.jaxrs.definition.RestOperation;
+import org.apache.cxf.endpoint.jaxrs.definition.RestParam;
+import org.apache.cxf.endpoint.jaxrs.definition.RestProduce;
+import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
+import org.apache.cxf.endpoint.jaxws.definition.SoapOperation;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.jaxws.definition.SoapResult;
+import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+import org.junit.Test;
+
+public class ByteBuddy_Generator_Test {
+
+	@Test
+	public void testParallelGenerate() throws Exception {
+
+		EndpointCatalog catalog = new EndpointCatalog();
+		for (int i = 0; i < 200; i++) {
+			if (i % 2 == 0) {
+				catalog.add(new SoapEndpointDefinition("soap-" + i, new SoapService("soap" + i, "http://ws.cxf.com"))
+						.bind(new SoapBound("soap-" + i, "{}"))
+						.operation(new SoapOperation(new SoapResult<String>(String.class), new SoapMethod("sayHello"),
+								new SoapParam<String>(String.class, "text"))));
+			} else {
+				catalog.add(new RestEndpointDefinition("rest-" + i, new RestProduce("/rest/" + i, "application/json"))
+						.bind(new RestBound("rest-" + i, "{}"))
+						.operation(new RestOperation(String.class, new RestMethod(HttpMethodEnum.GET, "find", "/find"),
+								new RestParam<String>(String.class, "id"))));
+			}
+		}
+
+		final List<String> published = new ArrayList<String>();
+		List<Class<?>> classes = new EndpointGenerator(new ForkJoinPool(4))
+				.publish(catalog, (definition, endpointClass) -> published.add(definition.getId()));
+
+		// 发布顺序与目录顺序一致
+		assertEquals(200, published.size());
+		for (int i = 0; i < 200; i++) {
+			assertEquals((i % 2 == 0 ? "soap-" : "rest-") + i, published.get(i));
+		}
+		assertEquals(200, new HashSet<Class<?>>(classes).size());
+		assertSame(classes.get(0).getClassLoader(), classes.get(199).getClassLoader());
+
+	}
+
+}
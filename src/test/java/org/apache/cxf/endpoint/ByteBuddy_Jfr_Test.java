@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.jfr.EndpointGenerationEvent;
+import org.apache.cxf.endpoint.jfr.EndpointInvocationEvent;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class ByteBuddy_Jfr_Test {
+
+	public interface EchoHandler {
+
+		String echo(String text);
+
+	}
+
+	@Test
+	public void testGenerationAndInvocationEvents() throws Exception {
+
+		Path file = Files.createTempFile("endpoint", ".jfr");
+		String className;
+		try (Recording recording = new Recording()) {
+			recording.enable(EndpointGenerationEvent.NAME);
+			recording.enable(EndpointInvocationEvent.NAME);
+			recording.start();
+
+			EndpointApiBuilder<EndpointApi> builder = new EndpointApiBuilder<EndpointApi>()
+					.webService("jfr", "http://ws.cxf.com")
+					.bind("tenant-jfr", "{}")
+					.dispatchTo(EchoHandler.class)
+					.timing()
+					.newMethod(String.class, "echo", new SoapParam<String>(String.class, "text"));
+			builder.setClassCache(null);
+			Object endpoint = builder.toInstance((EchoHandler) text -> text);
+			className = endpoint.getClass().getName();
+
+			Method echo = endpoint.getClass().getMethod("echo", String.class);
+			for (int i = 0; i < EndpointInvocationEvent.SAMPLE_RATE * 20; i++) {
+				echo.invoke(endpoint, "hi");
+			}
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.deleteIfExists(file);
+
+		Set<String> phases = new HashSet<String>();
+		int invocations = 0;
+		for (RecordedEvent event : events) {
+			if (!className.equals(event.getString("className"))) {
+				continue;
+			}
+			if (event.getEventType().getName().equals(EndpointGenerationEvent.NAME)) {
+				phases.add(event.getString("phase"));
+				if (EndpointGenerationEvent.MAKE.equals(event.getString("phase"))) {
+					assertTrue(event.getLong("byteSize") > 0);
+				}
+			} else if (event.getEventType().getName().equals(EndpointInvocationEvent.NAME)) {
+				assertEquals("echo", event.getString("operation"));
+				assertEquals("tenant-jfr", event.getString("uid"));
+				invocations++;
+			}
+		}
+		assertTrue(phases.toString(), phases.contains(EndpointGenerationEvent.DEFINITION));
+		assertTrue(phases.toString(), phases.contains(EndpointGenerationEvent.MAKE));
+		assertTrue(phases.toString(), phases.contains(EndpointGenerationEvent.LOAD));
+		assertTrue(phases.toString(), phases.contains(EndpointGenerationEvent.INSTANTIATE));
+		// 按 1/SAMPLE_RATE 采样
+		assertTrue("invocations=" + invocations, invocations > 0 && invocations < EndpointInvocationEvent.SAMPLE_RATE * 20);
+
+	}
+
+}
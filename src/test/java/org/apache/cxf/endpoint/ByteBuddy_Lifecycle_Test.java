@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.endpoint.cache.EndpointApiArchive;
+import org.apache.cxf.endpoint.cache.EndpointApiArchiveClassLoader;
+import org.apache.cxf.endpoint.catalog.EndpointDefinition;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.lifecycle.EndpointGenerationQueue;
+import org.apache.cxf.endpoint.lifecycle.EndpointRegistration;
+import org.apache.cxf.endpoint.lifecycle.EndpointRegistrationHandle;
+import org.apache.cxf.endpoint.lifecycle.EndpointRegistry;
+import org.apache.cxf.endpoint.lifecycle.EndpointState;
+import org.apache.cxf.endpoint.lifecycle.LazyEndpoint;
+import org.junit.Test;
+
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+public class ByteBuddy_Lifecycle_Test {
+
+	private static final InvocationHandler HANDLER = (proxy, method, args) -> method.getName();
+
+	private static EndpointApiBuilder<EndpointApi> endpoint(String uid) {
+		return new EndpointApiBuilder<EndpointApi>()
+				.webService("lifecycle", "http://ws.cxf.com")
+				.bind(uid, "{}")
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+	}
+
+	@Test
+	public void testRetiredClassesAreCollected() throws Exception {
+
+		EndpointRegistry registry = new EndpointRegistry();
+		registry.register("tenant", endpoint("v0"), HANDLER);
+
+		// 模拟每小时重新定义服务
+		for (int i = 1; i <= 50; i++) {
+			registry.replace("tenant", endpoint("v" + i), HANDLER);
+		}
+		EndpointRegistration current = registry.get("tenant");
+		assertEquals(1, registry.getRegistrations().size());
+		assertNotSame(current.getEndpointClass().getClassLoader(), getClass().getClassLoader());
+
+		assertNotSame(null, registry.unregister("tenant"));
+		assertNull(registry.get("tenant"));
+		current = null;
+
+		assertTrue("Retired endpoint classes were not unloaded: " + registry.getRetainedCount(),
+				registry.awaitUnloaded(10, TimeUnit.SECONDS));
+
+	}
+
+	private EndpointDefinition definition(String id, CountDownLatch gate) {
+		return new EndpointDefinition() {
+
+			@Override
+			public String getId() {
+				return id;
+			}
+
+			@Override
+			public AbstractEndpointApiBuilder<?> newBuilder() {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return endpoint(id);
+			}
+
+		};
+	}
+
+	@Test
+	public void testGenerationQueue() throws Exception {
+
+		CountDownLatch gate = new CountDownLatch(1);
+		EndpointRegistry registry = new EndpointRegistry();
+		EndpointGenerationQueue queue = new EndpointGenerationQueue(registry, 1, 2);
+		try {
+			// 一个正在生成，两个排队
+			EndpointRegistrationHandle critical = queue.submit(definition("critical", gate), HANDLER);
+			queue.submit(definition("tenant-1", gate), HANDLER);
+			queue.submit(definition("tenant-2", gate), HANDLER);
+			try {
+				queue.submit(definition("tenant-3", gate), HANDLER);
+				throw new AssertionError("Queue should be full");
+			} catch (RejectedExecutionException e) {
+				assertNull(queue.getHandle("tenant-3"));
+			}
+			assertFalse(queue.isReady("critical"));
+			assertFalse(critical.getState().isDone());
+
+			gate.countDown();
+			assertTrue(queue.awaitReady(30, TimeUnit.SECONDS, "critical", "tenant-1", "tenant-2"));
+			assertEquals(EndpointState.PUBLISHED, critical.getState());
+			assertSame(critical.getFuture().get(), registry.get("critical"));
+			assertFalse(queue.isReady("tenant-3"));
+		} finally {
+			queue.shutdown();
+		}
+
+	}
+
+	@Test
+	public void testGenerationQueueUnregister() throws Exception {
+
+		EndpointDefinition definition = new EndpointDefinition() {
+
+			@Override
+			public String getId() {
+				return "queued";
+			}
+
+			@Override
+			public AbstractEndpointApiBuilder<?> newBuilder() {
+				return new EndpointApiBuilder<EndpointApi>()
+						.webService("queued", "http://ws.cxf.com")
+						.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+			}
+
+		};
+
+		EndpointRegistry registry = new EndpointRegistry();
+		EndpointGenerationQueue queue = new EndpointGenerationQueue(registry, 1, 2);
+		try {
+			queue.submit(definition, HANDLER);
+			assertTrue(queue.awaitReady(30, TimeUnit.SECONDS, "queued"));
+			try {
+				queue.submit(definition, HANDLER);
+				throw new AssertionError("Registered endpoint should not be submitted twice");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+
+			// 句柄随注销移除，不再持有服务类
+			assertNotSame(null, queue.unregister("queued"));
+			assertNull(queue.getHandle("queued"));
+			assertNull(registry.get("queued"));
+			assertTrue("Retired endpoint classes were not unloaded: " + registry.getRetainedCount(),
+					registry.awaitUnloaded(10, TimeUnit.SECONDS));
+
+			// 注销后允许重新提交，直接在注册表中注销的也一样
+			queue.submit(definition, HANDLER);
+			assertTrue(queue.awaitReady(30, TimeUnit.SECONDS, "queued"));
+			registry.unregister("queued");
+			EndpointRegistrationHandle handle = queue.submit(definition, HANDLER);
+			assertTrue(queue.awaitReady(30, TimeUnit.SECONDS, "queued"));
+			assertSame(handle.getFuture().get(), registry.get("queued"));
+		} finally {
+			queue.shutdown();
+		}
+
+	}
+
+	@Test
+	public void testLazyEndpointIsMaterializedOnce() throws Exception {
+
+		AtomicInteger builds = new AtomicInteger();
+		EndpointDefinition definition = new EndpointDefinition() {
+
+			@Override
+			public String getId() {
+				return "lazy";
+			}
+
+			@Override
+			public AbstractEndpointApiBuilder<?> newBuilder() {
+				builds.incrementAndGet();
+				return endpoint("lazy");
+			}
+
+		};
+
+		EndpointRegistry registry = new EndpointRegistry();
+		LazyEndpoint placeholder = registry.registerLazy(definition, HANDLER);
+		assertFalse(placeholder.isMaterialized());
+		assertNull(registry.get("lazy"));
+		assertEquals(0, builds.get());
+
+		// 模拟同时到达的第一批请求
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<EndpointRegistration>> requests = new ArrayList<Callable<EndpointRegistration>>();
+			for (int i = 0; i < 32; i++) {
+				requests.add(() -> registry.resolve("lazy"));
+			}
+			EndpointRegistration first = null;
+			for (Future<EndpointRegistration> future : executor.invokeAll(requests)) {
+				first = first != null ? first : future.get();
+				assertSame(first, future.get());
+			}
+			assertSame(first, registry.get("lazy"));
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(1, builds.get());
+		assertTrue(placeholder.isMaterialized());
+		assertTrue(registry.getPlaceholders().isEmpty());
+
+	}
+
+	@Test
+	public void testArchiveIsBypassed() throws Exception {
+
+		File jar = File.createTempFile("lifecycle", ".jar");
+		jar.delete();
+		// 上次启动时归档了同一定义的类
+		EndpointApiArchive previous = new EndpointApiArchive(jar);
+		EndpointApiBuilder<EndpointApi> builder = endpoint("archived");
+		builder.setClassCache(null);
+		builder.setArchive(previous);
+		builder.toClass();
+		assertEquals(1, previous.save());
+
+		System.setProperty(EndpointApiArchive.FILE_PROPERTY, jar.getPath());
+		try {
+			EndpointApiArchive archive = EndpointApiArchive.getDefault();
+			assertEquals(1, archive.size());
+
+			// 注册的服务不从共享的归档类加载器中加载，也不写入归档
+			EndpointRegistry registry = new EndpointRegistry();
+			EndpointRegistration registration = registry.register("tenant", endpoint("archived"), HANDLER);
+			assertFalse(registration.getEndpointClass().getClassLoader() instanceof EndpointApiArchiveClassLoader);
+			assertEquals(0, archive.getPendingCount());
+
+			registry.unregister("tenant");
+			registration = null;
+			assertTrue("Retired endpoint classes were not unloaded: " + registry.getRetainedCount(),
+					registry.awaitUnloaded(10, TimeUnit.SECONDS));
+		} finally {
+			System.clearProperty(EndpointApiArchive.FILE_PROPERTY);
+			jar.delete();
+		}
+
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSharedLoaderIsRejected() throws Exception {
+
+		// 注入到已有类加载器中的类无法卸载
+		EndpointApiBuilder<EndpointApi> builder = endpoint("injected");
+		builder.setClassLoadingStrategy(ClassLoadingStrategy.Default.INJECTION);
+		new EndpointRegistry().register("tenant", builder, HANDLER);
+
+	}
+
+}
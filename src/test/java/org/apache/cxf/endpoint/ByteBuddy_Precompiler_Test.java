@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.apache.cxf.endpoint.aot.EndpointPrecompiler;
+import org.apache.cxf.endpoint.aot.PrecompiledEndpoints;
+import org.apache.cxf.endpoint.catalog.EndpointCatalog;
+import org.apache.cxf.endpoint.catalog.SoapEndpointDefinition;
+import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
+import org.apache.cxf.endpoint.jaxws.definition.SoapOperation;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.jaxws.definition.SoapResult;
+import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+import org.junit.Test;
+
+public class ByteBuddy_Precompiler_Test {
+
+	@Test
+	public void testPrecompile() throws Exception {
+
+		SoapEndpointDefinition definition = new SoapEndpointDefinition("aot", new SoapService("aot", "http://ws.cxf.com"))
+				.bind(new SoapBound("aot", "{}"))
+				.operation(new SoapOperation(new SoapResult<String>(String.class), new SoapMethod("sayHello"),
+						new SoapParam<String>(String.class, "text")));
+
+		File output = Files.createTempDirectory("precompiled").toFile();
+		Map<String, String> compiled = new EndpointPrecompiler(output).precompile(new EndpointCatalog().add(definition));
+		assertEquals(1, compiled.size());
+
+		String digest = definition.newBuilder().getFingerprint().digest();
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL() }, getClass().getClassLoader())) {
+			Class<?> precompiled = PrecompiledEndpoints.lookup(digest, loader);
+			assertNotNull(precompiled);
+			assertEquals(compiled.get(digest), precompiled.getName());
+			assertNull(PrecompiledEndpoints.lookup("unknown", loader));
+		}
+
+		// 索引键混入了 ByteBuddy 与类文件版本，不是原始的定义指纹
+		String index = new String(Files.readAllBytes(new File(output, PrecompiledEndpoints.INDEX_RESOURCE).toPath()),
+				StandardCharsets.ISO_8859_1);
+		assertTrue(index.startsWith(PrecompiledEndpoints.key(digest) + "="));
+		assertFalse(index.contains(digest));
+
+		// 类文件版本固定，与执行预编译的 JDK 无关
+		byte[] bytes = Files.readAllBytes(new File(output, compiled.get(digest).replace('.', '/') + ".class").toPath());
+		assertEquals(EndpointApiContext.CLASS_FILE_VERSION.getMajorVersion(), ((bytes[6] & 0xFF) << 8) | (bytes[7] & 0xFF));
+
+	}
+
+	@Test
+	public void testUnlinkableClass() throws Exception {
+
+		File output = Files.createTempDirectory("precompiled").toFile();
+		File index = new File(output, PrecompiledEndpoints.INDEX_RESOURCE);
+		index.getParentFile().mkdirs();
+		Files.write(index.toPath(), (PrecompiledEndpoints.key("broken") + "=aot.Broken\n").getBytes(StandardCharsets.ISO_8859_1));
+		File broken = new File(output, "aot/Broken.class");
+		broken.getParentFile().mkdirs();
+		Files.write(broken.toPath(), new byte[] { 1, 2, 3, 4 });
+
+		// 类文件无法链接（ClassFormatError、UnsupportedClassVersionError 等）时退回运行时生成
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL() }, getClass().getClassLoader())) {
+			assertNull(PrecompiledEndpoints.lookup("broken", loader));
+		}
+
+	}
+
+}
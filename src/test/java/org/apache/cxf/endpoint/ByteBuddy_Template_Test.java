@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.apache.cxf.endpoint.EndpointApiFixtures.tenant;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+
+import org.apache.cxf.endpoint.annotation.WebBound;
+import org.apache.cxf.endpoint.dispatch.OperationHandler;
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.metrics.EndpointMetrics;
+import org.apache.cxf.endpoint.metrics.OperationSnapshot;
+import org.junit.Test;
+
+public class ByteBuddy_Template_Test {
+
+	private static EndpointApiBuilder<EndpointApi> template() {
+		return new EndpointApiBuilder<EndpointApi>().dispatchToOperationHandler().template();
+	}
+
+	@Test
+	public void testSharedClass() throws Exception {
+
+		// 处理器从实例上读取租户的绑定数据
+		OperationHandler handler = (endpoint, operation, args) -> endpoint.getBound().getData().get("greeting") + " "
+				+ args[0];
+
+		EndpointApiBuilder<EndpointApi> first = tenant(template(), "template", "t1", "{\"greeting\":\"hello\"}");
+		EndpointApiBuilder<EndpointApi> second = tenant(template(), "template", "t2", "{\"greeting\":\"hi\"}");
+		assertEquals(first.getFingerprint().digest(), second.getFingerprint().digest());
+
+		Object endpoint1 = first.toInstance(handler);
+		Object endpoint2 = second.toInstance(handler);
+		assertSame(endpoint1.getClass(), endpoint2.getClass());
+		assertNull(endpoint1.getClass().getAnnotation(WebBound.class));
+
+		Method sayHello = endpoint1.getClass().getMethod("sayHello", String.class);
+		assertEquals("hello world", sayHello.invoke(endpoint1, "world"));
+		assertEquals("hi world", sayHello.invoke(endpoint2, "world"));
+		assertEquals("t2", ((EndpointApi) endpoint2).getBound().getUid());
+
+	}
+
+	@Test
+	public void testSharedRecorders() throws Exception {
+
+		OperationHandler handler = (endpoint, operation, args) -> args[0];
+
+		// 计时须在 newMethod 之前启用，这里使用与 testSharedClass 不同的服务名以生成另一个类
+		Object endpoint1 = tenant(template().timing(), "timedTemplate", "t1", "{}").toInstance(handler);
+		Object endpoint2 = tenant(template().timing(), "timedTemplate", "t2", "{}").toInstance(handler);
+		assertSame(endpoint1.getClass(), endpoint2.getClass());
+
+		Method sayHello = endpoint1.getClass().getMethod("sayHello", String.class);
+		sayHello.invoke(endpoint1, "world");
+		sayHello.invoke(endpoint2, "world");
+
+		// 两个租户的调用计入同一组统计，uid 不区分租户
+		OperationSnapshot snapshot = EndpointMetrics.getDefault().getSnapshot(endpoint1.getClass().getName(), "sayHello");
+		assertEquals(2, snapshot.getCount());
+		assertEquals("", snapshot.getUid());
+		assertEquals(0, EndpointMetrics.getDefault().getSnapshotsByUid("t1").size());
+
+	}
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import org.apache.cxf.endpoint.jaxws.EndpointApiBuilder;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+
+/**
+ * 测试共用的服务定义：一个 @WebService、一份绑定数据和一个 sayHello(String) 方法
+ */
+public final class EndpointApiFixtures {
+
+	private EndpointApiFixtures() {
+	}
+
+	/**
+	 * @param service ：服务名称，不同的测试使用不同的名称以免共用全局缓存中的类
+	 * @param uid     ：绑定数据的 uid，决定定义指纹
+	 */
+	public static EndpointApiBuilder<EndpointApi> tenant(String service, String uid) {
+		return tenant(new EndpointApiBuilder<EndpointApi>(), service, uid, "{}");
+	}
+
+	/**
+	 * 与 {@link #tenant(String, String)} 相同，但不使用内存中的类缓存（模拟重启或每次重新生成）
+	 */
+	public static EndpointApiBuilder<EndpointApi> uncached(String service, String uid) {
+		EndpointApiBuilder<EndpointApi> builder = tenant(service, uid);
+		builder.setClassCache(null);
+		return builder;
+	}
+
+	/**
+	 * 在已配置的构建器（如 template()、dispatchToOperationHandler()）上添加共用的定义
+	 */
+	public static EndpointApiBuilder<EndpointApi> tenant(EndpointApiBuilder<EndpointApi> builder, String service,
+			String uid, String json) {
+		return builder
+				.webService(service, "http://ws.cxf.com")
+				.bind(uid, json)
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"));
+	}
+
+}
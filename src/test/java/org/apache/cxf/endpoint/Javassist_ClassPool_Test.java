@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+
+import org.apache.cxf.endpoint.utils.EndpointClassPool;
+import org.junit.Test;
+
+import javassist.CtClass;
+import javassist.CtNewMethod;
+
+public class Javassist_ClassPool_Test {
+
+	private static final String[] TYPES = { "java.lang.String", "java.lang.Integer", "java.lang.Long",
+			"java.lang.Double", "java.lang.Boolean", "java.lang.Character", "java.lang.Byte", "java.lang.Short",
+			"java.lang.Float", "java.lang.Number", "java.lang.Runnable", "java.lang.Thread", "java.util.List",
+			"java.util.Map", "java.util.Set", "java.util.ArrayList", "java.util.HashMap", "java.util.HashSet" };
+
+	@Test
+	public void testTrim() throws Exception {
+
+		EndpointClassPool pool = new EndpointClassPool(getClass().getClassLoader(), 4);
+		try {
+			// 正在构建的类已被修改，不会被淘汰
+			CtClass pending = pool.makeClass("org.apache.cxf.endpoint.PendingApi");
+			pending.addInterface(pool.get(Serializable.class.getName()));
+			for (String type : TYPES) {
+				pool.get(type);
+				assertTrue(pool.size() <= pool.getMaxSize());
+			}
+			assertSame(pending, pool.get("org.apache.cxf.endpoint.PendingApi"));
+		} finally {
+			pool.release();
+		}
+
+	}
+
+	@Test
+	public void testPrimitives() throws Exception {
+
+		// 基本类型不能从类路径重新加载，缓存上限很小时也必须可用
+		EndpointClassPool pool = new EndpointClassPool(getClass().getClassLoader(), 1);
+		try {
+			for (String type : TYPES) {
+				pool.get(type);
+			}
+			assertSame(CtClass.intType, pool.get("int"));
+			assertSame(CtClass.voidType, pool.get("void"));
+			CtClass api = pool.makeClass("org.apache.cxf.endpoint.PrimitiveApi");
+			api.addMethod(CtNewMethod.make("public int sum(int a, long b) { return a + (int) b; }", api));
+			assertEquals(CtClass.intType, api.getDeclaredMethod("sum").getReturnType());
+		} finally {
+			pool.release();
+		}
+
+	}
+
+	@Test
+	public void testRelease() throws Exception {
+
+		EndpointClassPool pool = new EndpointClassPool();
+		pool.get("java.lang.String");
+		pool.get("java.util.List");
+		assertEquals(2, pool.size());
+		assertFalse(pool.isReleased());
+
+		// 已经删除的类再次删除不影响缓存
+		CtClass api = pool.makeClass("org.apache.cxf.endpoint.DetachedApi");
+		api.detach();
+		api.detach();
+		assertEquals(2, pool.size());
+
+		pool.release();
+		assertTrue(pool.isReleased());
+		// 释放后删除类不报错
+		api.detach();
+		assertEquals(0, pool.size());
+		// 再次释放不报错
+		pool.release();
+
+		try {
+			pool.makeClass("org.apache.cxf.endpoint.ReleasedApi");
+			throw new AssertionError("released pool must not cache new classes");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+
+	}
+
+	@Test
+	public void testCounts() throws Exception {
+
+		// 其他测试遗留的 ClassPool 可能随时被回收，只比较本测试的 ClassPool 带来的变化
+		EndpointClassPool pool = new EndpointClassPool();
+		for (int i = 0; i < 3; i++) {
+			pool.get(TYPES[i]);
+		}
+		int live = EndpointClassPool.getLivePoolCount();
+		int cached = EndpointClassPool.getCachedClassCount();
+		assertTrue(live >= 1);
+		assertTrue(cached >= 3);
+
+		pool.release();
+		assertTrue(EndpointClassPool.getLivePoolCount() <= live - 1);
+		assertTrue(EndpointClassPool.getCachedClassCount() <= cached - 3);
+
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.apache.cxf.endpoint.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.apache.cxf.endpoint.annotation.WebBound;
+import org.apache.cxf.endpoint.jaxrs.definition.HttpMethodEnum;
+import org.apache.cxf.endpoint.jaxrs.definition.RestMethod;
+import org.apache.cxf.endpoint.jaxrs.definition.RestProduce;
+import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapMethod;
+import org.apache.cxf.endpoint.jaxws.definition.SoapService;
+import org.junit.Test;
+
+import jakarta.jws.WebMethod;
+import jakarta.jws.WebService;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+
+public class ByteBuddy_EndpointAgent_Test {
+
+	public static class OrderService {
+
+		public String find(String id) {
+			return "order-" + id;
+		}
+
+		public String internal() {
+			return "internal";
+		}
+
+	}
+
+	public static class StockResource {
+
+		public String stock(String sku) {
+			return "stock-" + sku;
+		}
+
+	}
+
+	@Test
+	public void testEnrichExistingClasses() throws Exception {
+
+		String orderService = ByteBuddy_EndpointAgent_Test.class.getName() + "$OrderService";
+		String stockResource = ByteBuddy_EndpointAgent_Test.class.getName() + "$StockResource";
+
+		ResettableClassFileTransformer transformer = EndpointAgent.install(ByteBuddyAgent.install(), Arrays.asList(
+				new SoapEndpointEnrichment(orderService, new SoapService("order", "http://ws.cxf.com"))
+						.bind(new SoapBound("tenant-a", "{}"))
+						.method("find", new SoapMethod("findOrder")),
+				new RestEndpointEnrichment(stockResource, new RestProduce("/stock", "application/json"))
+						.method(new RestMethod(HttpMethodEnum.GET, "stock", "/{sku}"))));
+		try {
+			Class<?> order = Class.forName(orderService);
+			assertEquals("http://ws.cxf.com", order.getAnnotation(WebService.class).targetNamespace());
+			assertEquals("tenant-a", order.getAnnotation(WebBound.class).uid());
+			assertEquals("findOrder", order.getMethod("find", String.class).getAnnotation(WebMethod.class).operationName());
+			assertNull(order.getMethod("internal").getAnnotation(WebMethod.class));
+			// 方法体不变，直接调用业务代码
+			assertEquals("order-1", ((OrderService) order.getDeclaredConstructor().newInstance()).find("1"));
+
+			Class<?> stock = Class.forName(stockResource);
+			assertEquals("/stock", stock.getAnnotation(Path.class).value());
+			assertNotNull(stock.getMethod("stock", String.class).getAnnotation(GET.class));
+			assertEquals("/{sku}", stock.getMethod("stock", String.class).getAnnotation(Path.class).value());
+		} finally {
+			transformer.reset(ByteBuddyAgent.getInstrumentation(),
+					AgentBuilder.RedefinitionStrategy.DISABLED);
+		}
+
+	}
+
+}
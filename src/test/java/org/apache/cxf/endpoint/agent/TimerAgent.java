@@ -10,7 +10,7 @@ public class TimerAgent {
 	public static void premain(String arguments, Instrumentation instrumentation) {
 		new AgentBuilder.Default()
 				.type(ElementMatchers.nameEndsWith("Timed"))
-				.transform((builder, type, classLoader, module) -> builder
+				.transform((builder, type, classLoader, module, protectionDomain) -> builder
 						.method(ElementMatchers.any())
 						.intercept(MethodDelegation.to(TimingInterceptor.class)))
 				.installOn(instrumentation);
@@ -1,125 +1,93 @@
 package org.apache.cxf.endpoint.jaxrs;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.UUID;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 
-import org.apache.commons.beanutils.ConstructorUtils;
-import org.apache.commons.io.IOUtils;
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.annotation.WebBound;
 import org.apache.cxf.endpoint.jaxrs.definition.HttpMethodEnum;
 import org.apache.cxf.endpoint.jaxrs.definition.HttpParamEnum;
 import org.apache.cxf.endpoint.jaxrs.definition.RestBound;
 import org.apache.cxf.endpoint.jaxrs.definition.RestParam;
 import org.junit.Test;
 
-@SuppressWarnings({ "rawtypes", "unchecked" })
 public class JaxrsApiCtClassBuilder_Test {
 
-	//@Test
+	@Test
 	public void testClass() throws Exception {
-		/*
-		CtClass ctClass = new EndpointApiCtClassBuilder("org.apache.cxf.spring.boot.FirstCase1")
-				.path("getxx")
-				.makeField("public int k = 3;")
-				.newField(String.class, "uid", UUID.randomUUID().toString())
-				.newMethod(String.class, HttpMethodEnum.GET, "sayHello", "{id}/info" ,new RestParam(String.class, "id", HttpParamEnum.PATH))
-				.newMethod(HttpMethodEnum.GET, "sayHello2", "{id}/info", new RestParam(String.class, "text"))
-				.build();*/
 		
-		Class clazz = null;//ctClass.toClass();
+		Class<?> clazz = new EndpointApiInterfaceCtClassBuilder("org.apache.cxf.spring.boot.FirstCase1")
+				.path("getxx")
+				.newField(String.class, "uid", "ID01201")
+				.abstractMethod(String.class, HttpMethodEnum.GET, "sayHello", "{id}/info", new RestParam<String>(String.class, "id", HttpParamEnum.PATH))
+				.abstractMethod(HttpMethodEnum.GET, "sayHello2", "{id}/info", new RestParam<String>(String.class, "text", "hi"))
+				.toClass();
 		
-		System.err.println("=========Type Annotations======================");
-		for (Annotation element : clazz.getAnnotations()) {
-			System.out.println(element.toString());
-		}
+		assertTrue(clazz.isInterface());
+		assertEquals("getxx", clazz.getAnnotation(Path.class).value());
+		assertEquals("ID01201", clazz.getField("uid").get(null));
 		
-		System.err.println("=========Fields======================");
-		for (Field element : clazz.getDeclaredFields()) {
-			System.out.println(element.getName());
-			for (Annotation anno : element.getAnnotations()) {
-				System.out.println(anno.toString());
-			}
-		}
-		System.err.println("=========Methods======================");
-		for (Method element : clazz.getDeclaredMethods()) {
-			System.out.println(element.getName());
-			for (Annotation anno : element.getAnnotations()) {
-				System.out.println(anno.toString());			}
-		}
-		System.err.println("=========sayHello======================");
 		Method sayHello = clazz.getMethod("sayHello", String.class);
-		sayHello.invoke(ConstructorUtils.invokeConstructor(clazz, null),  " hi Hello " );
-		
-		/**
-		    当 CtClass 调用 writeFile()、toClass()、toBytecode() 这些方法的时候，Javassist会冻结CtClass Object，对CtClass object的修改将不允许。
-		    这个主要是为了警告开发者该类已经被加载，而JVM是不允许重新加载该类的。如果要突破该限制，方法如下：
-		*/
-		ctClass.writeFile();
-		ctClass.defrost();
-		
-		/**
-		 * 1、api名称
-		 * 2、参数名称
-		 * 
-		 */
+		assertNotNull(sayHello.getAnnotation(GET.class));
+		assertEquals("{id}/info", sayHello.getAnnotation(Path.class).value());
+		assertArrayEquals(new String[] { "*/*" }, sayHello.getAnnotation(Produces.class).value());
+		assertEquals("id", ((PathParam) sayHello.getParameterAnnotations()[0][0]).value());
 		
-		byte[] byteArr = ctClass.toBytecode();
-		FileOutputStream output = new FileOutputStream(new File("D://FirstCaseV2.class"));
-		
-		IOUtils.write(byteArr, output);
-		IOUtils.closeQuietly(output);
+		Method sayHello2 = clazz.getMethod("sayHello2", String.class);
+		assertEquals(void.class, sayHello2.getReturnType());
+		assertEquals("text", ((QueryParam) sayHello2.getParameterAnnotations()[0][0]).value());
+		assertEquals("hi", ((DefaultValue) sayHello2.getParameterAnnotations()[0][1]).value());
 		
 	}
 	
 	@Test
 	public void testInstance() throws Exception{
 		
-		InvocationHandler handler = new EndpointApiInvocationHandler();
+		final List<String> invocations = new CopyOnWriteArrayList<String>();
+		InvocationHandler handler = new InvocationHandler() {
+			
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				WebBound bound = method.getAnnotation(WebBound.class);
+				invocations.add(method.getName() + " -> " + (bound != null ? bound.uid() : null) + " " + args[0]);
+				return "sayHello".equals(method.getName()) ? "Hello" + args[0] : null;
+			}
+			
+		};
 		
-		Object ctObject = new EndpointApiCtClassBuilder("org.apache.cxf.spring.boot.FirstCaseV2")
+		EndpointApi ctObject = new EndpointApiImplCtClassBuilder("org.apache.cxf.spring.boot.FirstCaseV2")
 				.path("getxx")
-				.makeField("public int k = 3;")
-				.newField(String.class, "uid", UUID.randomUUID().toString())
-				.newMethod(String.class, HttpMethodEnum.GET, "sayHello", "{id}/info" , new RestBound("ID01201"),new RestParam(String.class, "id", HttpParamEnum.PATH))
-				.newMethod(HttpMethodEnum.GET, "sayHello2", "{id}/info", new RestBound("ID01201") ,new RestParam(String.class, "text"))
+				.newMethod(String.class, HttpMethodEnum.GET, "sayHello", "{id}/info" , new RestBound("ID01201"),new RestParam<String>(String.class, "id", HttpParamEnum.PATH))
+				.newMethod(HttpMethodEnum.GET, "sayHello2", "{id}/info", new RestBound("ID01202") ,new RestParam<String>(String.class, "text"))
 				.toInstance(handler);
 		
-		Class clazz = ctObject.getClass();
+		Class<?> clazz = ctObject.getClass();
+		assertEquals(1, clazz.getInterfaces().length);
+		assertEquals("getxx", clazz.getInterfaces()[0].getAnnotation(Path.class).value());
+		assertTrue(ctObject.getHandler() == handler);
 		
-		System.err.println("=========Type Annotations======================");
-		for (Annotation element : clazz.getAnnotations()) {
-			System.out.println(element.toString());
-		}
+		assertEquals("Hello hi", clazz.getMethod("sayHello", String.class).invoke(ctObject, " hi"));
+		assertNull(clazz.getMethod("sayHello2", String.class).invoke(ctObject, "hi2"));
 		
-		System.err.println("=========Fields======================");
-		for (Field element : clazz.getDeclaredFields()) {
-			System.out.println(element.getName());
-			for (Annotation anno : element.getAnnotations()) {
-				System.out.println(anno.toString());
-			}
-		}
-		System.err.println("=========Methods======================");
-		for (Method method : clazz.getDeclaredMethods()) {
-			System.out.println(method.getName());
-			System.err.println("=========Method Annotations======================");
-			for (Annotation anno : method.getAnnotations()) {
-				System.out.println(anno.toString());
-			}
-			System.err.println("=========Method Parameter Annotations======================");
-			for (Annotation[] anno : method.getParameterAnnotations()) {
-				System.out.println(anno[0].toString());
-			}
-		}
-		System.err.println("=========sayHello======================");
-		Method sayHello = clazz.getMethod("sayHello", String.class);
-		sayHello.invoke(ctObject,  " hi Hello " );
-		System.err.println("=========sayHello2======================");
-		Method sayHello2 = clazz.getMethod("sayHello2", String.class);
-		sayHello2.invoke(ctObject,  " hi Hello2 " );
+		// 传给 InvocationHandler 的是接口方法，可以读取方法上的注解
+		assertEquals(2, invocations.size());
+		assertEquals("sayHello -> ID01201  hi", invocations.get(0));
+		assertEquals("sayHello2 -> ID01202 hi2", invocations.get(1));
 	}
 
 }
@@ -0,0 +1,68 @@
+package org.apache.cxf.endpoint.jaxws;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Method;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.junit.Test;
+
+public class ByteBuddy_Delegate_Test {
+
+	public static class OrderService {
+
+		public String find(String id) {
+			return "order-" + id;
+		}
+
+		public int add(int a, int b) {
+			return a + b;
+		}
+
+		// 不应被匹配：签名与生成的方法不同
+		public String find(int operation, String id) {
+			return "indexed-" + id;
+		}
+
+	}
+
+	public interface StockService {
+
+		String stock(String sku);
+
+	}
+
+	@Test
+	public void testDelegateToPojo() throws Exception {
+
+		Object endpoint = new EndpointApiBuilder<EndpointApi>()
+				.webService("order", "http://ws.cxf.com")
+				.delegateTo(new OrderService())
+				.newMethod(String.class, "find", new SoapParam<String>(String.class, "id"))
+				.newMethod(int.class, "add", new SoapParam<Integer>(int.class, "a"), new SoapParam<Integer>(int.class, "b"))
+				.toInstance();
+
+		Method find = endpoint.getClass().getMethod("find", String.class);
+		assertEquals("order-1", find.invoke(endpoint, "1"));
+		Method add = endpoint.getClass().getMethod("add", int.class, int.class);
+		assertEquals(3, add.invoke(endpoint, 1, 2));
+
+	}
+
+	@Test
+	public void testDelegateToInterface() throws Exception {
+
+		// 匿名类不是公开类，按其公开接口委托
+		StockService target = sku -> "stock-" + sku;
+		Object endpoint = new EndpointApiBuilder<EndpointApi>()
+				.webService("stock", "http://ws.cxf.com")
+				.delegateTo(StockService.class, target)
+				.newMethod(String.class, "stock", new SoapParam<String>(String.class, "sku"))
+				.toInstance();
+
+		assertEquals("stock-a", endpoint.getClass().getMethod("stock", String.class).invoke(endpoint, "a"));
+
+	}
+
+}
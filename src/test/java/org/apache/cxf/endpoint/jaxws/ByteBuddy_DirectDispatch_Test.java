@@ -0,0 +1,53 @@
+package org.apache.cxf.endpoint.jaxws;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Method;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.junit.Test;
+
+public class ByteBuddy_DirectDispatch_Test {
+
+	public interface GreetingHandler {
+
+		String sayHello(int operation, String text);
+
+		int add(int a, int b);
+
+	}
+
+	@Test
+	public void testDirectDispatch() throws Exception {
+
+		GreetingHandler handler = new GreetingHandler() {
+
+			@Override
+			public String sayHello(int operation, String text) {
+				return operation + ":" + text;
+			}
+
+			@Override
+			public int add(int a, int b) {
+				return a + b;
+			}
+
+		};
+
+		Object endpoint = new EndpointApiBuilder<EndpointApi>()
+				.webService("greeting", "http://ws.cxf.com")
+				.dispatchTo(GreetingHandler.class)
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"))
+				.newMethod(int.class, "add", new SoapParam<Integer>(int.class, "a"), new SoapParam<Integer>(int.class, "b"))
+				.toInstance(handler);
+
+		Method sayHello = endpoint.getClass().getMethod("sayHello", String.class);
+		assertEquals("0:hi", sayHello.invoke(endpoint, "hi"));
+
+		Method add = endpoint.getClass().getMethod("add", int.class, int.class);
+		assertEquals(3, add.invoke(endpoint, 1, 2));
+
+	}
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.jaxws;
+
+import static org.apache.cxf.endpoint.EndpointApiFixtures.uncached;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+import org.apache.cxf.endpoint.loading.HiddenClassLoadingStrategy;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * 隐藏类的定义与调用；与 WRAPPER、INJECTION 的耗时与 Metaspace 占用比较见 benchmark 模块的 ClassLoadingBenchmark
+ */
+public class ByteBuddy_HiddenClass_Test {
+
+	private static final InvocationHandler HANDLER = (proxy, method, args) -> "hello " + args[0];
+
+	@Test
+	public void testHiddenClass() throws Exception {
+
+		Assume.assumeTrue(HiddenClassLoadingStrategy.isAvailable());
+
+		Object endpoint = uncached("hidden", "hidden").hiddenClass().toInstance(HANDLER);
+		Class<?> type = endpoint.getClass();
+		assertTrue(type.getName().contains("/"));
+		assertEquals(getClass().getClassLoader(), type.getClassLoader());
+
+		Method sayHello = type.getMethod("sayHello", String.class);
+		assertEquals("hello world", sayHello.invoke(endpoint, "world"));
+
+	}
+
+}
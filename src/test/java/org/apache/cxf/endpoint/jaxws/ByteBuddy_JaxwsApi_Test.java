@@ -6,17 +6,12 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.UUID;
 
-import javax.jws.WebParam;
+import jakarta.jws.WebParam;
 
 import org.apache.cxf.endpoint.EndpointApi;
 import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
 import org.junit.Test;
 
-import net.bytebuddy.ByteBuddy;
-import net.bytebuddy.NamingStrategy;
-import net.bytebuddy.description.type.TypeDescription;
-import net.bytebuddy.dynamic.DynamicType;
-
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class ByteBuddy_JaxwsApi_Test {
 	
@@ -25,14 +20,6 @@ public class ByteBuddy_JaxwsApi_Test {
 		
 		InvocationHandler handler = new EndpointApiInvocationHandler();
 		
-		DynamicType.Unloaded<?> dynamicType4 = new ByteBuddy()
-				.with(new NamingStrategy.SuffixingRandom("Api212sd"))
-				.subclass(EndpointApi.class)
-				.defineMethod(name, returnType, modifierContributors)
-				
-				.make();
-		 
-		
 		Object ctObject = new EndpointApiBuilder("org.apache.cxf.spring.boot.FirstCaseV2")
 				.webService("get", "http://ws.cxf.com", "getxx")
 				.newField(String.class, "uid", UUID.randomUUID().toString())
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.cxf.endpoint.jaxws;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.dispatch.OperationDescriptor;
+import org.apache.cxf.endpoint.dispatch.OperationHandler;
+import org.apache.cxf.endpoint.jaxws.definition.SoapBound;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.junit.Test;
+
+public class ByteBuddy_OperationDescriptor_Test {
+
+	@Test
+	public void testOperationDescriptor() throws Exception {
+
+		final List<OperationDescriptor> invoked = new ArrayList<OperationDescriptor>();
+		OperationHandler handler = new OperationHandler() {
+
+			@Override
+			public Object invoke(EndpointApi endpoint, OperationDescriptor operation, Object[] args) {
+				invoked.add(operation);
+				return operation.getUid() + ":" + args[0];
+			}
+
+		};
+
+		Object endpoint = new EndpointApiBuilder<EndpointApi>()
+				.webService("descriptor", "http://ws.cxf.com")
+				.dispatchToOperationHandler()
+				.newMethod(String.class, "sayHello", new SoapParam<String>(String.class, "text"))
+				.newMethod(String.class, "sayBye", new SoapBound("m1", "{\"limit\": 10, \"tags\": [\"a\"]}"),
+						new SoapParam<String>(String.class, "text"))
+				.bind("c1", "{\"tenant\": \"demo\"}")
+				.toInstance(handler);
+
+		Method sayHello = endpoint.getClass().getMethod("sayHello", String.class);
+		Method sayBye = endpoint.getClass().getMethod("sayBye", String.class);
+
+		// 未绑定数据的方法使用类上的绑定数据
+		assertEquals("c1:hi", sayHello.invoke(endpoint, "hi"));
+		assertEquals("demo", invoked.get(0).getBound().get("tenant"));
+		assertEquals("text", invoked.get(0).getParameter(0).getName());
+
+		assertEquals("m1:bye", sayBye.invoke(endpoint, "bye"));
+		assertEquals(10, ((Number) invoked.get(1).getBound().get("limit")).intValue());
+
+		// 同一方法每次调用拿到的是同一个常量
+		sayHello.invoke(endpoint, "again");
+		assertSame(invoked.get(0), invoked.get(2));
+
+	}
+
+}
@@ -0,0 +1,98 @@
+package org.apache.cxf.endpoint.jaxws;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.jaxws.definition.SoapParam;
+import org.apache.cxf.endpoint.metrics.EndpointMetrics;
+import org.apache.cxf.endpoint.metrics.OperationRecorder;
+import org.apache.cxf.endpoint.metrics.OperationSnapshot;
+import org.apache.cxf.endpoint.metrics.PrometheusExporter;
+import org.junit.Test;
+
+public class ByteBuddy_Timing_Test {
+
+	public interface OrderHandler {
+
+		String find(String id);
+
+		int cancel(String id);
+
+	}
+
+	@Test
+	public void testTimingAdvice() throws Exception {
+
+		OrderHandler handler = new OrderHandler() {
+
+			@Override
+			public String find(String id) {
+				return "order-" + id;
+			}
+
+			@Override
+			public int cancel(String id) {
+				throw new IllegalStateException("Order " + id + " is shipped");
+			}
+
+		};
+
+		Object endpoint = new EndpointApiBuilder<EndpointApi>()
+				.webService("order", "http://ws.cxf.com")
+				.bind("tenant-a", "{}")
+				.dispatchTo(OrderHandler.class)
+				.timing()
+				.newMethod(String.class, "find", new SoapParam<String>(String.class, "id"))
+				.newMethod(int.class, "cancel", new SoapParam<String>(String.class, "id"))
+				.toInstance(handler);
+
+		Method find = endpoint.getClass().getMethod("find", String.class);
+		for (int i = 0; i < 100; i++) {
+			assertEquals("order-" + i, find.invoke(endpoint, String.valueOf(i)));
+		}
+		Method cancel = endpoint.getClass().getMethod("cancel", String.class);
+		try {
+			cancel.invoke(endpoint, "1");
+			fail();
+		} catch (InvocationTargetException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		List<OperationRecorder> recorders = EndpointMetrics.getDefault().getRecorders(endpoint.getClass().getName());
+		assertEquals(2, recorders.size());
+		assertEquals("find", recorders.get(0).getName());
+		assertEquals(100, recorders.get(0).getCount());
+		assertEquals(0, recorders.get(0).getErrorCount());
+		assertTrue(recorders.get(0).getMaxNanos() > 0);
+		assertEquals(1, recorders.get(1).getCount());
+		assertEquals(1, recorders.get(1).getErrorCount());
+
+		String className = endpoint.getClass().getName();
+		OperationSnapshot snapshot = EndpointMetrics.getDefault().getSnapshot(className, "find");
+		assertEquals("tenant-a", snapshot.getUid());
+		assertEquals(0, snapshot.getInFlight());
+		assertTrue(snapshot.getP50Nanos() > 0);
+		assertTrue(snapshot.getP50Nanos() <= snapshot.getP99Nanos());
+		assertTrue(snapshot.getP999Nanos() <= snapshot.getMaxNanos() + snapshot.getMaxNanos() / 16);
+		assertEquals(2, EndpointMetrics.getDefault().getSnapshotsByUid("tenant-a").size());
+
+		StringWriter prometheus = new StringWriter();
+		new PrometheusExporter().write(prometheus);
+		String labels = "{endpoint=\"" + className + "\",operation=\"find\",uid=\"tenant-a\"}";
+		assertTrue(prometheus.toString().contains("cxf_endpoint_calls_total" + labels + " 100\n"));
+		assertTrue(prometheus.toString().contains("# TYPE cxf_endpoint_latency_seconds summary\n"));
+		assertTrue(prometheus.toString().contains("cxf_endpoint_errors_total{endpoint=\"" + className
+				+ "\",operation=\"cancel\",uid=\"tenant-a\"} 1\n"));
+		assertTrue(prometheus.toString().contains("cxf_endpoint_latency_seconds{endpoint=\"" + className
+				+ "\",operation=\"find\",uid=\"tenant-a\",quantile=\"0.5\"} "));
+
+	}
+
+}
@@ -0,0 +1,35 @@
+package org.apache.cxf.endpoint.jaxws;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.cxf.endpoint.EndpointApi;
+import org.apache.cxf.endpoint.dispatch.OperationDescriptor;
+import org.apache.cxf.endpoint.dispatch.OperationHandler;
+
+public class EndpointApiOperationHandler implements OperationHandler {
+
+	private final List<String> invocations = new CopyOnWriteArrayList<String>();
+
+	@Override
+	public Object invoke(EndpointApi endpoint, OperationDescriptor operation, Object[] args) throws Exception {
+		
+		// 绑定数据已在构建期解析，方法未绑定时已合并类上的绑定数据
+		StringBuilder invocation = new StringBuilder(operation.getName()).append(" -> ").append(operation.getUid());
+		for (int i = 0; i < args.length; i++) {
+			invocation.append(' ').append(operation.getParameter(i).getName()).append('=').append(args[i]);
+		}
+		invocations.add(invocation.toString());
+		
+		return null;
+		
+	}
+
+	/**
+	 * @return 按调用顺序记录的 "操作 -> uid 参数=值" 
+	 */
+	public List<String> getInvocations() {
+		return invocations;
+	}
+
+}
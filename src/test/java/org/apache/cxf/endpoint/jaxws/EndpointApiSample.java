@@ -17,10 +17,10 @@ package org.apache.cxf.endpoint.jaxws;
 
 import java.lang.reflect.InvocationHandler;
 
-import javax.jws.WebMethod;
-import javax.jws.WebParam;
-import javax.jws.WebResult;
-import javax.jws.WebService;
+import jakarta.jws.WebMethod;
+import jakarta.jws.WebParam;
+import jakarta.jws.WebResult;
+import jakarta.jws.WebService;
 
 import org.apache.cxf.endpoint.EndpointApi;
 